@@ -27,6 +27,44 @@ import java.util.ArrayList;
 import java.util.Collections; // For sorting categories
 import java.util.UUID; // NEW: Added for generating unique filenames for images
 import java.util.Map; // For ImageChangePanel, for settings map
+import java.util.Iterator; // For ImageOptimizer writer lookup
+import java.util.HashMap;
+import java.util.Deque;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture; // For background image optimization
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.awt.image.IndexColorModel;
+import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.lang.reflect.InvocationHandler; // For the JDBC metrics wrapper
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap; // For MetricsRegistry
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import jdk.jfr.Category; // For the Flight Recorder events
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
 
 
 /**
@@ -274,89 +312,145 @@ public class PortfolioAdminApp extends JFrame {
         mainContentPanel.add(loginPanel, "Login");
 
         // Set the gradient panel as the content pane
-        setContentPane(gradientBackgroundPanel);
+        // NEW: Below a status banner that appears while the database is unreachable
+        JPanel rootPanel = new JPanel(new BorderLayout());
+        rootPanel.add(new DatabaseStatusBanner(DatabaseManager.getCircuitBreaker()), BorderLayout.NORTH);
+        rootPanel.add(gradientBackgroundPanel, BorderLayout.CENTER);
+        setContentPane(rootPanel);
 
         // Show the login panel initially
         mainCardLayout.show(mainContentPanel, "Login");
 
         createTables(); // Ensure database tables are created on app startup
+        EventBus.subscribe(DomainEvent.class, LocalSnapshot::apply); // NEW: Keep the snapshot current with every committed edit
+        ContactRetentionJob.start(); // NEW: Periodically purge long soft-deleted contacts
+        OfflineJournal.start(); // NEW: Replay edits saved while the database was unreachable
+        ChangeTracker.start(); // NEW: Pick up edits made by other admins and the PHP pages
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosing(java.awt.event.WindowEvent e) {
+                LocalSnapshot.flush(); // NEW: Keep what the panels last loaded for the next start
+            }
+        });
+        EdtWatchdog.start(); // NEW: Log what the EDT was doing whenever the UI freezes
+        QueryLog.install(); // NEW: Attribute repeated queries to the UI event that ran them
     }
 
     /**
      * Switches to the Admin Dashboard panel after successful login.
      */
     public void showAdminDashboard() {
+        long start = System.nanoTime();
+        JfrEvents.Navigation navigation = JfrEvents.Navigation.started();
         AdminDashboardPanel dashboardPanel = new AdminDashboardPanel(this);
         dashboardPanel.setOpaque(false); // Make dashboardPanel transparent
         mainContentPanel.add(dashboardPanel, "Dashboard");
         mainCardLayout.show(mainContentPanel, "Dashboard");
+        recordPanelSwitch("Dashboard", start, navigation);
     }
 
     /**
      * Switches to the Project Management panel.
      */
     public void showProjectManagement() {
+        long start = System.nanoTime();
+        JfrEvents.Navigation navigation = JfrEvents.Navigation.started();
         ProjectManagementPanel projectPanel = new ProjectManagementPanel(this);
         projectPanel.setOpaque(false); // Make projectPanel transparent
         mainContentPanel.add(projectPanel, "Projects");
         mainCardLayout.show(mainContentPanel, "Projects");
+        recordPanelSwitch("Projects", start, navigation);
     }
 
     /**
      * Switches to the Experience Management panel (formerly Skill Management).
      */
     public void showExperienceManagement() {
+        long start = System.nanoTime();
+        JfrEvents.Navigation navigation = JfrEvents.Navigation.started();
         ExperienceManagementPanel experiencePanel = new ExperienceManagementPanel(this);
         experiencePanel.setOpaque(false); // Make experiencePanel transparent
         mainContentPanel.add(experiencePanel, "Experience");
         mainCardLayout.show(mainContentPanel, "Experience");
+        recordPanelSwitch("Experience", start, navigation);
     }
 
     /**
      * Switches to the About Me Management panel.
      */
     public void showAboutManagement() {
+        long start = System.nanoTime();
+        JfrEvents.Navigation navigation = JfrEvents.Navigation.started();
         AboutManagementPanel aboutPanel = new AboutManagementPanel(this);
         aboutPanel.setOpaque(false); // Make aboutPanel transparent
         mainContentPanel.add(aboutPanel, "About");
         mainCardLayout.show(mainContentPanel, "About");
+        recordPanelSwitch("About", start, navigation);
     }
 
     /**
      * Switches to the Contact Management panel.
      */
     public void showContactManagement() {
+        long start = System.nanoTime();
+        JfrEvents.Navigation navigation = JfrEvents.Navigation.started();
         ContactManagementPanel contactPanel = new ContactManagementPanel(this);
         contactPanel.setOpaque(false); // Make contactPanel transparent
         mainContentPanel.add(contactPanel, "Contacts");
         mainCardLayout.show(mainContentPanel, "Contacts");
+        recordPanelSwitch("Contacts", start, navigation);
     }
 
     /**
      * Switches to the Manage Others panel.
      */
     public void showManageOthers() {
+        long start = System.nanoTime();
+        JfrEvents.Navigation navigation = JfrEvents.Navigation.started();
         ManageOthersPanel manageOthersPanel = new ManageOthersPanel(this);
         manageOthersPanel.setOpaque(false); // Make manageOthersPanel transparent
         mainContentPanel.add(manageOthersPanel, "ManageOthers");
         mainCardLayout.show(mainContentPanel, "ManageOthers");
+        recordPanelSwitch("ManageOthers", start, navigation);
     }
 
     /**
      * Switches back to the Login panel (for logout).
      */
     public void showLoginPanel() {
+        long start = System.nanoTime();
+        JfrEvents.Navigation navigation = JfrEvents.Navigation.started();
         LoginPanel loginPanel = new LoginPanel(this); // Recreate to clear fields
         loginPanel.setOpaque(false); // Make loginPanel transparent
         mainContentPanel.add(loginPanel, "Login");
         mainCardLayout.show(mainContentPanel, "Login");
+        recordPanelSwitch("Login", start, navigation);
+    }
+
+    /**
+     * NEW: Records time-to-interactive of a panel switch as "panel.&lt;card&gt;": from the click until
+     * the EDT has worked through the layout and paint requests the new panel queued.
+     * @param card The card name of the panel that was shown.
+     * @param startNanos {@link System#nanoTime()} when the switch began.
+     * @param navigation NEW: The Flight Recorder event begun with the switch.
+     */
+    private static void recordPanelSwitch(String card, long startNanos, JfrEvents.Navigation navigation) {
+        // The first pass runs after the queued revalidate/repaint events; the second after any they posted
+        SwingUtilities.invokeLater(() -> SwingUtilities.invokeLater(() -> {
+            MetricsRegistry.recordSince("panel." + card, startNanos);
+            navigation.finish(card);
+        }));
     }
 
     /**
      * Main method to start the application.
-     * @param args Command line arguments (not used).
+     * @param args NEW: A command for {@link AdminCli}, e.g. "export backups"; none opens the window.
      */
     public static void main(String[] args) {
+        if (args.length > 0) { // NEW: Scripted use: no window, no Look and Feel
+            System.setProperty("java.awt.headless", "true");
+            System.exit(AdminCli.run(args));
+        }
         // Ensure GUI updates are done on the Event Dispatch Thread
         SwingUtilities.invokeLater(() -> {
             new PortfolioAdminApp().setVisible(true);
@@ -367,6 +461,53 @@ public class PortfolioAdminApp extends JFrame {
      * Ensures necessary database tables exist.
      */
     private void createTables() {
+        try {
+            ensureSchema();
+        } catch (SQLException e) {
+            if (!(e instanceof DatabaseUnavailableException)) { // NEW: Outages are shown by the status banner
+                JOptionPane.showMessageDialog(this, "Database error during table creation: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            }
+            e.printStackTrace();
+        }
+    }
+
+    /** NEW: The tables {@link #ensureSchema()} creates. */
+    private static final String[] SCHEMA_TABLES = {"users", "skills", "about", "about_details", "projects", "contacts", "site_settings"};
+    /** NEW: Tables whose rows carry a version for optimistic concurrency. */
+    private static final String[] VERSIONED_TABLES = {"projects", "skills", "about", "about_details", "contacts"};
+
+    /**
+     * NEW: Checks, without changing anything, that the tables and columns {@link #ensureSchema()}
+     * creates are there, e.g. before a command-line run that must not migrate the database.
+     * @return What is missing, e.g. "contacts.deleted_at"; empty if nothing is.
+     * @throws SQLException If the database cannot be reached.
+     */
+    static List<String> missingSchema() throws SQLException {
+        List<String> missing = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            for (String table : SCHEMA_TABLES) {
+                if (!DatabaseManager.hasTable(conn, table)) {
+                    missing.add(table);
+                }
+            }
+            if (!missing.contains("contacts") && !DatabaseManager.hasColumn(conn, "contacts", "deleted_at")) {
+                missing.add("contacts.deleted_at");
+            }
+            for (String table : VERSIONED_TABLES) {
+                if (!missing.contains(table) && !DatabaseManager.hasColumn(conn, table, "version")) {
+                    missing.add(table + ".version");
+                }
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * NEW: Creates missing tables and default rows. Static so it can run without a window
+     * (e.g. when seeding the benchmark database).
+     * @throws SQLException If a DDL statement fails.
+     */
+    static void ensureSchema() throws SQLException {
         try (Connection conn = DatabaseManager.getConnection();
              Statement stmt = conn.createStatement()) {
 
@@ -425,8 +566,30 @@ public class PortfolioAdminApp extends JFrame {
                          "id INT AUTO_INCREMENT PRIMARY KEY," +
                          "platform VARCHAR(100) DEFAULT NULL," +
                          "link VARCHAR(255) DEFAULT NULL," +
-                         "deleted TINYINT(1) NOT NULL DEFAULT 0" + // Added deleted column for soft delete
+                         "deleted TINYINT(1) NOT NULL DEFAULT 0," + // Added deleted column for soft delete
+                         "deleted_at TIMESTAMP NULL DEFAULT NULL" + // NEW: When the row was soft deleted (for retention)
                          ")");
+            // NEW: Older databases predate deleted_at
+            DatabaseManager.addColumnIfMissing(conn, "contacts", "deleted_at", "TIMESTAMP NULL DEFAULT NULL");
+            // NEW: Lets the retention job's batches find their rows without scanning (and locking) the table
+            DatabaseManager.createIndexIfMissing(conn, "contacts", "idx_contacts_deleted", "deleted, deleted_at");
+
+            // NEW: Row versions for optimistic concurrency: edits run "UPDATE ... WHERE id = ? AND version = ?"
+            for (String table : VERSIONED_TABLES) {
+                DatabaseManager.addColumnIfMissing(conn, table, "version", "INT NOT NULL DEFAULT 0");
+            }
+            if (DatabaseManager.isMySql(conn)) {
+                try {
+                    for (String table : VERSIONED_TABLES) {
+                        // Edits from the PHP pages move the version too; the app's own UPDATEs already do
+                        DatabaseManager.createTriggerIfMissing(conn, table + "_version", "BEFORE UPDATE ON " + table
+                                + " FOR EACH ROW SET NEW.version = IF(NEW.version = OLD.version, OLD.version + 1, NEW.version)");
+                    }
+                } catch (SQLException e) {
+                    System.err.println("Could not create the row version triggers (" + e.getMessage()
+                            + "); edits made from the PHP pages will not be detected as conflicts");
+                }
+            }
             
             // NEW: Create 'site_settings' table for dynamic image paths
             stmt.execute("CREATE TABLE IF NOT EXISTS site_settings (" +
@@ -445,136 +608,5658 @@ public class PortfolioAdminApp extends JFrame {
                 DatabaseManager.saveSetting("about_image_url", DEFAULT_ABOUT_IMAGE_PATH);
             }
 
+            // NEW: Default rows the panels used to insert while loading
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM about")) {
+                if (rs.next() && rs.getInt(1) == 0) {
+                    try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO about (content) VALUES (?)")) {
+                        pstmt.setString(1, "No about info yet. Please edit this section.");
+                        pstmt.executeUpdate();
+                    }
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM skills")) {
+                if (rs.next() && rs.getInt(1) == 0) {
+                    try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO skills (name, category) VALUES (?, ?)")) {
+                        pstmt.setString(1, "Sample Experience"); // Dummy data for the default category
+                        pstmt.setString(2, "General");
+                        pstmt.executeUpdate();
+                    }
+                }
+            }
+        }
+    }
+}
+
+/**
+ * NEW: Headless command mode for scripts, cron jobs and migrations, e.g.
+ * {@code java PortfolioAdminApp export /backups/nightly}. Shares the data-access layer with the
+ * panels (DatabaseManager, Repository, ProjectImporter, ImageOptimizer) but never builds a window
+ * or sets the Look and Feel, so a command starts in a fraction of a second. Progress is printed to
+ * stdout one line at a time, errors go to stderr, and the exit code is 0 on success, 1 if
+ * something failed and 2 for a usage error.
+ */
+class AdminCli {
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: PortfolioAdminApp <command> [arguments]",
+            "  migrate                Creates missing tables, columns and default rows (the other commands only check)",
+            "  export <dir>           Writes every table to <dir>/<table>.json (projects.json doubles as an import manifest)",
+            "  import <folder|file>   Imports projects from an image folder or a .csv/.json manifest",
+            "  reindex                Refreshes the optimizer statistics (MySQL) and rebuilds the local snapshot",
+            "  gc-images [--delete]   Lists image files that no project, setting or offline edit refers to; --delete removes them",
+            "  regenerate-site        Losslessly optimizes the site's PNG images that were not optimized yet",
+            "  bench [rounds]         Times a pool borrow, a settings read and each table load (default 20 rounds)",
+            "Without a command the admin window opens.");
+    private static final int EXPORT_PROGRESS_ROWS = 10_000; // Rows between progress lines
+    private static final long MIN_FILE_AGE_MS = 60 * 60 * 1000; // Younger files may belong to an action still committing
+    private static final long DRAIN_TIMEOUT_MS = 10 * 60 * 1000;
+
+    /** One timed step of {@code bench}. */
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs one command.
+     * @param args The command and its arguments.
+     * @return The process exit code.
+     */
+    static int run(String[] args) {
+        String command = args[0];
+        String[] rest = java.util.Arrays.copyOfRange(args, 1, args.length);
+        if (command.equals("help") || command.equals("--help") || command.equals("-h")) {
+            System.out.println(USAGE);
+            return 0;
+        }
+        long start = System.nanoTime();
+        try {
+            int status;
+            switch (command) {
+                case "migrate":
+                    PortfolioAdminApp.ensureSchema(); // Same tables and columns the panels expect
+                    status = 0;
+                    break;
+                case "export":
+                    status = requireSchema() ? export(argument(rest, "export <dir>")) : 1;
+                    break;
+                case "import":
+                    status = requireSchema() ? importProjects(argument(rest, "import <folder|file>")) : 1;
+                    break;
+                case "reindex":
+                    status = requireSchema() ? reindex() : 1;
+                    break;
+                case "gc-images":
+                    status = requireSchema() ? collectImages(rest.length > 0 && rest[0].equals("--delete")) : 1;
+                    break;
+                case "regenerate-site":
+                    status = requireSchema() ? regenerateSite() : 1;
+                    break;
+                case "bench":
+                    status = requireSchema() ? bench(rest.length > 0 ? Integer.parseInt(rest[0]) : 20) : 1;
+                    break;
+                default:
+                    System.err.println("Unknown command: " + command);
+                    System.err.println(USAGE);
+                    return 2;
+            }
+            System.out.printf("%s finished in %d ms%n", command, (System.nanoTime() - start) / 1_000_000);
+            return status;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        } catch (SQLException | IOException e) {
+            System.err.println(command + " failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * NEW: Commands other than migrate run no DDL (and never create the default admin account);
+     * they only check that the schema is complete.
+     * @return false, after telling the user to run migrate, if something is missing.
+     */
+    private static boolean requireSchema() throws SQLException {
+        List<String> missing = PortfolioAdminApp.missingSchema();
+        if (missing.isEmpty()) {
+            return true;
+        }
+        System.err.println("The database schema is incomplete (missing " + String.join(", ", missing)
+                + "); run \"PortfolioAdminApp migrate\" first");
+        return false;
+    }
+
+    private static String argument(String[] args, String usage) {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Missing argument: " + usage);
+        }
+        return args[0];
+    }
+
+    /**
+     * Streams each table of the local snapshot's query list to a JSON array of objects, one row
+     * per line, without holding the table in memory.
+     */
+    private static int export(String dir) throws SQLException, IOException {
+        File target = new File(dir);
+        if (!target.isDirectory() && !target.mkdirs()) {
+            throw new IOException("Cannot create " + target.getAbsolutePath());
+        }
+        try (Connection conn = DatabaseManager.getConnection()) {
+            boolean mySql = DatabaseManager.isMySql(conn);
+            for (Map.Entry<String, String> query : LocalSnapshot.QUERIES.entrySet()) {
+                File file = new File(target, query.getKey() + ".json");
+                int rows = 0;
+                try (Statement stmt = conn.createStatement();
+                     java.io.Writer out = Files.newBufferedWriter(file.toPath(), java.nio.charset.StandardCharsets.UTF_8)) {
+                    if (mySql) {
+                        stmt.setFetchSize(Integer.MIN_VALUE); // Connector/J streams rows instead of buffering the table
+                    }
+                    try (ResultSet rs = stmt.executeQuery(query.getValue())) {
+                        ResultSetMetaData meta = rs.getMetaData();
+                        RowMapper<Object[]> mapper = LocalSnapshot.rowMapper(meta);
+                        out.write("[");
+                        while (rs.next()) {
+                            Object[] row = mapper.map(rs);
+                            StringBuilder line = new StringBuilder(rows == 0 ? "\n{" : ",\n{");
+                            for (int i = 0; i < row.length; i++) {
+                                line.append(i == 0 ? "" : ",").append(SimpleJson.quote(meta.getColumnLabel(i + 1).toLowerCase())).append(':')
+                                        .append(row[i] == null || row[i] instanceof Number ? String.valueOf(row[i]) : SimpleJson.quote(row[i].toString()));
+                            }
+                            out.write(line.append('}').toString());
+                            if (++rows % EXPORT_PROGRESS_ROWS == 0) {
+                                System.out.println(query.getKey() + ": " + rows + " rows");
+                            }
+                        }
+                        out.write("\n]\n");
+                    }
+                }
+                System.out.println(query.getKey() + ": " + rows + " rows -> " + file.getPath());
+            }
+        }
+        return 0;
+    }
+
+    private static int importProjects(String source) throws IOException, SQLException {
+        List<ProjectImporter.Item> items = ProjectImporter.readSource(new File(source));
+        System.out.println("Importing " + items.size() + " projects from " + source);
+        ProjectImporter.Result result = ProjectImporter.importItems(items,
+                (done, total, message) -> System.out.println("[" + done + "/" + total + "] " + message));
+        for (String failure : result.getFailures()) {
+            System.err.println("Failed: " + failure);
+        }
+        System.out.println("Imported " + result.getImported() + " of " + items.size() + " projects; optimizing their images");
+        ImageOptimizer.drain(DRAIN_TIMEOUT_MS);
+        return result.getFailures().isEmpty() ? 0 : 1;
+    }
+
+    private static int reindex() throws SQLException, IOException {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            if (DatabaseManager.isMySql(conn)) {
+                try (Statement stmt = conn.createStatement()) {
+                    for (String table : LocalSnapshot.QUERIES.keySet()) {
+                        try (ResultSet rs = stmt.executeQuery("ANALYZE TABLE " + table)) {
+                            while (rs.next()) { // Table, Op, Msg_type, Msg_text
+                                System.out.println("analyze " + rs.getString(1) + ": " + rs.getString(4));
+                            }
+                        }
+                    }
+                }
+            } else {
+                System.out.println("Not MySQL: no statistics to refresh");
+            }
+        }
+        LocalSnapshot.rebuild();
+        for (String table : LocalSnapshot.QUERIES.keySet()) {
+            System.out.println("snapshot " + table + ": " + LocalSnapshot.rows(table).size() + " rows");
+        }
+        return 0;
+    }
+
+    /**
+     * Finds files in the image directories that nothing refers to by file name: not a project, not
+     * a setting, not an edit waiting in the offline journal. Files changed within the last hour are
+     * left alone, since a panel may be committing them right now.
+     */
+    private static int collectImages(boolean delete) throws SQLException, IOException {
+        java.util.Set<String> referenced = new java.util.HashSet<>();
+        try (Connection conn = DatabaseManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String sql : new String[]{"SELECT image_url FROM projects WHERE image_url IS NOT NULL",
+                    "SELECT setting_value FROM site_settings WHERE setting_value IS NOT NULL"}) {
+                try (ResultSet rs = stmt.executeQuery(sql)) {
+                    while (rs.next()) {
+                        referenced.add(fileName(rs.getString(1)));
+                    }
+                }
+            }
+        }
+        for (Mutation mutation : OfflineJournal.getEntries()) {
+            for (Object param : mutation.params) {
+                if (param instanceof String) {
+                    referenced.add(fileName((String) param));
+                }
+            }
+        }
+        int orphans = 0;
+        long bytes = 0;
+        long cutoff = System.currentTimeMillis() - MIN_FILE_AGE_MS;
+        for (File dir : imageDirectories()) {
+            File[] files = dir.listFiles(File::isFile);
+            System.out.println("Scanning " + dir + " (" + files.length + " files)");
+            for (File file : files) {
+                if (referenced.contains(file.getName()) || file.lastModified() > cutoff) {
+                    continue;
+                }
+                orphans++;
+                bytes += file.length();
+                if (delete) {
+                    Files.delete(file.toPath());
+                    System.out.println("deleted " + file);
+                } else {
+                    System.out.println("orphan " + file + " (" + file.length() + " bytes)");
+                }
+            }
+        }
+        System.out.printf("%d unreferenced file(s), %,d bytes%s%n", orphans, bytes, delete || orphans == 0 ? "" : "; run with --delete to remove them");
+        return 0;
+    }
+
+    private static String fileName(String url) {
+        return url.substring(Math.max(url.lastIndexOf('/'), url.lastIndexOf('\\')) + 1);
+    }
+
+    /** @return The distinct image directories of the site that exist on this machine. */
+    private static List<File> imageDirectories() {
+        List<File> dirs = new ArrayList<>();
+        for (String path : new String[]{PortfolioAdminApp.PROJECT_IMAGE_BASE_DIR, PortfolioAdminApp.PROFILE_IMAGE_BASE_DIR,
+                PortfolioAdminApp.ABOUT_IMAGE_BASE_DIR}) {
+            File dir = new File(path).getAbsoluteFile();
+            if (!dir.isDirectory()) {
+                System.out.println("Skipping " + dir + ": not found");
+            } else if (!dirs.contains(dir)) {
+                dirs.add(dir);
+            }
+        }
+        return dirs;
+    }
+
+    /**
+     * Runs the site's PNG images through the optimizer, e.g. ones copied in by hand or uploaded
+     * before it existed. Only PNGs are considered, whose rewrites are lossless; JPEGs are never
+     * re-encoded again, since every pass would lose quality. Files the optimizer already
+     * processed are skipped. The optimizer prints one report per file as it finishes.
+     */
+    private static int regenerateSite() {
+        List<CompletableFuture<ImageOptimizer.Report>> reports = new ArrayList<>();
+        for (File dir : imageDirectories()) {
+            File[] images = dir.listFiles(file -> file.isFile() && file.getName().toLowerCase().endsWith(".png"));
+            int skipped = 0;
+            for (File image : images) {
+                if (ImageOptimizer.isOptimized(image)) {
+                    skipped++;
+                } else {
+                    reports.add(ImageOptimizer.submit(image));
+                }
+            }
+            System.out.println("Optimizing " + (images.length - skipped) + " PNG images in " + dir + " (" + skipped + " already optimized)");
+        }
+        long saved = 0;
+        int failed = 0;
+        for (CompletableFuture<ImageOptimizer.Report> report : reports) {
+            try {
+                saved += report.join().getSavedBytes();
+            } catch (java.util.concurrent.CompletionException e) {
+                failed++; // Already reported by the optimizer
+            }
+        }
+        System.out.printf("%d image(s), saved %,d bytes, %d failed%n", reports.size(), saved, failed);
+        return failed == 0 ? 0 : 1;
+    }
+
+    private static int bench(int rounds) throws SQLException {
+        if (rounds < 1) {
+            throw new IllegalArgumentException("bench needs at least one round");
+        }
+        time("pool borrow", rounds, () -> DatabaseManager.getConnection().close()); // An idle pooled connection, not a new one
+        time("getSetting", rounds, () -> DatabaseManager.getSetting("profile_image_url"));
+        for (Repository<?> repository : Repository.ALL) {
+            time("load " + repository.meta.table, rounds, repository::findAll);
+        }
+        System.out.println("statement cache hit rate " + ConnectionPool.getHitPercent() + "%");
+        return 0;
+    }
+
+    /** Runs a step once to warm up, then {@code rounds} times, and prints the median and worst time. */
+    private static void time(String name, int rounds, Step step) throws SQLException {
+        double[] millis = new double[rounds];
+        try {
+            step.run();
+            for (int i = 0; i < rounds; i++) {
+                long start = System.nanoTime();
+                step.run();
+                millis[i] = (System.nanoTime() - start) / 1e6;
+            }
+        } catch (SQLException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SQLException(name + ": " + e.getMessage(), e);
+        }
+        java.util.Arrays.sort(millis);
+        System.out.printf("%-22s median %8.3f ms   max %8.3f ms   (%d rounds)%n", name, millis[rounds / 2], millis[rounds - 1], rounds);
+    }
+}
+
+/**
+ * Manages database connections and operations for the portfolio application.
+ * Uses JDBC to interact with a MySQL database.
+ */
+class DatabaseManager {
+    // NOTE: For security and best practice, do not hardcode sensitive information
+    // like database credentials in production applications. Use environment variables
+    // or a secure configuration mechanism.
+    // NEW: Each value can be overridden with a system property (e.g. -Dportfolio.db.url=...), which the benchmarks use
+    private static final String DB_URL = System.getProperty("portfolio.db.url", "jdbc:mysql://localhost:3306/portfolio_db"); // Your database URL
+    private static final String DB_USER = System.getProperty("portfolio.db.user", "admin"); // Your database username - adjusted to match first file
+    private static final String DB_PASSWORD = System.getProperty("portfolio.db.password", "admin123"); // Your database password - adjusted to match first file
+    private static final int MAX_IN_LIST = 1000; // Max ids per IN (...) list in bulk statements
+    private static final int MAX_BATCH = 100; // NEW: Statements per executeBatch() round trip
+    // NEW: Retry settings for transient connection failures
+    private static final int CONNECT_ATTEMPTS = Integer.getInteger("portfolio.db.connectAttempts", 3);
+    // NEW: Server-side prepares on MySQL; worth it now that ConnectionPool reuses the statements
+    private static final boolean SERVER_PREPARES = Boolean.parseBoolean(System.getProperty("portfolio.db.serverPrepares", "true"));
+    private static final long RETRY_BASE_MS = Long.getLong("portfolio.db.retryBaseMs", 100);
+    private static final long RETRY_MAX_MS = 2000;
+    private static final ConnectionCircuitBreaker circuitBreaker = new ConnectionCircuitBreaker();
+
+    /**
+     * NEW: @return The JDBC URL connections are opened with, e.g. to tell local caches of different databases apart.
+     */
+    static String getUrl() {
+        return DB_URL;
+    }
+
+    /**
+     * Establishes a connection to the database.
+     * NEW: Idle connections are reused from the {@link ConnectionPool}, together with their
+     * prepared statements; closing the returned connection hands it back.
+     * NEW: The connection is wrapped by {@link InstrumentedJdbc}, so statement timings show up on the Diagnostics tab.
+     * NEW: Transient failures (SQLState class 08, e.g. a dropped link) are retried with jittered
+     * exponential backoff. Failed calls feed a {@link ConnectionCircuitBreaker}; while it is open,
+     * calls fail at once instead of each waiting for a timeout. Failures are reported once, by the
+     * status banner, instead of a dialog per call.
+     * @return An open connection; never null.
+     * @throws DatabaseUnavailableException If no connection could be opened or the breaker is open.
+     */
+    public static Connection getConnection() throws DatabaseUnavailableException {
+        boolean probe = circuitBreaker.beforeCall();
+        int attempts = probe ? 1 : Math.max(1, CONNECT_ATTEMPTS); // A probe after an outage gets one try
+        SQLException lastError = null;
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            try {
+                // Register JDBC driver (other drivers, e.g. an embedded one, register themselves)
+                if (DB_URL.startsWith("jdbc:mysql:")) {
+                    Class.forName("com.mysql.cj.jdbc.Driver");
+                }
+                // Open a connection
+                long start = System.nanoTime();
+                ChaosMode.beforeConnect(); // NEW: Injected failures when chaos mode is on
+                Connection pooled = ConnectionPool.borrow(probe); // NEW: A probe checks the link even on a fresh one
+                if (pooled == null) {
+                    pooled = ConnectionPool.adopt(DriverManager.getConnection(DB_URL, connectionProperties()));
+                    MetricsRegistry.increment("db.connect.opened");
+                }
+                Connection conn = InstrumentedJdbc.wrap(pooled); // NEW: Times every statement
+                MetricsRegistry.recordSince("db.connect", start);
+                circuitBreaker.onSuccess();
+                return conn;
+            } catch (SQLException se) {
+                MetricsRegistry.increment("db.connect.errors");
+                lastError = se;
+                if (!isTransient(se)) {
+                    break; // e.g. wrong credentials: retrying cannot help
+                }
+            } catch (ClassNotFoundException e) {
+                lastError = new SQLException("MySQL JDBC Driver not found. Please add it to your classpath.", "08001", e);
+                break;
+            }
+            if (attempt < attempts) {
+                MetricsRegistry.increment("db.connect.retries");
+                sleepBeforeRetry(attempt);
+            }
+        }
+        System.err.println("Database connection error: " + lastError.getMessage());
+        circuitBreaker.onFailure(lastError);
+        throw new DatabaseUnavailableException("Database connection error: " + lastError.getMessage(), lastError);
+    }
+
+    /**
+     * NEW: @return The credentials and, on MySQL, server-side prepares unless the URL decides.
+     */
+    private static java.util.Properties connectionProperties() {
+        java.util.Properties properties = new java.util.Properties();
+        properties.setProperty("user", DB_USER);
+        properties.setProperty("password", DB_PASSWORD);
+        if (SERVER_PREPARES && DB_URL.startsWith("jdbc:mysql:") && !DB_URL.contains("useServerPrepStmts")) {
+            properties.setProperty("useServerPrepStmts", "true");
+        }
+        return properties;
+    }
+
+    /**
+     * NEW: @return The breaker guarding {@link #getConnection()}, e.g. for the status banner.
+     */
+    public static ConnectionCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * NEW: Decides whether a connection failure may go away on its own.
+     * @param e The failure.
+     * @return true for connection-exception SQLStates (class 08) and the JDBC transient/recoverable types.
+     */
+    static boolean isTransient(SQLException e) {
+        String state = e.getSQLState();
+        return e instanceof SQLTransientException || e instanceof SQLRecoverableException
+                || (state != null && state.startsWith("08"));
+    }
+
+    /**
+     * Waits before the next connection attempt: exponential backoff with "equal jitter", i.e. half
+     * the delay fixed and half random, so clients that failed together do not retry together.
+     */
+    private static void sleepBeforeRetry(int attempt) {
+        long delay = Math.min(RETRY_MAX_MS, RETRY_BASE_MS << (attempt - 1));
+        long jittered = delay / 2 + java.util.concurrent.ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        try {
+            Thread.sleep(jittered);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Hashes a given password using SHA-256 algorithm.
+     * @param password The plain text password to hash.
+     * @return The SHA-256 hashed password as a hexadecimal string.
+     */
+    public static String hashPassword(String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(password.getBytes());
+            StringBuilder hexString = new StringBuilder();
+            for (byte b : hash) {
+                String hex = Integer.toHexString(0xff & b);
+                if (hex.length() == 1) hexString.append('0');
+                hexString.append(hex);
+            }
+            return hexString.toString();
+        } catch (NoSuchAlgorithmException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Authenticates a user against the 'users' table.
+     * @param username The username to check.
+     * @param password The plain text password to check.
+     * @return True if credentials are valid, false otherwise.
+     * @throws DatabaseUnavailableException NEW: If the database cannot be reached (also for a link
+     *         failure mid-query), so callers do not report an outage as wrong credentials.
+     */
+    public static boolean authenticateUser(String username, String password) throws DatabaseUnavailableException {
+        String hashedPassword = hashPassword(password);
+        if (hashedPassword == null) {
+            return false; // Hashing failed
+        }
+
+        String sql = "SELECT * FROM users WHERE username = ? AND password = ?";
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, username);
+            pstmt.setString(2, hashedPassword);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next(); // Returns true if a row is found (user exists with credentials)
+        }
+        catch (DatabaseUnavailableException e) {
+            throw e; // NEW: Outages are shown by the status banner, not a dialog
+        }
+        catch (SQLException e) {
+            if (isTransient(e)) {
+                throw new DatabaseUnavailableException("Database connection lost: " + e.getMessage(), e);
+            }
+            e.printStackTrace();
+            JOptionPane.showMessageDialog(null, "Authentication error: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            return false;
+        }
+    }
+
+    /**
+     * NEW: Retrieves a setting value from the 'site_settings' table.
+     * @param settingName The name of the setting to retrieve.
+     * @return The setting value as a String, or null if not found.
+     */
+    public static String getSetting(String settingName) {
+        String sql = "SELECT setting_value FROM site_settings WHERE setting_name = ?";
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, settingName);
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return rs.getString(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            System.err.println("Error getting setting '" + settingName + "': " + e.getMessage());
+        }
+        return null;
+    }
+
+    private static final String SAVE_SETTING_SQL = "INSERT INTO site_settings (setting_name, setting_value) VALUES (?, ?) " +
+                                                   "ON DUPLICATE KEY UPDATE setting_value = ?";
+
+    /**
+     * NEW: @return The write of {@link #saveSetting} as a {@link Mutation}, e.g. to run it in a
+     *         {@link UnitOfWork} together with the file the setting points to.
+     */
+    static Mutation settingMutation(String settingName, String settingValue) {
+        return Mutation.statement("site_settings", "Set " + settingName, SAVE_SETTING_SQL, settingName, settingValue, settingValue);
+    }
+
+    /**
+     * NEW: Saves a setting value to the 'site_settings' table.
+     * Inserts if the setting name does not exist, updates if it does.
+     * @param settingName The name of the setting.
+     * @param settingValue The value to save.
+     */
+    public static void saveSetting(String settingName, String settingValue) {
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SAVE_SETTING_SQL)) {
+            pstmt.setString(1, settingName);
+            pstmt.setString(2, settingValue);
+            pstmt.setString(3, settingValue); // For ON DUPLICATE KEY UPDATE
+            pstmt.executeUpdate();
+            EventBus.publish(new DomainEvent.SettingChanged(settingName, settingValue)); // NEW
+        } catch (SQLException e) {
+            e.printStackTrace();
+            System.err.println("Error saving setting '" + settingName + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * NEW: Adds a column to an existing table unless it is already there.
+     * MySQL has no "ADD COLUMN IF NOT EXISTS", so the column is looked up in the metadata first.
+     * @param conn An open connection.
+     * @param table The table name.
+     * @param column The column name.
+     * @param definition The column type and options, e.g. "TIMESTAMP NULL DEFAULT NULL".
+     * @return true if the column was added.
+     * @throws SQLException If the lookup or the ALTER TABLE fails.
+     */
+    public static boolean addColumnIfMissing(Connection conn, String table, String column, String definition) throws SQLException {
+        if (hasColumn(conn, table, column)) {
+            return false;
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+        System.out.println("Added column " + table + "." + column);
+        return true;
+    }
+
+    /**
+     * NEW: @return true if the table has the column, per the connection's metadata.
+     */
+    public static boolean hasColumn(Connection conn, String table, String column) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, table, column)) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * NEW: @return true if the table exists in the connection's schema, per its metadata (H2, for
+     *         one, would also match its INFORMATION_SCHEMA tables, e.g. "users").
+     */
+    public static boolean hasTable(Connection conn, String table) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getTables(conn.getCatalog(), conn.getSchema(), table, null)) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * NEW: Creates an index unless the table already has one with that name (MySQL has no
+     * "CREATE INDEX IF NOT EXISTS").
+     * @param columns The indexed columns, e.g. "deleted, deleted_at".
+     * @return true if the index was created.
+     * @throws SQLException If the lookup or the CREATE INDEX fails.
+     */
+    public static boolean createIndexIfMissing(Connection conn, String table, String name, String columns) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getIndexInfo(conn.getCatalog(), null, table, false, true)) {
+            while (rs.next()) {
+                if (name.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return false;
+                }
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE INDEX " + name + " ON " + table + " (" + columns + ")");
+        }
+        System.out.println("Created index " + table + "." + name);
+        return true;
+    }
+
+    /**
+     * NEW: Creates a trigger unless one with that name exists (older MySQL has no "CREATE TRIGGER IF NOT EXISTS").
+     * @param definition Everything after the name, e.g. "AFTER INSERT ON projects FOR EACH ROW ...".
+     * @return true if the trigger was created.
+     * @throws SQLException If the lookup or the CREATE TRIGGER fails (e.g. no TRIGGER privilege).
+     */
+    public static boolean createTriggerIfMissing(Connection conn, String name, String definition) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT 1 FROM information_schema.TRIGGERS WHERE TRIGGER_SCHEMA = DATABASE() AND TRIGGER_NAME = ?")) {
+            pstmt.setString(1, name);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return false;
+                }
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TRIGGER " + name + " " + definition);
+        }
+        System.out.println("Created trigger " + name);
+        return true;
+    }
+
+    /**
+     * NEW: @return true for MySQL and MariaDB, false e.g. for the embedded benchmark database.
+     */
+    public static boolean isMySql(Connection conn) throws SQLException {
+        String product = conn.getMetaData().getDatabaseProductName().toLowerCase();
+        return product.contains("mysql") || product.contains("mariadb");
+    }
+
+    /**
+     * NEW: Runs one statement against many rows with a single "IN (...)" list inside one transaction.
+     * Very large selections are split into chunks of {@value #MAX_IN_LIST} ids, all in the same transaction.
+     * NEW: Each list is padded with {@link #padInList}, so the statement texts stay few.
+     * @param sqlPrefix The statement up to the id list, e.g. "DELETE FROM projects WHERE id IN ".
+     * @param ids The row IDs to affect.
+     * @param leadingParams Parameters bound before the ids (e.g. the new value in an UPDATE).
+     * @return The total number of affected rows.
+     * @throws SQLException If any chunk fails; the whole operation is rolled back.
+     */
+    public static int executeForIds(String sqlPrefix, List<Integer> ids, Object... leadingParams) throws SQLException {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return apply(new UnitOfWork().add(Mutation.forIds(null, null, sqlPrefix, ids, leadingParams)),
+                Collections.singletonList(ids))[0];
+    }
+
+    /**
+     * NEW: Runs a {@link UnitOfWork} in one transaction: its mutations in order, then its staged
+     * files are moved into place and everything is committed. Consecutive inserts or plain
+     * statements with the same SQL go to the database as batches. Once committed, each mutation's
+     * {@link DomainEvent} is published; a batch of inserts publishes one event for all its rows.
+     * The mutations' keys are recorded in applied_mutations in the same transaction, see
+     * {@link OfflineJournal#recordApplied}.
+     * @param work The writes of one admin action.
+     * @param ids Per mutation, the database ids of the rows it addresses (placeholders already resolved).
+     * @return Per mutation, the generated id for an insert, otherwise the number of affected rows.
+     *         If a versioned edit matched no row (it was changed meanwhile), its result is 0 and
+     *         nothing is committed.
+     * @throws SQLException If a statement, moving a file or the commit fails; nothing is committed
+     *         and the files are back in staging.
+     */
+    public static int[] apply(UnitOfWork work, List<List<Integer>> ids) throws SQLException {
+        List<Mutation> mutations = work.getMutations();
+        int[] results = new int[mutations.size()];
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (int i = 0; i < mutations.size(); ) {
+                    int end = i + 1;
+                    while (end < mutations.size() && batchable(mutations.get(i), mutations.get(end))) {
+                        end++;
+                    }
+                    if (end - i > 1) {
+                        executeBatch(conn, mutations.subList(i, end), results, i);
+                    } else {
+                        results[i] = execute(conn, mutations.get(i), ids.get(i));
+                        if (mutations.get(i).checksVersion() && results[i] == 0) {
+                            conn.rollback();
+                            return results;
+                        }
+                    }
+                    i = end;
+                }
+                OfflineJournal.recordApplied(conn, mutations, results);
+                work.promote();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                work.unpromote();
+                throw e;
+            } catch (IOException e) {
+                conn.rollback();
+                work.unpromote();
+                throw new SQLException("Could not move the uploaded files into place: " + e.getMessage(), e);
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        for (int i = 0; i < mutations.size(); ) {
+            int end = i + 1;
+            while (end < mutations.size() && batchable(mutations.get(i), mutations.get(end))) {
+                end++;
+            }
+            if (end - i > 1 && mutations.get(i).event != null) { // Batched inserts: one event reads back all their rows
+                List<Integer> added = new ArrayList<>();
+                for (int k = i; k < end; k++) {
+                    added.add(results[k]);
+                }
+                EventBus.publish(mutations.get(i).event.create(added));
+            } else {
+                for (int k = i; k < end; k++) {
+                    EventBus.publish(mutations.get(k), ids.get(k), results[k]);
+                }
+            }
+            i = end;
+        }
+        work.committed();
+        return results;
+    }
+
+    /**
+     * NEW: @return true if both are unversioned statements with the same SQL that do not address
+     *         rows by id, so they can share a batch: inserts (e.g. an import) or plain statements.
+     */
+    private static boolean batchable(Mutation first, Mutation next) {
+        return !first.byId && !next.byId && first.expectedVersion == null && next.expectedVersion == null
+                && first.insert == next.insert && first.event == next.event && (first.insert || first.event == null)
+                && first.sql.equals(next.sql);
+    }
+
+    /**
+     * NEW: Runs statements with the same SQL in round trips of {@value #MAX_BATCH}.
+     * Results are the generated ids for inserts, otherwise the affected row counts.
+     */
+    private static void executeBatch(Connection conn, List<Mutation> batch, int[] results, int offset) throws SQLException {
+        boolean insert = batch.get(0).insert;
+        try (PreparedStatement pstmt = insert ? conn.prepareStatement(batch.get(0).sql, Statement.RETURN_GENERATED_KEYS)
+                : conn.prepareStatement(batch.get(0).sql)) {
+            for (int start = 0; start < batch.size(); start += MAX_BATCH) {
+                int end = Math.min(batch.size(), start + MAX_BATCH);
+                for (Mutation mutation : batch.subList(start, end)) {
+                    bind(pstmt, 1, mutation.params);
+                    pstmt.addBatch();
+                }
+                int[] counts = pstmt.executeBatch();
+                if (insert) {
+                    try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                        for (int i = start; i < end && keys.next(); i++) {
+                            results[offset + i] = keys.getInt(1);
+                        }
+                    }
+                } else {
+                    for (int i = 0; i < counts.length; i++) {
+                        results[offset + start + i] = Math.max(0, counts[i]); // SUCCESS_NO_INFO counts as 0
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * NEW: Runs a {@link Mutation} on the caller's connection and transaction. Very large id lists
+     * are split into chunks of {@value #MAX_IN_LIST}. An edit that carries a row version also
+     * increments it, and only matches the row while it still has that version
+     * ("... version = version + 1 WHERE version = ? AND id IN (...)").
+     * @return The generated id for an insert, otherwise the number of affected rows; 0 for a
+     *         versioned edit whose row was changed or deleted in the meantime.
+     */
+    static int execute(Connection conn, Mutation mutation, List<Integer> ids) throws SQLException {
+        if (mutation.expectedVersion != null) {
+            int where = mutation.sql.lastIndexOf(" WHERE ");
+            String sql = mutation.sql.substring(0, where) + ", version = version + 1 WHERE "
+                    + (mutation.force ? "" : "version = ? AND ") + mutation.sql.substring(where + " WHERE ".length());
+            List<Object> params = new ArrayList<>(mutation.params);
+            if (!mutation.force) {
+                params.add(mutation.expectedVersion);
+            }
+            int affected = 0;
+            for (int start = 0; start < ids.size(); start += MAX_IN_LIST) {
+                List<Integer> chunk = padInList(ids.subList(start, Math.min(ids.size(), start + MAX_IN_LIST)));
+                try (PreparedStatement pstmt = conn.prepareStatement(sql + placeholders(chunk.size()))) {
+                    int index = bind(pstmt, 1, params);
+                    for (int id : chunk) {
+                        pstmt.setInt(index++, id);
+                    }
+                    affected += pstmt.executeUpdate();
+                }
+            }
+            return affected;
+        }
+        if (mutation.insert) {
+            try (PreparedStatement pstmt = conn.prepareStatement(mutation.sql, Statement.RETURN_GENERATED_KEYS)) {
+                bind(pstmt, 1, mutation.params);
+                pstmt.executeUpdate();
+                try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                    return keys.next() ? keys.getInt(1) : 0;
+                }
+            }
+        }
+        if (!mutation.byId) {
+            try (PreparedStatement pstmt = conn.prepareStatement(mutation.sql)) {
+                bind(pstmt, 1, mutation.params);
+                return pstmt.executeUpdate();
+            }
+        }
+        int affected = 0;
+        for (int start = 0; start < ids.size(); start += MAX_IN_LIST) {
+            List<Integer> chunk = padInList(ids.subList(start, Math.min(ids.size(), start + MAX_IN_LIST)));
+            try (PreparedStatement pstmt = conn.prepareStatement(mutation.sql + placeholders(chunk.size()))) {
+                int index = bind(pstmt, 1, mutation.params);
+                for (int id : chunk) {
+                    pstmt.setInt(index++, id);
+                }
+                affected += pstmt.executeUpdate();
+            }
+        }
+        return affected;
+    }
+
+    private static int bind(PreparedStatement pstmt, int index, List<Object> params) throws SQLException {
+        for (Object param : params) {
+            pstmt.setObject(index++, param);
+        }
+        return index;
+    }
+
+    /**
+     * NEW: Pads an IN list to the next power of two (at most {@value #MAX_IN_LIST}) by repeating its
+     * last value, which matches no extra rows. Selections of any size then share a handful of
+     * statement texts instead of each size taking its own slot in the pooled statement cache.
+     * @param values The values of one IN list; not empty.
+     * @return The values, padded with copies of the last one.
+     */
+    public static <T> List<T> padInList(List<T> values) {
+        int size = Integer.highestOneBit(values.size());
+        size = Math.min(MAX_IN_LIST, size == values.size() ? size : size << 1);
+        if (size <= values.size()) {
+            return values;
+        }
+        List<T> padded = new ArrayList<>(size);
+        padded.addAll(values);
+        while (padded.size() < size) {
+            padded.add(values.get(values.size() - 1));
+        }
+        return padded;
+    }
+
+    /**
+     * Builds a parenthesized placeholder list such as "(?, ?, ?)".
+     * @param count The number of placeholders.
+     * @return The placeholder list.
+     */
+    public static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.append(')').toString();
+    }
+}
+
+/**
+ * NEW: Thrown by {@link DatabaseManager#getConnection()} when no connection can be opened:
+ * the retries ran out, the failure is permanent (e.g. bad credentials), or the circuit breaker
+ * is open. The status banner already tells the user, so callers should not show their own dialog.
+ */
+class DatabaseUnavailableException extends SQLException {
+    DatabaseUnavailableException(String message, Throwable cause) {
+        super(message, cause instanceof SQLException ? ((SQLException) cause).getSQLState() : "08001", cause);
+    }
+}
+
+/**
+ * NEW: Thrown by {@link OfflineJournal#submit} when a versioned edit found its row changed or
+ * deleted by someone else since the admin loaded it. Nothing was written.
+ */
+class EditConflictException extends SQLException {
+    private final transient Mutation mutation;
+    private final transient Map<String, Object> theirs;
+
+    EditConflictException(Mutation mutation, Map<String, Object> theirs) {
+        super(theirs == null ? "The row was deleted by someone else" : "The row was changed by someone else");
+        this.mutation = mutation;
+        this.theirs = theirs;
+    }
+
+    public Mutation getMutation() {
+        return mutation;
+    }
+
+    /** @return The row as it is in the database now, including "version"; null if it was deleted. */
+    public Map<String, Object> getTheirs() {
+        return theirs;
+    }
+}
+
+/**
+ * NEW: Circuit breaker around opening connections.
+ * CLOSED while connections succeed. After {@code portfolio.db.breakerThreshold} consecutive
+ * failed {@link DatabaseManager#getConnection()} calls (default 3) it OPENs and calls fail at
+ * once. When the cool-down is over, one call is let through as a probe (HALF_OPEN): success
+ * closes the breaker, failure opens it again with twice the cool-down, up to one minute.
+ */
+class ConnectionCircuitBreaker {
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final int FAILURE_THRESHOLD = Integer.getInteger("portfolio.db.breakerThreshold", 3);
+    private static final long BASE_COOLDOWN_MS = Long.getLong("portfolio.db.breakerCooldownMs", 5000);
+    private static final long MAX_COOLDOWN_MS = 60_000;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long cooldownMs = BASE_COOLDOWN_MS;
+    private long retryAtMillis;
+    private SQLException lastError;
+    private final List<Runnable> listeners = new java.util.concurrent.CopyOnWriteArrayList<>();
+
+    ConnectionCircuitBreaker() {
+        MetricsRegistry.gauge("db.breaker.open", () -> getState() == State.CLOSED ? 0 : 1);
+    }
+
+    /**
+     * Admits or rejects a call.
+     * @return true if this call is the probe after a cool-down.
+     * @throws DatabaseUnavailableException While the breaker is open or another call is probing.
+     */
+    synchronized boolean beforeCall() throws DatabaseUnavailableException {
+        if (state == State.CLOSED) {
+            return false;
+        }
+        if (state == State.OPEN && System.currentTimeMillis() >= retryAtMillis) {
+            setState(State.HALF_OPEN);
+            return true;
+        }
+        MetricsRegistry.increment("db.breaker.rejected");
+        long seconds = Math.max(0, (retryAtMillis - System.currentTimeMillis() + 999) / 1000);
+        throw new DatabaseUnavailableException("Database unavailable" + (state == State.OPEN
+                ? ", next attempt in " + seconds + " s" : ", reconnecting"), lastError);
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.CLOSED && lastError == null) {
+            return; // The common case: nothing changed, nobody to notify
+        }
+        consecutiveFailures = 0;
+        cooldownMs = BASE_COOLDOWN_MS;
+        lastError = null;
+        setState(State.CLOSED);
+    }
+
+    synchronized void onFailure(SQLException error) {
+        lastError = error;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN) {
+            cooldownMs = Math.min(MAX_COOLDOWN_MS, cooldownMs * 2); // Still down: back off further
+            open();
+        } else if (consecutiveFailures >= FAILURE_THRESHOLD) {
+            open();
+        } else {
+            fireChanged(); // Still closed, but the banner shows the failure
+        }
+    }
+
+    /**
+     * Lets the next call through as a probe now instead of at the end of the cool-down.
+     */
+    synchronized void retryNow() {
+        if (state == State.OPEN) {
+            retryAtMillis = System.currentTimeMillis();
+        }
+    }
+
+    private void open() {
+        retryAtMillis = System.currentTimeMillis() + cooldownMs;
+        MetricsRegistry.increment("db.breaker.opened");
+        setState(State.OPEN);
+    }
+
+    private void setState(State newState) {
+        boolean changed = state != newState;
+        state = newState;
+        if (changed) {
+            System.err.println("Database circuit breaker " + newState);
+        }
+        fireChanged();
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * @param listener Called on the thread that changed the state; must not block.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized State getState() { return state; }
+    public synchronized int getConsecutiveFailures() { return consecutiveFailures; }
+    public synchronized long getRetryAtMillis() { return retryAtMillis; }
+    public synchronized SQLException getLastError() { return lastError; }
+}
+
+/**
+ * NEW: Keeps connections open between calls, each with an LRU cache of its prepared statements
+ * keyed by SQL text, so repeated CRUD statements and settings reads skip the connect, parse and
+ * plan. {@link DatabaseManager#getConnection()} borrows from here; closing the connection hands
+ * it back, and closing a cached statement only clears its parameters. A cached statement is
+ * lent to one handle at a time; asking for the same SQL while that handle is open gets a
+ * statement of its own, which is closed for real.
+ *
+ * Up to {@code portfolio.db.poolSize} (4) idle connections are kept, most recently used first.
+ * One that sat idle longer than {@code portfolio.db.validateAfterMs} (1000) is checked with
+ * isValid() before it is lent out, which costs a ping instead of a connect. A connection-class
+ * failure (SQLState 08) on any pooled connection closes it and every idle one. Each connection
+ * caches {@code portfolio.db.statementCacheSize} (64) statements; on MySQL the driver also
+ * prepares them on the server, which only pays off because they are reused.
+ */
+class ConnectionPool {
+    private static final int POOL_SIZE = Integer.getInteger("portfolio.db.poolSize", 4);
+    private static final long VALIDATE_AFTER_MS = Long.getLong("portfolio.db.validateAfterMs", 1000);
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("portfolio.db.statementCacheSize", 64);
+    private static final Deque<Pooled> idle = new ArrayDeque<>();
+    private static final AtomicInteger physicalConnections = new AtomicInteger();
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    static {
+        MetricsRegistry.gauge("db.pool.idle", ConnectionPool::getIdleCount);
+        MetricsRegistry.gauge("db.pool.physical", physicalConnections::get);
+        MetricsRegistry.gauge("db.statements.cache.hits", hits::sum);
+        MetricsRegistry.gauge("db.statements.cache.misses", misses::sum);
+        MetricsRegistry.gauge("db.statements.cache.hitPercent", ConnectionPool::getHitPercent);
+    }
+
+    /**
+     * @param validate Check the connection however recently it was used, e.g. for a breaker probe.
+     * @return An idle connection that is still alive, or null if there is none.
+     */
+    static Connection borrow(boolean validate) {
+        while (true) {
+            Pooled pooled;
+            synchronized (idle) {
+                pooled = idle.pollFirst();
+            }
+            if (pooled == null) {
+                return null;
+            }
+            if ((validate || System.currentTimeMillis() - pooled.returnedAt > VALIDATE_AFTER_MS) && !pooled.isAlive()) {
+                MetricsRegistry.increment("db.pool.stale");
+                pooled.closePhysical();
+                continue;
+            }
+            return pooled.lend();
+        }
+    }
+
+    /**
+     * @param conn A freshly opened connection.
+     * @return A handle to it that returns it to the pool when closed.
+     */
+    static Connection adopt(Connection conn) {
+        physicalConnections.incrementAndGet();
+        return new Pooled(conn).lend();
+    }
+
+    /**
+     * Closes every idle connection, e.g. after one of them lost its link.
+     */
+    static void clear() {
+        List<Pooled> closing;
+        synchronized (idle) {
+            closing = new ArrayList<>(idle);
+            idle.clear();
+        }
+        for (Pooled pooled : closing) {
+            pooled.closePhysical();
+        }
+    }
+
+    static int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    /** @return The share of prepareStatement calls served from a statement cache, in percent. */
+    static long getHitPercent() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0 : hit * 100 / total;
+    }
+
+    /**
+     * One physical connection and its statement cache. Used by one borrower at a time.
+     */
+    private static final class Pooled {
+        private final Connection conn;
+        private final Map<String, CachedStatement> statements = new java.util.LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= STATEMENT_CACHE_SIZE) {
+                    return false;
+                }
+                // The least recently used statement that no open handle holds; while all are held the cache grows
+                for (Iterator<CachedStatement> it = values().iterator(); it.hasNext(); ) {
+                    CachedStatement entry = it.next();
+                    if (!entry.inUse) {
+                        it.remove();
+                        closeQuietly(entry.statement);
+                        break;
+                    }
+                }
+                return false; // Removed above, if at all
+            }
+        };
+        private volatile long returnedAt = System.currentTimeMillis();
+        private volatile boolean broken; // Lost its link; closed instead of returned
+
+        Pooled(Connection conn) {
+            this.conn = conn;
+        }
+
+        Connection lend() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new ConnectionHandle(this));
+        }
+
+        boolean isAlive() {
+            try {
+                return conn.isValid(2);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * @return The cached statement for the SQL text, or a newly prepared one that is now cached,
+         *         marked in use; null if the cached one is still held by an open handle.
+         */
+        CachedStatement prepare(String sql, Integer autoGeneratedKeys) throws SQLException {
+            String key = autoGeneratedKeys == null ? sql : sql + '\u0000' + autoGeneratedKeys;
+            CachedStatement cached = statements.get(key);
+            if (cached != null && cached.inUse) {
+                MetricsRegistry.increment("db.statements.cache.busy");
+                return null;
+            }
+            if (cached != null && !cached.statement.isClosed()) {
+                hits.increment();
+                cached.inUse = true;
+                return cached;
+            }
+            misses.increment();
+            PreparedStatement prepared = autoGeneratedKeys == null ? conn.prepareStatement(sql)
+                    : conn.prepareStatement(sql, autoGeneratedKeys);
+            CachedStatement entry = new CachedStatement(prepared);
+            entry.inUse = true;
+            statements.put(key, entry);
+            return entry;
+        }
+
+        void evict(CachedStatement entry) {
+            statements.values().remove(entry);
+            closeQuietly(entry.statement);
+        }
+
+        void failed(Throwable error) {
+            if (error instanceof SQLException && DatabaseManager.isTransient((SQLException) error)) {
+                broken = true;
+                clear(); // The others most likely lost their link too
+            }
+        }
+
+        /** Resets what a borrower may have changed and parks the connection for the next one. */
+        void giveBack() {
+            for (CachedStatement entry : statements.values()) {
+                entry.inUse = false; // Handles left open refuse use once their connection is returned
+            }
+            try {
+                if (!broken && !conn.getAutoCommit()) {
+                    conn.rollback(); // A borrower that neither committed nor rolled back
+                    conn.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                broken = true;
+            }
+            if (!broken) {
+                returnedAt = System.currentTimeMillis();
+                synchronized (idle) {
+                    if (idle.size() < POOL_SIZE) {
+                        idle.addFirst(this);
+                        return;
+                    }
+                }
+            }
+            closePhysical();
+        }
+
+        void closePhysical() {
+            for (CachedStatement entry : statements.values()) {
+                closeQuietly(entry.statement);
+            }
+            statements.clear();
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                // Already gone
+            }
+            physicalConnections.decrementAndGet();
+        }
+
+        private static void closeQuietly(Statement statement) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                // Nothing to release any more
+            }
+        }
+    }
+
+    /**
+     * A statement in a connection's cache.
+     */
+    private static final class CachedStatement {
+        final PreparedStatement statement;
+        boolean inUse; // Lent to a handle that is not closed yet
+
+        CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+    }
+
+    /**
+     * What a borrower holds: closing it returns the connection, and it refuses use after that.
+     */
+    private static final class ConnectionHandle implements InvocationHandler {
+        private final Pooled pooled;
+        private boolean closed;
+
+        ConnectionHandle(Pooled pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close")) {
+                if (!closed) {
+                    closed = true;
+                    pooled.giveBack();
+                }
+                return null;
+            }
+            if (name.equals("isClosed")) {
+                return closed || pooled.conn.isClosed();
+            }
+            if (closed) {
+                throw new SQLException("The connection was returned to the pool", "08003");
+            }
+            try {
+                if (name.equals("prepareStatement") && args.length <= 2 && (args.length == 1 || args[1] instanceof Integer)) {
+                    CachedStatement entry = pooled.prepare((String) args[0], args.length == 2 ? (Integer) args[1] : null);
+                    if (entry != null) {
+                        return wrap(PreparedStatement.class, entry.statement, entry);
+                    }
+                    // The cached one is held by an open handle, e.g. a nested query: this caller gets its own
+                }
+                Object result = method.invoke(pooled.conn, args);
+                if (result instanceof Statement) {
+                    return wrap(name.equals("prepareCall") ? CallableStatement.class
+                            : name.equals("prepareStatement") ? PreparedStatement.class : Statement.class, (Statement) result, null);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                pooled.failed(e.getCause());
+                throw e.getCause(); // Callers expect the driver's own SQLException
+            } catch (SQLException e) {
+                pooled.failed(e);
+                throw e;
+            }
+        }
+
+        private Object wrap(Class<? extends Statement> type, Statement statement, CachedStatement entry) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new StatementHandle(this, statement, entry));
+        }
+    }
+
+    /**
+     * A statement lent out with its connection. Closing a cached one closes its open result set and
+     * keeps it prepared for the next caller with the same SQL. Either kind refuses use once closed,
+     * or once its connection was returned.
+     */
+    private static final class StatementHandle implements InvocationHandler {
+        private final ConnectionHandle connection;
+        private final Statement target;
+        private final CachedStatement entry; // null if the statement is not cached
+        private boolean closed;
+
+        StatementHandle(ConnectionHandle connection, Statement target, CachedStatement entry) {
+            this.connection = connection;
+            this.target = target;
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args); // equals, hashCode, toString
+            }
+            if (name.equals("close")) {
+                if (!closed) {
+                    closed = true;
+                    if (entry == null) {
+                        target.close();
+                    } else if (!connection.closed) { // Otherwise the statement was already released with the connection
+                        release();
+                    }
+                }
+                return null;
+            }
+            if (name.equals("isClosed")) {
+                return closed || connection.closed || target.isClosed();
+            }
+            if (closed || connection.closed) {
+                throw new SQLException(closed ? "The statement was closed" : "The connection was returned to the pool", closed ? null : "08003");
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                connection.pooled.failed(e.getCause());
+                throw e.getCause();
+            }
+        }
+
+        /** Clears what this borrower left on the cached statement and lends it out again. */
+        private void release() {
+            try {
+                ResultSet rs = target.getResultSet();
+                if (rs != null) {
+                    rs.close();
+                }
+                PreparedStatement statement = (PreparedStatement) target;
+                statement.clearParameters();
+                statement.clearBatch();
+                entry.inUse = false;
+            } catch (SQLException e) {
+                connection.pooled.evict(entry);
+            }
+        }
+    }
+}
+
+/**
+ * NEW: One write from a management panel, held as data so it can either run right away or wait
+ * in the {@link OfflineJournal}. Statements that address rows by id end in "WHERE id IN " and
+ * get the id list appended, like {@link DatabaseManager#executeForIds}. Negative ids are
+ * placeholders for rows that were added while offline and have no database id yet.
+ */
+class Mutation {
+    final String key; // Idempotency key: a replayed mutation is applied at most once
+    final String table;
+    final String label; // What the admin did, for the conflict dialog
+    final String sql;
+    final List<Object> params; // String, Integer, Boolean or null
+    final List<Integer> ids;
+    final boolean insert;
+    final boolean byId;
+    final Map<String, Object> expected = new java.util.LinkedHashMap<>(); // Column values the admin saw
+    Integer expectedVersion; // Row version the edit was based on, or null for no version check
+    int rowId; // Database id after an insert ran, or its placeholder while journaled
+    String conflict; // Why replaying it was held back, or null
+    Map<String, Object> theirs; // The database row when the conflict was found; not journaled
+    boolean force; // Replay even if the row changed, after the admin chose so
+    DomainEvent.Kind event; // Published once the write is committed, or null
+
+    private Mutation(String key, String table, String label, String sql, List<Object> params, List<Integer> ids,
+                     boolean insert, boolean byId) {
+        this.key = key;
+        this.table = table;
+        this.label = label;
+        this.sql = sql;
+        this.params = params;
+        this.ids = ids;
+        this.insert = insert;
+        this.byId = byId;
+    }
+
+    /**
+     * @param sql An INSERT with one placeholder per parameter.
+     */
+    static Mutation insert(String table, String label, String sql, Object... params) {
+        return new Mutation(UUID.randomUUID().toString(), table, label, sql, new ArrayList<>(java.util.Arrays.asList(params)),
+                new ArrayList<>(), true, false);
+    }
+
+    /**
+     * NEW: @param sql A statement that addresses its rows itself, e.g. "DELETE FROM skills WHERE category = ?".
+     */
+    static Mutation statement(String table, String label, String sql, Object... params) {
+        return new Mutation(UUID.randomUUID().toString(), table, label, sql, new ArrayList<>(java.util.Arrays.asList(params)),
+                new ArrayList<>(), false, false);
+    }
+
+    /**
+     * @param sqlPrefix The statement up to the id list, e.g. "DELETE FROM projects WHERE id IN ".
+     * @param ids The rows to affect.
+     * @param leadingParams Parameters bound before the ids.
+     */
+    static Mutation forIds(String table, String label, String sqlPrefix, List<Integer> ids, Object... leadingParams) {
+        return new Mutation(UUID.randomUUID().toString(), table, label, sqlPrefix, new ArrayList<>(java.util.Arrays.asList(leadingParams)),
+                new ArrayList<>(ids), false, true);
+    }
+
+    /**
+     * NEW: Makes the edit conditional on the row version the admin loaded (optimistic concurrency).
+     * @param version The version, or null if unknown (e.g. a row added while offline).
+     * @return This mutation.
+     */
+    Mutation expectingVersion(Object version) {
+        expectedVersion = version == null ? null : ((Number) version).intValue();
+        return this;
+    }
+
+    /** NEW: @return true if the statement only matches the row at {@link #expectedVersion}. */
+    boolean checksVersion() {
+        return expectedVersion != null && !force;
+    }
+
+    /**
+     * NEW: @return The values this edit writes, by column (the counterpart of {@link #expected}).
+     */
+    Map<String, Object> mine() {
+        Map<String, Object> mine = new java.util.LinkedHashMap<>();
+        int i = 0;
+        for (String column : expected.keySet()) {
+            mine.put(column, params.get(i++));
+        }
+        return mine;
+    }
+
+    /**
+     * NEW: Three-way merge with the row as someone else saved it: fields this edit changed keep
+     * this edit's value, all others take theirs. The merged edit is based on their version.
+     * @param theirs The current database row, including "version".
+     */
+    void mergeWith(Map<String, Object> theirs) {
+        int i = 0;
+        for (Map.Entry<String, Object> entry : expected.entrySet()) {
+            Object their = theirs.get(entry.getKey());
+            if (sameValue(params.get(i), entry.getValue())) {
+                params.set(i, their);
+            }
+            entry.setValue(their);
+            i++;
+        }
+        expectingVersion(theirs.get("version"));
+    }
+
+    /** NEW: Compares column values the way they are shown; null and "" are the same. */
+    static boolean sameValue(Object a, Object b) {
+        return java.util.Objects.toString(a, "").equals(java.util.Objects.toString(b, ""));
+    }
+
+    /**
+     * NEW: @return This mutation, which publishes an event of the given kind once it is committed.
+     */
+    Mutation announcing(DomainEvent.Kind kind) {
+        event = kind;
+        return this;
+    }
+
+    Mutation expecting(String column, Object value) {
+        expected.put(column, value);
+        return this;
+    }
+
+    /** @return The id of the inserted row; negative while it only exists in the journal. */
+    int getRowId() {
+        return rowId;
+    }
+
+    /** @return One journal record. */
+    String toJson() {
+        StringBuilder sb = new StringBuilder("{");
+        sb.append("\"key\":").append(SimpleJson.quote(key));
+        sb.append(",\"table\":").append(SimpleJson.quote(table));
+        sb.append(",\"label\":").append(SimpleJson.quote(label));
+        sb.append(",\"sql\":").append(SimpleJson.quote(sql));
+        sb.append(",\"insert\":").append(insert);
+        sb.append(",\"byId\":").append(byId);
+        sb.append(",\"rowId\":").append(rowId);
+        sb.append(",\"version\":").append(expectedVersion);
+        sb.append(",\"force\":").append(force);
+        sb.append(",\"event\":").append(SimpleJson.quote(event == null ? null : event.name()));
+        sb.append(",\"conflict\":").append(SimpleJson.quote(conflict));
+        sb.append(",\"params\":[");
+        for (int i = 0; i < params.size(); i++) {
+            sb.append(i == 0 ? "" : ",").append(jsonValue(params.get(i)));
+        }
+        sb.append("],\"ids\":[");
+        for (int i = 0; i < ids.size(); i++) {
+            sb.append(i == 0 ? "" : ",").append(ids.get(i));
+        }
+        sb.append("],\"expected\":{");
+        boolean first = true;
+        for (Map.Entry<String, Object> entry : expected.entrySet()) {
+            sb.append(first ? "" : ",").append(SimpleJson.quote(entry.getKey())).append(':').append(jsonValue(entry.getValue()));
+            first = false;
+        }
+        return sb.append("}}").toString();
+    }
+
+    private static String jsonValue(Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            return String.valueOf(value);
+        }
+        return SimpleJson.quote(value.toString());
+    }
+
+    /**
+     * Reads a record written by {@link #toJson()}.
+     * @throws IOException If the record is malformed.
+     */
+    static Mutation fromJson(String json) throws IOException {
+        Object root = SimpleJson.parse(json);
+        if (!(root instanceof Map)) {
+            throw new IOException("Journal record is not an object");
+        }
+        Map<?, ?> map = (Map<?, ?>) root;
+        List<Object> params = new ArrayList<>();
+        for (Object value : (List<?>) map.get("params")) {
+            params.add(value instanceof Double ? (Object) ((Double) value).intValue() : value); // Numbers are always ints here
+        }
+        List<Integer> ids = new ArrayList<>();
+        for (Object value : (List<?>) map.get("ids")) {
+            ids.add(((Double) value).intValue());
+        }
+        Mutation mutation = new Mutation((String) map.get("key"), (String) map.get("table"), (String) map.get("label"),
+                (String) map.get("sql"), params, ids, Boolean.TRUE.equals(map.get("insert")), Boolean.TRUE.equals(map.get("byId")));
+        mutation.rowId = ((Double) map.get("rowId")).intValue();
+        if (map.get("version") instanceof Double) { // NEW: Absent in journals written before row versions
+            mutation.expectedVersion = ((Double) map.get("version")).intValue();
+        }
+        mutation.force = Boolean.TRUE.equals(map.get("force"));
+        if (map.get("event") instanceof String) { // NEW: Absent in journals written before the event bus
+            mutation.event = DomainEvent.Kind.valueOf((String) map.get("event"));
+        }
+        mutation.conflict = (String) map.get("conflict");
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) map.get("expected")).entrySet()) {
+            Object value = entry.getValue();
+            mutation.expected.put((String) entry.getKey(), value instanceof Double ? (Object) ((Double) value).intValue() : value);
+        }
+        return mutation;
+    }
+}
+
+/**
+ * NEW: Everything one admin action writes: its {@link Mutation}s, which run in a single
+ * transaction, and the image files it adds. The files are first copied to temporary files next
+ * to their destination, moved into place right before the commit and moved back if the commit
+ * fails, so a row never points at a missing file and a failed action leaves no orphan behind.
+ * Submit it with {@link OfflineJournal#submit(UnitOfWork)}.
+ */
+class UnitOfWork {
+    private final List<Mutation> mutations = new ArrayList<>();
+    private final List<StagedFile> files = new ArrayList<>();
+
+    /** A file copied next to its destination, waiting for the transaction. */
+    private static final class StagedFile {
+        final File temp;
+        final File target;
+        boolean promoted; // Moved into place; the commit has not succeeded yet
+
+        StagedFile(File temp, File target) {
+            this.temp = temp;
+            this.target = target;
+        }
+    }
+
+    /** @return This unit, which also runs the mutation, after the ones added before. */
+    UnitOfWork add(Mutation mutation) {
+        mutations.add(mutation);
+        return this;
+    }
+
+    List<Mutation> getMutations() {
+        return mutations;
+    }
+
+    /**
+     * Copies an upload into the staging area of a directory under a new unique name. Call it
+     * before building the mutations, so a failed copy stops the action before anything is written.
+     * Several threads may stage files at once (e.g. the importer's pool).
+     * @param source The local file chosen by the admin.
+     * @param directory The web directory it goes to.
+     * @return Where the file will be once the work is committed.
+     * @throws IOException If the copy fails.
+     */
+    File stage(File source, String directory) throws IOException {
+        String name = source.getName();
+        int dot = name.lastIndexOf('.');
+        String extension = dot > 0 && dot < name.length() - 1 ? name.substring(dot) : "";
+        File target = new File(directory, UUID.randomUUID() + extension);
+        File parent = target.getAbsoluteFile().getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+        File temp = new File(parent, ".stage-" + target.getName() + ".tmp"); // Same directory: the move is atomic
+        temp.deleteOnExit(); // Left behind only if the app dies before the commit
+        ImageOptimizer.copyUpload(source, temp, target.getName());
+        synchronized (files) {
+            files.add(new StagedFile(temp, target));
+        }
+        return target;
+    }
+
+    /** Moves the staged files into place; called inside the transaction, right before the commit. */
+    void promote() throws IOException {
+        for (StagedFile file : files) {
+            if (!file.promoted) {
+                Files.move(file.temp.toPath(), file.target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                file.promoted = true;
+            }
+        }
+    }
+
+    /** Moves promoted files back to staging after the transaction failed, so a retry can use them. */
+    void unpromote() {
+        for (StagedFile file : files) {
+            if (file.promoted) {
+                try {
+                    Files.move(file.target.toPath(), file.temp.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                    file.promoted = false;
+                } catch (IOException e) {
+                    System.err.println("Could not take back " + file.target + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** The work is in the database or the journal: its files stay and are optimized in the background. */
+    void committed() {
+        for (StagedFile file : files) {
+            ImageOptimizer.submit(file.target);
+        }
+        files.clear();
+    }
+
+    /** The action was given up: removes its files, staged or already in place. */
+    void discard() {
+        for (StagedFile file : files) {
+            try {
+                Files.deleteIfExists((file.promoted ? file.target : file.temp).toPath());
+            } catch (IOException e) {
+                System.err.println("Could not remove " + file.temp + ": " + e.getMessage());
+            }
+        }
+        files.clear();
+    }
+}
+
+/**
+ * NEW: Keeps the panels' writes while the database is unreachable and replays them, in order,
+ * once it is back.
+ *
+ * Each journaled {@link Mutation} is one line in an append-only file ({@code -Dportfolio.journal},
+ * default ~/.portfolio-admin/offline-journal.log), prefixed with its CRC32 and forced to disk
+ * before the panel reports the edit as saved; a torn last line after a crash fails its checksum
+ * and is dropped. Replays record each mutation's key in the {@code applied_mutations} table in
+ * the same transaction as the write, so a replay that dies halfway never applies an edit twice
+ * (direct writes record theirs too, for work journaled after the link dropped around its commit).
+ * A single-row edit whose row changed on the server in the meantime is held back as a conflict
+ * and the admin decides whether to apply it anyway.
+ */
+class OfflineJournal {
+    static final String QUEUED_MESSAGE = "The database is unreachable, so the change was saved on this computer.\n"
+            + "It will be written to the database as soon as the connection is back.";
+    private static final File FILE = new File(System.getProperty("portfolio.journal",
+            System.getProperty("user.home") + File.separator + ".portfolio-admin" + File.separator + "offline-journal.log"));
+    private static final long REPLAY_INTERVAL_SECONDS = Long.getLong("portfolio.journal.replaySeconds", 30);
+    private static final int APPLIED_KEEP_DAYS = Integer.getInteger("portfolio.journal.appliedKeepDays", 30);
+    private static final long PRUNE_INTERVAL_MS = 60 * 60 * 1000L;
+
+    private static final List<Mutation> entries = new ArrayList<>(); // Journal order; guarded by the class lock
+    private static final Map<Integer, Integer> resolvedIds = new ConcurrentHashMap<>(); // Placeholder -> database id
+    private static final List<Runnable> listeners = new java.util.concurrent.CopyOnWriteArrayList<>();
+    private static final Object REPLAY_LOCK = new Object();
+    private static int nextPlaceholderId = -1;
+    private static java.nio.channels.FileChannel channel;
+    private static java.util.concurrent.ScheduledExecutorService replayer;
+    private static volatile boolean tableReady;
+    private static boolean loaded; // NEW: The file was read; guarded by the class lock
+    private static volatile String lastReport = "";
+    private static long lastPruned; // NEW: Only touched by the replayer thread
+
+    /**
+     * Loads the journal left by an earlier session and replays it in the background: right away,
+     * whenever the connection comes back, and every {@code portfolio.journal.replaySeconds}.
+     */
+    public static synchronized void start() {
+        if (replayer != null) {
+            return;
+        }
+        try {
+            load();
+        } catch (IOException e) {
+            System.err.println("Could not read the offline journal " + FILE + ": " + e.getMessage());
+        }
+        if (entries.size() > getPendingCount()) {
+            SwingUtilities.invokeLater(OfflineJournal::resolveConflicts); // Left undecided last time
+        }
+        MetricsRegistry.gauge("journal.pending", OfflineJournal::getPendingCount);
+        replayer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "offline-journal");
+            t.setDaemon(true);
+            return t;
+        });
+        replayer.scheduleWithFixedDelay(OfflineJournal::replayQuietly, 0, REPLAY_INTERVAL_SECONDS, java.util.concurrent.TimeUnit.SECONDS);
+        ConnectionCircuitBreaker breaker = DatabaseManager.getCircuitBreaker();
+        breaker.addListener(() -> {
+            if (breaker.getState() == ConnectionCircuitBreaker.State.CLOSED && getPendingCount() > 0) {
+                replayer.execute(OfflineJournal::replayQuietly);
+            }
+        });
+    }
+
+    /**
+     * Writes a panel's edit to the database, or journals it if the database is unreachable or
+     * older edits are still waiting (so edits always reach the database in the order they were made).
+     * @return true if the edit is in the database, false if it was journaled.
+     * @throws SQLException If the database rejected the edit, or it could not be journaled either.
+     */
+    public static boolean submit(Mutation mutation) throws SQLException {
+        return submit(new UnitOfWork().add(mutation));
+    }
+
+    /**
+     * NEW: Writes all of one admin action in a single transaction, or journals all of it. A journaled
+     * action counts as saved, so its staged files are moved into place right away. If the database
+     * rejects the action its files are removed; after an {@link EditConflictException} they stay
+     * staged for a merged retry, and the caller discards them if it gives up.
+     * @return true if the action is in the database, false if it was journaled.
+     * @throws SQLException If the database rejected the action, or it could not be journaled either.
+     */
+    public static boolean submit(UnitOfWork work) throws SQLException {
+        List<Mutation> mutations = work.getMutations();
+        if (getPendingCount() == 0) {
+            try {
+                List<List<Integer>> ids = new ArrayList<>();
+                for (Mutation mutation : mutations) {
+                    ids.add(resolve(mutation.ids));
+                }
+                for (int attempt = 1; ; attempt++) {
+                    int[] results = DatabaseManager.apply(work, ids);
+                    int stale = -1;
+                    for (int i = 0; i < mutations.size() && stale < 0; i++) {
+                        if (mutations.get(i).checksVersion() && results[i] == 0) {
+                            stale = i;
+                        }
+                    }
+                    if (stale < 0) {
+                        for (int i = 0; i < mutations.size(); i++) {
+                            mutations.get(i).rowId = mutations.get(i).insert ? results[i] : 0;
+                        }
+                        return true;
+                    }
+                    // NEW: Someone saved or deleted the row after the admin loaded it
+                    Mutation mutation = mutations.get(stale);
+                    Map<String, Object> theirs;
+                    try (Connection conn = DatabaseManager.getConnection()) {
+                        theirs = currentRow(conn, mutation, ids.get(stale).get(0));
+                    }
+                    if (theirs == null || describeConflict(mutation, theirs) != null || attempt == 3) {
+                        throw new EditConflictException(mutation, theirs);
+                    }
+                    mutation.expectingVersion(theirs.get("version")); // Only the version moved: nothing of theirs to lose
+                }
+            } catch (DatabaseUnavailableException e) {
+                // Journal it below
+            } catch (EditConflictException e) {
+                throw e;
+            } catch (SQLException e) {
+                if (!DatabaseManager.isTransient(e)) {
+                    work.discard();
+                    throw e;
+                }
+                // NEW: The link dropped mid-transaction. Journal it below; if the commit did go through,
+                // apply recorded the keys in applied_mutations and the replay skips the mutations
+            }
+        }
+        try {
+            work.promote();
+            append(mutations);
+        } catch (IOException e) {
+            work.discard();
+            throw new SQLException("Database unavailable and the offline journal could not be written: " + e.getMessage(), e);
+        }
+        work.committed();
+        if (replayer != null) {
+            replayer.execute(OfflineJournal::replayQuietly); // Fails fast while the breaker is open
+        }
+        return false;
+    }
+
+    /**
+     * @return Edits waiting to be replayed, not counting held-back conflicts.
+     */
+    public static synchronized int getPendingCount() {
+        int count = 0;
+        for (Mutation mutation : entries) {
+            if (mutation.conflict == null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** @return A one-line summary of the last replay, or "" if none ran. */
+    public static String getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * @param listener Called on a background thread when the journal changes.
+     */
+    public static void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * NEW: Appends the mutations of one action with a single write and a single force.
+     */
+    private static synchronized void append(List<Mutation> mutations) throws IOException {
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        for (Mutation mutation : mutations) {
+            if (mutation.insert) {
+                mutation.rowId = nextPlaceholderId--;
+            }
+            byte[] record = record(mutation);
+            records.write(record, 0, record.length);
+        }
+        openChannel();
+        channel.write(java.nio.ByteBuffer.wrap(records.toByteArray()));
+        channel.force(false);
+        entries.addAll(mutations);
+        MetricsRegistry.add("journal.appended", mutations.size());
+        fireChanged();
+    }
+
+    private static byte[] record(Mutation mutation) {
+        byte[] json = mutation.toJson().getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        java.util.zip.CRC32 crc = new java.util.zip.CRC32();
+        crc.update(json);
+        return (String.format("%08x ", crc.getValue()) + new String(json, java.nio.charset.StandardCharsets.UTF_8) + "\n")
+                .getBytes(java.nio.charset.StandardCharsets.UTF_8);
+    }
+
+    private static void openChannel() throws IOException {
+        if (channel == null) {
+            FILE.getAbsoluteFile().getParentFile().mkdirs();
+            channel = java.nio.channels.FileChannel.open(FILE.toPath(), java.nio.file.StandardOpenOption.CREATE,
+                    java.nio.file.StandardOpenOption.WRITE, java.nio.file.StandardOpenOption.APPEND);
+        }
+    }
+
+    /**
+     * NEW: @return The waiting and held-back edits, read from the file if the journal was not started
+     *         (e.g. in the command mode, which must not delete files they refer to).
+     */
+    static synchronized List<Mutation> getEntries() throws IOException {
+        load();
+        return new ArrayList<>(entries);
+    }
+
+    private static synchronized void load() throws IOException {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!FILE.exists()) {
+            return;
+        }
+        for (String line : Files.readAllLines(FILE.toPath(), java.nio.charset.StandardCharsets.UTF_8)) {
+            int space = line.indexOf(' ');
+            java.util.zip.CRC32 crc = new java.util.zip.CRC32();
+            crc.update(line.substring(space + 1).getBytes(java.nio.charset.StandardCharsets.UTF_8));
+            if (space != 8 || !String.format("%08x", crc.getValue()).equals(line.substring(0, 8))) {
+                System.err.println("Offline journal: dropping a damaged record (interrupted write)");
+                break; // Only the last record can be torn, since every record is forced before the next
+            }
+            Mutation mutation = Mutation.fromJson(line.substring(space + 1));
+            entries.add(mutation);
+            nextPlaceholderId = Math.min(nextPlaceholderId, mutation.rowId - 1);
+        }
+        if (!entries.isEmpty()) {
+            System.err.println("Offline journal: " + entries.size() + " edit(s) from an earlier session");
+        }
+        rewrite(); // Drops a torn tail so new records are not appended after it
+    }
+
+    /**
+     * Replaces the file with the current entries: written to a temporary file, forced, then
+     * moved over the old one, so a crash leaves either the old or the new journal.
+     */
+    private static synchronized void rewrite() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+        if (entries.isEmpty()) {
+            Files.deleteIfExists(FILE.toPath());
+            return;
+        }
+        File temp = new File(FILE.getPath() + ".tmp");
+        try (java.nio.channels.FileChannel out = java.nio.channels.FileChannel.open(temp.toPath(),
+                java.nio.file.StandardOpenOption.CREATE, java.nio.file.StandardOpenOption.WRITE,
+                java.nio.file.StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Mutation mutation : entries) {
+                out.write(java.nio.ByteBuffer.wrap(record(mutation)));
+            }
+            out.force(false);
+        }
+        Files.move(temp.toPath(), FILE.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * NEW: Gives the journaled edits of a row added offline its database id. The journal is
+     * rewritten after the replay, so edits still waiting or held back keep finding the row after
+     * a restart, when {@link #resolvedIds} is empty again.
+     */
+    private static synchronized void renumber(int placeholderId, int id) {
+        resolvedIds.put(placeholderId, id);
+        for (Mutation mutation : entries) {
+            Collections.replaceAll(mutation.ids, placeholderId, id);
+        }
+    }
+
+    private static List<Integer> resolve(List<Integer> ids) {
+        List<Integer> resolved = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            resolved.add(id < 0 ? resolvedIds.getOrDefault(id, id) : id);
+        }
+        return resolved;
+    }
+
+    private static void replayQuietly() {
+        try {
+            replay();
+            pruneApplied();
+        } catch (Exception e) {
+            // Still offline, or the replay stopped partway; what is left is retried later
+            System.err.println("Offline journal replay stopped: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replays the waiting edits in journal order. Stops at the first connection failure; the rest
+     * stays journaled. Conflicts are held back and shown to the admin afterwards.
+     */
+    static void replay() throws SQLException, IOException {
+        synchronized (REPLAY_LOCK) { // One replay at a time, or both would apply the same edits
+            replayLocked();
+        }
+    }
+
+    private static void replayLocked() throws SQLException, IOException {
+        List<Mutation> waiting = new ArrayList<>();
+        synchronized (OfflineJournal.class) {
+            for (Mutation mutation : entries) {
+                if (mutation.conflict == null) {
+                    waiting.add(mutation);
+                }
+            }
+        }
+        if (waiting.isEmpty()) {
+            return;
+        }
+        int applied = 0;
+        int conflicts = 0;
+        try (Connection conn = DatabaseManager.getConnection()) {
+            ensureTable(conn);
+            for (Mutation mutation : waiting) {
+                String conflict = replayOne(conn, mutation);
+                synchronized (OfflineJournal.class) {
+                    if (conflict == null) {
+                        entries.remove(mutation);
+                        applied++;
+                    } else {
+                        mutation.conflict = conflict;
+                        conflicts++;
+                    }
+                }
+            }
+        } finally {
+            if (applied + conflicts > 0) {
+                synchronized (OfflineJournal.class) {
+                    rewrite();
+                }
+                lastReport = "Synced " + applied + " offline edit" + (applied == 1 ? "" : "s")
+                        + (conflicts > 0 ? ", " + conflicts + " held back as conflicts" : "");
+                System.err.println("Offline journal: " + lastReport);
+                MetricsRegistry.add("journal.replayed", applied);
+                MetricsRegistry.add("journal.conflicts", conflicts);
+                fireChanged();
+                if (conflicts > 0) {
+                    SwingUtilities.invokeLater(OfflineJournal::resolveConflicts);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies one mutation in its own transaction, unless it was applied before.
+     * @return null if it is in the database now, otherwise why it was held back.
+     * @throws SQLException If the connection failed; the caller stops replaying.
+     */
+    private static String replayOne(Connection conn, Mutation mutation) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT result_id FROM applied_mutations WHERE mutation_key = ?")) {
+                pstmt.setString(1, mutation.key);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) { // Applied by a replay that stopped before rewriting the journal
+                        if (mutation.insert) {
+                            renumber(mutation.rowId, rs.getInt(1));
+                        }
+                        conn.commit();
+                        return null;
+                    }
+                }
+            }
+            List<Integer> ids = resolve(mutation.ids);
+            if (ids.stream().anyMatch(id -> id < 0)) {
+                conn.rollback();
+                return "It refers to a row added offline that was never saved.";
+            }
+            if (!mutation.force && !mutation.expected.isEmpty() && ids.size() == 1) {
+                Map<String, Object> theirs = currentRow(conn, mutation, ids.get(0));
+                String conflict = theirs == null ? "The row was deleted in the meantime." : describeConflict(mutation, theirs);
+                if (conflict != null) {
+                    mutation.theirs = theirs;
+                    conn.rollback();
+                    return conflict;
+                }
+                if (mutation.expectedVersion != null) {
+                    mutation.expectingVersion(theirs.get("version")); // NEW: Same values as the admin saw: rebase
+                }
+            }
+            int result;
+            try {
+                result = DatabaseManager.execute(conn, mutation, ids);
+            } catch (SQLException e) {
+                if (DatabaseManager.isTransient(e)) {
+                    throw e;
+                }
+                conn.rollback();
+                return "The database rejected it: " + e.getMessage();
+            }
+            if (mutation.checksVersion() && result == 0) { // NEW: Changed between the check and the update
+                mutation.theirs = currentRow(conn, mutation, ids.get(0));
+                conn.rollback();
+                return "The row was changed in the meantime.";
+            }
+            if (mutation.insert) {
+                renumber(mutation.rowId, result);
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO applied_mutations (mutation_key, result_id) VALUES (?, ?)")) {
+                pstmt.setString(1, mutation.key);
+                pstmt.setInt(2, mutation.insert ? result : 0);
+                pstmt.executeUpdate();
+            }
+            conn.commit();
+            EventBus.publish(mutation, ids, result); // NEW: Panels swap the placeholder id of a row added offline
+            return null;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * NEW: Reads the columns a single-row edit sets, plus its version if it carries one.
+     * @return The row by column, or null if it was deleted.
+     */
+    static Map<String, Object> currentRow(Connection conn, Mutation mutation, int id) throws SQLException {
+        String sql = "SELECT " + String.join(", ", mutation.expected.keySet())
+                + (mutation.expectedVersion != null ? ", version" : "") + " FROM " + mutation.table + " WHERE id = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                Map<String, Object> row = new java.util.LinkedHashMap<>();
+                int position = 1; // NEW: By position, in the order of the SELECT list
+                for (String column : mutation.expected.keySet()) {
+                    row.put(column, rs.getString(position++));
+                }
+                if (mutation.expectedVersion != null) {
+                    row.put("version", rs.getInt(position));
+                }
+                return row;
+            }
+        }
+    }
+
+    /**
+     * @return A description of how the row differs from what the admin edited, or null.
+     */
+    static String describeConflict(Mutation mutation, Map<String, Object> theirs) {
+        StringBuilder changes = new StringBuilder();
+        for (String column : mutation.expected.keySet()) {
+            if (!Mutation.sameValue(mutation.expected.get(column), theirs.get(column))) {
+                changes.append("\n  ").append(column).append(": you saw \"").append(java.util.Objects.toString(mutation.expected.get(column), ""))
+                       .append("\", the database now has \"").append(java.util.Objects.toString(theirs.get(column), "")).append('"');
+            }
+        }
+        return changes.length() == 0 ? null : "The row was changed in the meantime:" + changes;
+    }
+
+    /**
+     * NEW: Records the keys of mutations written outside a replay in the same transaction, so a
+     * unit of work that is journaled because the link dropped around its commit is not applied
+     * twice once the journal is replayed.
+     * @param results Per mutation, the generated id for an insert.
+     */
+    static void recordApplied(Connection conn, List<Mutation> mutations, int[] results) throws SQLException {
+        ensureTable(conn);
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO applied_mutations (mutation_key, result_id) VALUES (?, ?)")) {
+            for (int i = 0; i < mutations.size(); i++) {
+                pstmt.setString(1, mutations.get(i).key);
+                pstmt.setInt(2, mutations.get(i).insert ? results[i] : 0);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    /**
+     * NEW: Deletes applied_mutations keys older than {@code portfolio.journal.appliedKeepDays}
+     * (default 30), at most once an hour. A key is only needed while its mutation can still be in
+     * a journal, so nothing is pruned while this journal holds entries.
+     */
+    private static void pruneApplied() throws SQLException {
+        long now = System.currentTimeMillis();
+        if (now - lastPruned < PRUNE_INTERVAL_MS) {
+            return;
+        }
+        synchronized (OfflineJournal.class) {
+            if (!entries.isEmpty()) {
+                return;
+            }
+        }
+        try (Connection conn = DatabaseManager.getConnection()) {
+            ensureTable(conn);
+            String cutoff = DatabaseManager.isMySql(conn) ? "NOW() - INTERVAL ? DAY" : "TIMESTAMPADD(DAY, -?, NOW())";
+            try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM applied_mutations WHERE applied_at < " + cutoff)) {
+                pstmt.setInt(1, APPLIED_KEEP_DAYS);
+                int pruned = pstmt.executeUpdate();
+                if (pruned > 0) {
+                    System.err.println("Offline journal: pruned " + pruned + " applied mutation keys");
+                }
+            }
+        }
+        lastPruned = now;
+    }
+
+    private static void ensureTable(Connection conn) throws SQLException {
+        if (!tableReady) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE IF NOT EXISTS applied_mutations (" +
+                             "mutation_key CHAR(36) PRIMARY KEY," +
+                             "result_id INT NOT NULL DEFAULT 0," +
+                             "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                             ")");
+            }
+            tableReady = true;
+        }
+    }
+
+    /**
+     * Asks the admin about each held-back edit: apply it anyway, drop it, or decide later.
+     * Runs on the EDT.
+     */
+    static void resolveConflicts() {
+        List<Mutation> held = new ArrayList<>();
+        synchronized (OfflineJournal.class) {
+            for (Mutation mutation : entries) {
+                if (mutation.conflict != null) {
+                    held.add(mutation);
+                }
+            }
+        }
+        boolean changed = false;
+        for (Mutation mutation : held) {
+            if (mutation.theirs != null) { // NEW: Found this session, so the three-way view can be shown
+                EditConflictDialog.Choice choice = EditConflictDialog.ask(null, mutation, mutation.theirs);
+                synchronized (OfflineJournal.class) {
+                    if (choice == EditConflictDialog.Choice.SAVE) {
+                        mutation.mergeWith(mutation.theirs);
+                        mutation.conflict = null;
+                        mutation.theirs = null;
+                        changed = true;
+                    } else if (choice == EditConflictDialog.Choice.TAKE_THEIRS) {
+                        entries.remove(mutation);
+                        changed = true;
+                    }
+                }
+                continue;
+            }
+            String[] options = {"Apply my edit", "Keep the database version", "Decide later"};
+            int choice = JOptionPane.showOptionDialog(null,
+                    "An edit made while offline could not be synced:\n\n" + mutation.label + "\n\n" + mutation.conflict,
+                    "Offline Edit Conflict", JOptionPane.DEFAULT_OPTION, JOptionPane.WARNING_MESSAGE, null, options, options[2]);
+            synchronized (OfflineJournal.class) {
+                if (choice == 0) {
+                    mutation.conflict = null;
+                    mutation.force = true;
+                    changed = true;
+                } else if (choice == 1) {
+                    entries.remove(mutation);
+                    changed = true;
+                }
+            }
+        }
+        if (changed) {
+            replayer.execute(() -> {
+                try {
+                    synchronized (OfflineJournal.class) {
+                        rewrite();
+                    }
+                } catch (IOException e) {
+                    System.err.println("Could not rewrite the offline journal: " + e.getMessage());
+                }
+                fireChanged();
+                replayQuietly();
+            });
+        }
+    }
+
+    private static void fireChanged() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+}
+
+/**
+ * NEW: Last-known content of the portfolio tables on local disk, so panels can show rows the
+ * moment they open and refresh them in the background (stale-while-revalidate).
+ *
+ * The file ({@code -Dportfolio.snapshot}, default ~/.portfolio-admin/snapshot.bin) is
+ * memory-mapped read-only. Each table carries a row-offset index, so opening it only reads
+ * headers and a row is decoded straight from the mapping when a panel asks for it. Fresh rows from
+ * the panels' queries replace a table in memory and are written out shortly after (and on exit)
+ * to a temporary file that is then moved over the old one.
+ *
+ * Layout: magic, version, saved-at millis, database URL, table count; per table its name, column names, row
+ * count, data length, one int offset per row, then the rows. A cell is a tag byte (0 null,
+ * 1 int, 2 string) followed by the int or a length-prefixed UTF-8 string. A snapshot saved for
+ * another database URL (e.g. by a benchmark against the embedded database) is ignored.
+ */
+class LocalSnapshot {
+    private static final int MAGIC = 0x50534e50; // "PSNP"
+    private static final int VERSION = 4; // 2: rows carry their version; 3: header names the database; 4: skills version column last
+    private static final byte NULL = 0, INT = 1, STRING = 2;
+    private static final long WRITE_DELAY_MS = 2000; // Coalesces the writes of panels opened in a row
+    private static final File FILE = new File(System.getProperty("portfolio.snapshot",
+            System.getProperty("user.home") + File.separator + ".portfolio-admin" + File.separator + "snapshot.bin"));
+    private static final File NEXT_FILE = new File(FILE.getPath() + ".next");
+
+    /** Each table with the query that fills it; columns and order match what the panels show. */
+    static final Map<String, String> QUERIES = new java.util.LinkedHashMap<>();
+    static {
+        for (Repository<?> repository : Repository.ALL) {
+            QUERIES.put(repository.meta.table, repository.selectSql());
+        }
+        QUERIES.put("site_settings", "SELECT setting_name, setting_value FROM site_settings ORDER BY setting_name");
+    }
+
+    private static Map<String, Table> mapped; // From the file; null until first use
+    private static final Map<String, List<Object[]>> unsaved = new HashMap<>(); // Newer than the file
+    private static final java.util.concurrent.ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "local-snapshot");
+        t.setDaemon(true);
+        return t;
+    });
+    private static java.util.concurrent.ScheduledFuture<?> pendingWrite;
+    private static final Object WRITE_LOCK = new Object(); // NEW: One write at a time, without holding the class lock
+
+    /**
+     * One table inside the mapped file. Rows are decoded on access; nothing is copied up front.
+     */
+    static final class Table {
+        final String name;
+        final String[] columns;
+        private final java.nio.ByteBuffer offsets;
+        private final java.nio.ByteBuffer data;
+        private final int rowCount;
+
+        Table(String name, String[] columns, int rowCount, java.nio.ByteBuffer offsets, java.nio.ByteBuffer data) {
+            this.name = name;
+            this.columns = columns;
+            this.rowCount = rowCount;
+            this.offsets = offsets;
+            this.data = data;
+        }
+
+        int getRowCount() {
+            return rowCount;
+        }
+
+        Object[] row(int index) {
+            java.nio.ByteBuffer in = data.duplicate();
+            in.position(offsets.getInt(index * 4));
+            Object[] row = new Object[columns.length];
+            for (int c = 0; c < row.length; c++) {
+                byte tag = in.get();
+                if (tag == INT) {
+                    row[c] = in.getInt();
+                } else if (tag == STRING) {
+                    int length = in.getInt();
+                    java.nio.ByteBuffer bytes = in.slice();
+                    bytes.limit(length);
+                    row[c] = java.nio.charset.StandardCharsets.UTF_8.decode(bytes).toString();
+                    in.position(in.position() + length);
+                }
+            }
+            return row;
+        }
+
+        List<Object[]> rows() {
+            List<Object[]> rows = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                rows.add(row(i));
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * @param table One of the {@link #QUERIES} tables.
+     * @return Its last-known rows, or null if there is no snapshot of it yet.
+     */
+    public static synchronized List<Object[]> rows(String table) {
+        List<Object[]> fresh = unsaved.get(table);
+        if (fresh != null) {
+            return new ArrayList<>(fresh);
+        }
+        long start = System.nanoTime();
+        Table mappedTable = open().get(table);
+        if (mappedTable == null) {
+            return null;
+        }
+        List<Object[]> rows = mappedTable.rows();
+        MetricsRegistry.recordSince("snapshot.read", start);
+        return rows;
+    }
+
+    /**
+     * @return The snapshot's value of a site setting, or null.
+     */
+    public static String setting(String name) {
+        List<Object[]> settings = rows("site_settings");
+        if (settings != null) {
+            for (Object[] row : settings) {
+                if (name.equals(row[0])) {
+                    return (String) row[1];
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces a table with rows just read from the database; they are written out shortly.
+     * @param rows Rows with the columns of the table's entry in {@link #QUERIES}.
+     */
+    public static synchronized void put(String table, List<Object[]> rows) {
+        unsaved.put(table, new ArrayList<>(rows));
+        if (pendingWrite == null || pendingWrite.isDone()) {
+            pendingWrite = writer.schedule(LocalSnapshot::writeQuietly, WRITE_DELAY_MS, java.util.concurrent.TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * NEW: Applies a committed change from the {@link EventBus}: the event's rows replace or join
+     * the table's rows and removed rows are dropped. A table without a snapshot yet is left alone.
+     */
+    public static synchronized void apply(DomainEvent event) {
+        List<Object[]> base = rows(event.table);
+        if (base == null) {
+            return;
+        }
+        Map<String, Object[]> fresh = new java.util.LinkedHashMap<>();
+        for (Object[] row : event.rows) {
+            fresh.put(String.valueOf(row[0]), row);
+        }
+        java.util.Set<String> removed = new java.util.HashSet<>();
+        if (event.removesRows()) {
+            for (int id : event.ids) {
+                removed.add(String.valueOf(id));
+            }
+        }
+        List<Object[]> merged = new ArrayList<>(base.size() + fresh.size());
+        for (Object[] row : base) {
+            String key = String.valueOf(row[0]);
+            if (!removed.contains(key)) {
+                Object[] current = fresh.remove(key);
+                merged.add(current != null ? current : row);
+            }
+        }
+        List<Object[]> added = new ArrayList<>(fresh.values());
+        if (event.newestFirst()) {
+            Collections.reverse(added); // Read back in id order; the newest goes on top
+            merged.addAll(0, added);
+        } else {
+            merged.addAll(added);
+        }
+        put(event.table, merged);
+    }
+
+    /**
+     * Reruns a table's query off the EDT, keeps the result and hands it to {@code onFresh} on
+     * the EDT. If the database is unreachable the panel simply keeps the snapshot rows.
+     */
+    public static void revalidate(String table, java.util.function.Consumer<List<Object[]>> onFresh) {
+        new SwingWorker<List<Object[]>, Void>() {
+            private final java.util.concurrent.Callable<List<Object[]>> work = QueryLog.propagate(() -> {
+                try (Connection conn = DatabaseManager.getConnection()) {
+                    return query(conn, table);
+                }
+            });
+
+            @Override
+            protected List<Object[]> doInBackground() throws Exception {
+                return work.call();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    List<Object[]> rows = get();
+                    put(table, rows);
+                    onFresh.accept(rows);
+                } catch (Exception e) {
+                    // Offline: keep showing the snapshot; the status banner reports the outage
+                    System.err.println("Could not revalidate " + table + ": " + e.getMessage());
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Re-reads every table in the background, e.g. after offline edits were synced.
+     */
+    public static void refreshAll() {
+        writer.execute(() -> {
+            try {
+                rebuild();
+            } catch (SQLException | IOException e) {
+                System.err.println("Could not refresh the local snapshot: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * NEW: Re-reads every table and writes the file, on the calling thread.
+     */
+    static void rebuild() throws SQLException, IOException {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            for (String table : QUERIES.keySet()) {
+                List<Object[]> rows = query(conn, table);
+                synchronized (LocalSnapshot.class) {
+                    unsaved.put(table, rows);
+                }
+            }
+        }
+        write();
+    }
+
+    /**
+     * Writes what is not on disk yet. Called when the app closes.
+     */
+    public static void flush() {
+        try {
+            write();
+        } catch (IOException e) {
+            System.err.println("Could not write the local snapshot: " + e.getMessage());
+        }
+    }
+
+    static List<Object[]> query(Connection conn, String table) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(QUERIES.get(table))) {
+            return readRows(rs);
+        }
+    }
+
+    /**
+     * Reads every row of a result set the way the snapshot stores it: integer columns as
+     * Integer, everything else as String.
+     */
+    static List<Object[]> readRows(ResultSet rs) throws SQLException {
+        return RowMapper.readAll(rs, rowMapper(rs.getMetaData()));
+    }
+
+    /**
+     * NEW: @return A mapper for rows of the given shape; column types are resolved here, once.
+     */
+    static RowMapper<Object[]> rowMapper(ResultSetMetaData meta) throws SQLException {
+        int columns = meta.getColumnCount();
+        boolean[] numeric = new boolean[columns];
+        for (int c = 0; c < columns; c++) {
+            int type = meta.getColumnType(c + 1);
+            numeric[c] = type == Types.INTEGER || type == Types.SMALLINT || type == Types.TINYINT
+                    || type == Types.BIT || type == Types.BOOLEAN;
+        }
+        return rs -> {
+            Object[] row = new Object[columns];
+            for (int c = 0; c < columns; c++) {
+                row[c] = numeric[c] ? RowMapper.nullableInt(rs, c + 1) : rs.getString(c + 1);
+            }
+            return row;
+        };
+    }
+
+    private static void writeQuietly() {
+        flush();
+    }
+
+    /**
+     * Maps the snapshot file, first promoting a replacement that could not be moved into place
+     * last time (Windows refuses to replace a file that is still mapped).
+     */
+    private static Map<String, Table> open() {
+        if (mapped != null) {
+            return mapped;
+        }
+        mapped = new HashMap<>();
+        try {
+            if (NEXT_FILE.exists()) {
+                Files.move(NEXT_FILE.toPath(), FILE.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (FILE.exists()) {
+                mapped = map(FILE);
+            }
+        } catch (IOException | RuntimeException e) {
+            // A damaged or outdated snapshot only costs the instant start
+            System.err.println("Ignoring the local snapshot " + FILE + ": " + e);
+        }
+        return mapped;
+    }
+
+    private static Map<String, Table> map(File file) throws IOException {
+        java.nio.MappedByteBuffer buffer;
+        try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(file.toPath(), java.nio.file.StandardOpenOption.READ)) {
+            buffer = channel.map(java.nio.channels.FileChannel.MapMode.READ_ONLY, 0, channel.size()); // Stays valid after close
+        }
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("not a snapshot of this version");
+        }
+        buffer.getLong(); // Saved-at; informational
+        if (!readName(buffer).equals(DatabaseManager.getUrl())) {
+            throw new IOException("snapshot of another database");
+        }
+        Map<String, Table> tables = new HashMap<>();
+        int tableCount = buffer.getInt();
+        for (int t = 0; t < tableCount; t++) {
+            String name = readName(buffer);
+            String[] columns = new String[buffer.getInt()];
+            for (int c = 0; c < columns.length; c++) {
+                columns[c] = readName(buffer);
+            }
+            int rowCount = buffer.getInt();
+            int dataLength = buffer.getInt();
+            java.nio.ByteBuffer offsets = buffer.slice();
+            offsets.limit(rowCount * 4);
+            buffer.position(buffer.position() + rowCount * 4);
+            java.nio.ByteBuffer data = buffer.slice();
+            data.limit(dataLength);
+            buffer.position(buffer.position() + dataLength);
+            tables.put(name, new Table(name, columns, rowCount, offsets, data));
+        }
+        return tables;
+    }
+
+    private static String readName(java.nio.ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, java.nio.charset.StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes every known table: fresh ones from memory, the rest carried over from the current file.
+     * NEW: The class lock is only held to take the rows and to swap in the result, so a panel
+     * reading or putting rows on the EDT never waits for the disk.
+     */
+    private static void write() throws IOException {
+        synchronized (WRITE_LOCK) {
+            Map<String, List<Object[]>> fresh;
+            Map<String, Table> current;
+            synchronized (LocalSnapshot.class) {
+                if (unsaved.isEmpty()) {
+                    return;
+                }
+                fresh = new HashMap<>(unsaved);
+                current = open();
+            }
+            writeLocked(fresh, current);
+        }
+    }
+
+    private static void writeLocked(Map<String, List<Object[]>> fresh, Map<String, Table> current) throws IOException {
+        long start = System.nanoTime();
+        FILE.getAbsoluteFile().getParentFile().mkdirs();
+        File temp = new File(FILE.getPath() + ".tmp");
+        try (java.io.FileOutputStream fileOut = new java.io.FileOutputStream(temp);
+             java.io.DataOutputStream out = new java.io.DataOutputStream(new java.io.BufferedOutputStream(fileOut, 1 << 16))) {
+            List<String> names = new ArrayList<>();
+            for (String table : QUERIES.keySet()) {
+                if (fresh.containsKey(table) || current.containsKey(table)) {
+                    names.add(table);
+                }
+            }
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(System.currentTimeMillis());
+            writeName(out, DatabaseManager.getUrl());
+            out.writeInt(names.size());
+            for (String table : names) {
+                List<Object[]> rows = fresh.containsKey(table) ? fresh.get(table) : current.get(table).rows();
+                writeTable(out, table, columnsOf(table), rows);
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        Map<String, Table> written;
+        try {
+            Files.move(temp.toPath(), FILE.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            written = map(FILE);
+        } catch (IOException e) {
+            // The old file is still mapped (Windows); use the new one from the next start
+            Files.move(temp.toPath(), NEXT_FILE.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return; // Keep serving the fresh rows from memory
+        }
+        synchronized (LocalSnapshot.class) {
+            mapped = written;
+            for (Map.Entry<String, List<Object[]>> entry : fresh.entrySet()) {
+                unsaved.remove(entry.getKey(), entry.getValue()); // Rows put during the write stay for the next one
+            }
+        }
+        MetricsRegistry.recordSince("snapshot.write", start);
+    }
+
+    /**
+     * @return The columns of a table's entry in {@link #QUERIES}; the first one is its key.
+     */
+    static String[] columnsOf(String table) {
+        String sql = QUERIES.get(table);
+        String list = sql.substring("SELECT ".length(), sql.indexOf(" FROM "));
+        return list.split(",\\s*");
+    }
+
+    private static void writeTable(java.io.DataOutputStream out, String table, String[] columns, List<Object[]> rows) throws IOException {
+        java.io.ByteArrayOutputStream dataBytes = new java.io.ByteArrayOutputStream();
+        java.io.DataOutputStream data = new java.io.DataOutputStream(dataBytes);
+        int[] offsets = new int[rows.size()];
+        for (int r = 0; r < rows.size(); r++) {
+            offsets[r] = data.size();
+            Object[] row = rows.get(r);
+            for (int c = 0; c < columns.length; c++) {
+                Object value = row[c];
+                if (value == null) {
+                    data.writeByte(NULL);
+                } else if (value instanceof Integer) {
+                    data.writeByte(INT);
+                    data.writeInt((Integer) value);
+                } else {
+                    byte[] bytes = value.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8);
+                    data.writeByte(STRING);
+                    data.writeInt(bytes.length);
+                    data.write(bytes);
+                }
+            }
+        }
+        writeName(out, table);
+        out.writeInt(columns.length);
+        for (String column : columns) {
+            writeName(out, column);
+        }
+        out.writeInt(rows.size());
+        out.writeInt(data.size());
+        for (int offset : offsets) {
+            out.writeInt(offset);
+        }
+        dataBytes.writeTo(out);
+    }
+
+    private static void writeName(java.io.DataOutputStream out, String name) throws IOException {
+        byte[] bytes = name.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
+
+/**
+ * NEW: Notices rows changed by anyone (this app, another admin instance, the PHP admin pages) and
+ * hands just those rows to the open panels, instead of panels re-reading whole tables.
+ *
+ * On MySQL/MariaDB, triggers on each tracked table append the key of every inserted, updated or
+ * deleted row to {@code change_log}. Its auto-increment {@code seq} is the version counter: a
+ * table's version is the highest seq logged for it, and a poll is one range scan on the primary
+ * key ("seq &gt; last seen") that returns nothing while nobody edits. Where triggers cannot be
+ * installed (no TRIGGER privilege, or the embedded benchmark database), the database maintains an
+ * {@code updated_at} column instead, and a table's version is its row count plus newest
+ * {@code updated_at}; rows at or above the previous high-water mark are re-read, and deletions
+ * are found from the key list only when the count says some row is gone.
+ *
+ * Either way only the rows of changed keys are fetched, diffed against the {@link LocalSnapshot}
+ * and merged into it, and panels receive a {@link Delta} on the EDT.
+ * Polls every {@code portfolio.changes.pollSeconds} (5; 0 turns tracking off).
+ */
+class ChangeTracker {
+    enum Mode { TRIGGERS, TIMESTAMPS }
+
+    private static final long POLL_SECONDS = Long.getLong("portfolio.changes.pollSeconds", 5);
+    private static final int SEQ_OVERLAP = 100; // Log rows re-read each poll, for transactions that committed late
+    private static final long TIMESTAMP_OVERLAP_MS = 2000; // The same for updated_at
+    private static final int LOG_RETENTION_HOURS = 24;
+    private static final long PRUNE_INTERVAL_MS = 60 * 60 * 1000; // How often a poll drops change_log rows past retention
+    private static final int MAX_IN_LIST = 1000;
+
+    /**
+     * What changed in one table since the previous poll.
+     */
+    static final class Delta {
+        final String table;
+        final List<Object[]> changed; // Inserted or updated rows, with the columns of LocalSnapshot.QUERIES
+        final java.util.Set<Object> deletedKeys;
+        final List<Object[]> rows; // The whole table after the merge
+        final boolean newestFirst; // New rows belong at the top (projects are listed newest first)
+
+        Delta(String table, List<Object[]> changed, java.util.Set<Object> deletedKeys, List<Object[]> rows) {
+            this.table = table;
+            this.changed = changed;
+            this.deletedKeys = deletedKeys;
+            this.rows = rows;
+            this.newestFirst = table.equals("projects");
+        }
+    }
+
+    private static final Map<String, Map<Class<?>, java.util.function.Consumer<Delta>>> listeners = new ConcurrentHashMap<>();
+    private static java.util.concurrent.ScheduledExecutorService poller;
+    private static volatile Mode mode; // null until installed
+    // State below is only touched on the poller thread
+    private static long lastSeq; // TRIGGERS: highest change_log seq seen
+    private static long lastPruneMillis; // TRIGGERS: when change_log was last pruned
+    private static final java.util.Set<Long> recentSeqs = new java.util.HashSet<>(); // TRIGGERS: seen seqs inside the overlap window
+    private static final Map<String, Object[]> versions = new HashMap<>(); // TIMESTAMPS: table -> {row count, newest updated_at}
+
+    /**
+     * Installs the triggers (or updated_at columns) in the background and starts polling.
+     */
+    public static synchronized void start() {
+        if (poller != null || POLL_SECONDS <= 0) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "change-tracker");
+            t.setDaemon(true);
+            return t;
+        });
+        poller.scheduleWithFixedDelay(ChangeTracker::pollQuietly, 0, POLL_SECONDS, java.util.concurrent.TimeUnit.SECONDS);
+    }
+
+    /**
+     * Delivers a table's changes to a panel, on the EDT. A newer panel of the same class replaces
+     * the older one's listener: navigation builds a fresh panel each time and never shows the old one again.
+     */
+    public static void watch(String table, Object owner, java.util.function.Consumer<Delta> listener) {
+        listeners.computeIfAbsent(table, t -> new ConcurrentHashMap<>()).put(owner.getClass(), listener);
+    }
+
+    public static Mode getMode() {
+        return mode;
+    }
+
+    private static void pollQuietly() {
+        if (DatabaseManager.getCircuitBreaker().getState() != ConnectionCircuitBreaker.State.CLOSED) {
+            return; // The status banner reports the outage; polling resumes after it
+        }
+        try (Connection conn = DatabaseManager.getConnection()) {
+            if (mode == null) {
+                install(conn);
+                LocalSnapshot.refreshAll(); // One full read covers whatever changed before the baseline
+                return;
+            }
+            long start = System.nanoTime();
+            poll(conn);
+            MetricsRegistry.recordSince("changes.poll", start);
+        } catch (SQLException e) {
+            System.err.println("Change tracking poll failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Chooses the mode, creates what it needs and records the current versions as the baseline.
+     */
+    static void install(Connection conn) throws SQLException {
+        if (DatabaseManager.isMySql(conn)) {
+            try {
+                installTriggers(conn);
+                mode = Mode.TRIGGERS;
+                return;
+            } catch (SQLException e) {
+                System.err.println("Could not install the change_log triggers (" + e.getMessage() + "); tracking updated_at instead");
+            }
+        }
+        for (String table : LocalSnapshot.QUERIES.keySet()) {
+            DatabaseManager.addColumnIfMissing(conn, table, "updated_at",
+                    "TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)");
+            versions.put(table, readVersion(conn, table));
+        }
+        mode = Mode.TIMESTAMPS;
+    }
+
+    /**
+     * Creates change_log and its triggers. If any trigger cannot be created, the ones created here
+     * are dropped again. The TIMESTAMPS fallback never reads change_log, so a partial set would
+     * only add a log write to every edit of the tables it covers, and the log would never be pruned.
+     */
+    private static void installTriggers(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS change_log (" +
+                         "seq BIGINT AUTO_INCREMENT PRIMARY KEY," +
+                         "table_name VARCHAR(64) NOT NULL," +
+                         "row_key VARCHAR(255) NOT NULL," +
+                         "changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                         ")");
+            String[][] events = {{"INSERT", "NEW"}, {"UPDATE", "NEW"}, {"DELETE", "OLD"}};
+            List<String> created = new ArrayList<>();
+            try {
+                for (String table : LocalSnapshot.QUERIES.keySet()) {
+                    String key = LocalSnapshot.columnsOf(table)[0];
+                    for (String[] event : events) {
+                        String name = table + "_" + event[0].toLowerCase() + "_log";
+                        if (DatabaseManager.createTriggerIfMissing(conn, name,
+                                "AFTER " + event[0] + " ON " + table + " FOR EACH ROW " +
+                                "INSERT INTO change_log (table_name, row_key) VALUES ('" + table + "', " + event[1] + "." + key + ")")) {
+                            created.add(name);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                for (String name : created) {
+                    try {
+                        stmt.execute("DROP TRIGGER IF EXISTS " + name);
+                    } catch (SQLException dropFailed) {
+                        e.addSuppressed(dropFailed);
+                    }
+                }
+                throw e;
+            }
+            pruneLog(conn);
+            try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(seq), 0) FROM change_log")) {
+                rs.next();
+                lastSeq = rs.getLong(1);
+            }
+        }
+        recentSeqs.clear();
+        readLog(conn); // Marks the overlap window as seen
+    }
+
+    /**
+     * Fetches what changed since the previous poll and merges it.
+     */
+    static void poll(Connection conn) throws SQLException {
+        if (mode == Mode.TRIGGERS) {
+            if (System.currentTimeMillis() - lastPruneMillis >= PRUNE_INTERVAL_MS) {
+                pruneLog(conn);
+            }
+            for (Map.Entry<String, java.util.Set<String>> entry : readLog(conn).entrySet()) {
+                if (LocalSnapshot.QUERIES.containsKey(entry.getKey())) {
+                    merge(entry.getKey(), entry.getValue(), fetch(conn, entry.getKey(), entry.getValue()));
+                }
+            }
+            return;
+        }
+        for (String table : LocalSnapshot.QUERIES.keySet()) {
+            Object[] version = readVersion(conn, table);
+            Object[] previous = versions.get(table);
+            if (java.util.Arrays.equals(version, previous)) {
+                continue;
+            }
+            pollTimestamps(conn, table, previous, (Long) version[0]);
+            versions.put(table, version);
+        }
+    }
+
+    /**
+     * Drops change_log rows older than the retention; every poll that could still need them has run.
+     */
+    private static void pruneLog(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM change_log WHERE changed_at < NOW() - INTERVAL " + LOG_RETENTION_HOURS + " HOUR");
+        }
+        lastPruneMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * @return The keys logged since the last call, by table.
+     */
+    private static Map<String, java.util.Set<String>> readLog(Connection conn) throws SQLException {
+        Map<String, java.util.Set<String>> keys = new java.util.LinkedHashMap<>();
+        long from = Math.max(0, lastSeq - SEQ_OVERLAP);
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT seq, table_name, row_key FROM change_log WHERE seq > ? ORDER BY seq")) {
+            pstmt.setLong(1, from);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    long seq = rs.getLong(1);
+                    if (recentSeqs.add(seq)) {
+                        lastSeq = Math.max(lastSeq, seq);
+                        keys.computeIfAbsent(rs.getString(2), t -> new java.util.HashSet<>()).add(rs.getString(3));
+                    }
+                }
+            }
+        }
+        long floor = lastSeq - SEQ_OVERLAP;
+        recentSeqs.removeIf(seq -> seq <= floor);
+        return keys;
+    }
+
+    private static Object[] readVersion(Connection conn, String table) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*), MAX(updated_at) FROM " + table)) {
+            rs.next();
+            return new Object[]{rs.getLong(1), rs.getTimestamp(2)};
+        }
+    }
+
+    /**
+     * TIMESTAMPS mode: re-reads the rows at or above the previous high-water mark and, if the row
+     * count says some rows are gone, the key list to find them.
+     */
+    private static void pollTimestamps(Connection conn, String table, Object[] previous, long count) throws SQLException {
+        String[] columns = LocalSnapshot.columnsOf(table);
+        long since = previous == null || previous[1] == null ? 0 : ((Timestamp) previous[1]).getTime() - TIMESTAMP_OVERLAP_MS;
+        List<Object[]> fetched;
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT " + String.join(", ", columns) + " FROM " + table + " WHERE updated_at >= ?")) {
+            pstmt.setTimestamp(1, new Timestamp(since));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                fetched = LocalSnapshot.readRows(rs);
+            }
+        }
+        java.util.Set<String> keys = new java.util.HashSet<>();
+        for (Object[] row : fetched) {
+            keys.add(String.valueOf(row[0]));
+        }
+        List<Object[]> base = LocalSnapshot.rows(table);
+        if (base == null) {
+            return; // Nothing to merge into; the panel reads the whole table when it opens
+        }
+        java.util.Set<String> known = new java.util.HashSet<>(keys);
+        for (Object[] row : base) {
+            known.add(String.valueOf(row[0]));
+        }
+        if (known.size() != count) { // Some snapshot rows are no longer in the table
+            java.util.Set<String> present = new java.util.HashSet<>();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT " + columns[0] + " FROM " + table)) {
+                while (rs.next()) {
+                    present.add(rs.getString(1));
+                }
+            }
+            for (String key : known) {
+                if (!present.contains(key)) {
+                    keys.add(key);
+                }
+            }
+        }
+        merge(table, keys, fetched);
+    }
+
+    /**
+     * The current rows of the given keys, with the columns of {@link LocalSnapshot#QUERIES};
+     * deleted keys have no row. Also reads back the rows of a committed {@link DomainEvent}.
+     */
+    static List<Object[]> fetch(Connection conn, String table, java.util.Set<String> keys) throws SQLException {
+        String[] columns = LocalSnapshot.columnsOf(table);
+        String select = "SELECT " + String.join(", ", columns) + " FROM " + table + " WHERE " + columns[0] + " IN ";
+        List<String> keyList = new ArrayList<>(keys);
+        List<Object[]> rows = new ArrayList<>();
+        for (int start = 0; start < keyList.size(); start += MAX_IN_LIST) {
+            List<String> chunk = DatabaseManager.padInList(keyList.subList(start, Math.min(keyList.size(), start + MAX_IN_LIST)));
+            try (PreparedStatement pstmt = conn.prepareStatement(select + DatabaseManager.placeholders(chunk.size()))) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    if (columns[0].equals("id")) {
+                        pstmt.setInt(i + 1, Integer.parseInt(chunk.get(i)));
+                    } else {
+                        pstmt.setString(i + 1, chunk.get(i));
+                    }
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    rows.addAll(LocalSnapshot.readRows(rs));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Merges fresh rows into the snapshot and notifies the panels of what actually differs.
+     * @param keys Keys that may have changed; those without a fresh row were deleted.
+     * @param fetched The current rows of (some of) those keys.
+     */
+    private static void merge(String table, java.util.Set<String> keys, List<Object[]> fetched) {
+        List<Object[]> base = LocalSnapshot.rows(table);
+        if (base == null) {
+            return; // Nothing to merge into; the panel reads the whole table when it opens
+        }
+        Map<String, Object[]> fresh = new java.util.LinkedHashMap<>();
+        for (Object[] row : fetched) {
+            fresh.put(String.valueOf(row[0]), row);
+        }
+        List<Object[]> merged = new ArrayList<>(base.size());
+        List<Object[]> changed = new ArrayList<>();
+        java.util.Set<Object> deleted = new java.util.HashSet<>();
+        for (Object[] row : base) {
+            String key = String.valueOf(row[0]);
+            if (!keys.contains(key)) {
+                merged.add(row);
+                continue;
+            }
+            Object[] current = fresh.remove(key);
+            if (current == null) {
+                deleted.add(row[0]);
+            } else {
+                merged.add(current);
+                if (!java.util.Arrays.equals(row, current)) {
+                    changed.add(current);
+                }
+            }
+        }
+        List<Object[]> added = new ArrayList<>(fresh.values()); // Keys the snapshot did not have
+        changed.addAll(added);
+        merged.addAll(table.equals("projects") ? 0 : merged.size(), added);
+        if (changed.isEmpty() && deleted.isEmpty()) {
+            return; // e.g. only re-read rows of the overlap window
+        }
+        MetricsRegistry.add("changes.rows", changed.size() + deleted.size());
+        LocalSnapshot.put(table, merged);
+        Delta delta = new Delta(table, changed, deleted, merged);
+        Map<Class<?>, java.util.function.Consumer<Delta>> tableListeners = listeners.get(table);
+        if (tableListeners != null) {
+            SwingUtilities.invokeLater(() -> {
+                for (java.util.function.Consumer<Delta> listener : tableListeners.values()) {
+                    listener.accept(delta);
+                }
+            });
+        }
+    }
+}
+
+/**
+ * NEW: Something the admin changed, published through the {@link EventBus} once it is committed.
+ * Every kind of change has its own type (ProjectAdded, SkillUpdated, ContactSoftDeleted,
+ * SettingChanged, ...), grouped by table, so a subscriber listens to exactly what it needs.
+ */
+abstract class DomainEvent {
+    /** What a {@link Mutation} publishes once it is committed; journaled by name. */
+    enum Kind {
+        PROJECT_ADDED(ProjectAdded::new), PROJECT_UPDATED(ProjectUpdated::new), PROJECT_DELETED(ProjectDeleted::new),
+        SKILL_ADDED(SkillAdded::new), SKILL_UPDATED(SkillUpdated::new), SKILL_DELETED(SkillDeleted::new),
+        ABOUT_SAVED(AboutSaved::new),
+        ABOUT_DETAIL_ADDED(AboutDetailAdded::new), ABOUT_DETAIL_UPDATED(AboutDetailUpdated::new),
+        ABOUT_DETAIL_DELETED(AboutDetailDeleted::new),
+        CONTACT_ADDED(ContactAdded::new), CONTACT_UPDATED(ContactUpdated::new), CONTACT_SOFT_DELETED(ContactSoftDeleted::new),
+        CONTACT_RESTORED(ContactRestored::new), CONTACT_DELETED(ContactDeleted::new);
+
+        private final java.util.function.Supplier<DomainEvent> factory;
+
+        Kind(java.util.function.Supplier<DomainEvent> factory) {
+            this.factory = factory;
+        }
+
+        /** @param ids The database ids of the affected rows. */
+        DomainEvent create(List<Integer> ids) {
+            DomainEvent event = factory.get();
+            event.ids = ids;
+            return event;
+        }
+    }
+
+    final String table;
+    List<Integer> ids = Collections.emptyList(); // Database ids of the affected rows
+    List<Object[]> rows = Collections.emptyList(); // Those rows after the change, with the columns of LocalSnapshot.QUERIES
+    int placeholderId; // For an insert replayed from the offline journal: the id the panels showed meanwhile
+
+    DomainEvent(String table) {
+        this.table = table;
+    }
+
+    /**
+     * @param ids The database ids the mutation addressed.
+     * @param result What {@link DatabaseManager#execute} returned; the new id for an insert.
+     */
+    static DomainEvent of(Mutation mutation, List<Integer> ids, int result) {
+        DomainEvent event = mutation.event.create(mutation.insert ? Collections.singletonList(result) : new ArrayList<>(ids));
+        event.placeholderId = mutation.rowId < 0 ? mutation.rowId : 0;
+        return event;
+    }
+
+    /** @return true if the rows are gone from the table (a soft delete keeps them). */
+    boolean removesRows() {
+        return false;
+    }
+
+    /** @return true if new rows belong at the top (projects are listed newest first). */
+    boolean newestFirst() {
+        return table.equals("projects");
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + ids;
+    }
+
+    abstract static class ProjectEvent extends DomainEvent {
+        ProjectEvent() {
+            super("projects");
+        }
+    }
+
+    static final class ProjectAdded extends ProjectEvent { }
+
+    static final class ProjectUpdated extends ProjectEvent { }
+
+    static final class ProjectDeleted extends ProjectEvent {
+        @Override
+        boolean removesRows() {
+            return true;
+        }
+    }
+
+    abstract static class SkillEvent extends DomainEvent {
+        SkillEvent() {
+            super("skills");
+        }
+    }
+
+    static final class SkillAdded extends SkillEvent { }
+
+    static final class SkillUpdated extends SkillEvent { } // Also a move to another category
+
+    static final class SkillDeleted extends SkillEvent {
+        @Override
+        boolean removesRows() {
+            return true;
+        }
+    }
+
+    /** The About Me text was added or edited. */
+    static final class AboutSaved extends DomainEvent {
+        AboutSaved() {
+            super("about");
+        }
+    }
+
+    abstract static class AboutDetailEvent extends DomainEvent {
+        AboutDetailEvent() {
+            super("about_details");
+        }
+    }
+
+    static final class AboutDetailAdded extends AboutDetailEvent { }
+
+    static final class AboutDetailUpdated extends AboutDetailEvent { }
+
+    static final class AboutDetailDeleted extends AboutDetailEvent {
+        @Override
+        boolean removesRows() {
+            return true;
+        }
+    }
+
+    abstract static class ContactEvent extends DomainEvent {
+        ContactEvent() {
+            super("contacts");
+        }
+    }
+
+    static final class ContactAdded extends ContactEvent { }
+
+    static final class ContactUpdated extends ContactEvent { }
+
+    static final class ContactSoftDeleted extends ContactEvent { } // Moved to the trash; the row stays
+
+    static final class ContactRestored extends ContactEvent { }
+
+    static final class ContactDeleted extends ContactEvent {
+        @Override
+        boolean removesRows() {
+            return true;
+        }
+    }
+
+    /** A site setting was saved; its row is (setting_name, setting_value). */
+    static final class SettingChanged extends DomainEvent {
+        final String name;
+        final String value;
+
+        SettingChanged(String name, String value) {
+            super("site_settings");
+            this.name = name;
+            this.value = value;
+            rows = Collections.singletonList(new Object[]{name, value});
+        }
+    }
+}
+
+/**
+ * NEW: In-process bus for {@link DomainEvent}s. The data-access layer publishes one after every
+ * committed write ({@link DatabaseManager#apply}, offline replays, settings), so the open panels,
+ * the {@link LocalSnapshot} and anything else interested apply the change itself instead of
+ * reloading whole tables.
+ *
+ * Events are handled one at a time, in the order they were published, on the "event-bus"
+ * thread: it reads the affected rows back by id, runs the background subscribers in the order
+ * they subscribed (the snapshot first, so it is current before any panel hears of the change),
+ * then hands the event to the UI subscribers on the EDT.
+ */
+class EventBus {
+    private static final List<java.util.function.Consumer<DomainEvent>> subscribers = new java.util.concurrent.CopyOnWriteArrayList<>();
+    private static final Map<List<Class<?>>, java.util.function.Consumer<DomainEvent>> uiSubscribers = new ConcurrentHashMap<>();
+    private static final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "event-bus");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Subscribes a cache, index or exporter; it runs on the bus thread, never on the EDT.
+     * @param type The events to receive, e.g. DomainEvent.ContactSoftDeleted.class, or DomainEvent.class for all.
+     */
+    public static <E extends DomainEvent> void subscribe(Class<E> type, java.util.function.Consumer<? super E> subscriber) {
+        subscribers.add(only(type, subscriber));
+    }
+
+    /**
+     * Subscribes a panel; it receives the events on the EDT. A newer panel of the same class
+     * replaces the older one's subscription: navigation builds a fresh panel each time and never
+     * shows the old one again.
+     */
+    public static <E extends DomainEvent> void subscribeOnEdt(Class<E> type, Object owner, java.util.function.Consumer<? super E> subscriber) {
+        uiSubscribers.put(java.util.Arrays.asList(owner.getClass(), type), only(type, subscriber));
+    }
+
+    /**
+     * Publishes the event of a committed mutation, if it announces one and changed any row.
+     */
+    static void publish(Mutation mutation, List<Integer> ids, int result) {
+        if (mutation.event != null && result > 0) {
+            publish(DomainEvent.of(mutation, ids, result));
+        }
+    }
+
+    /**
+     * Queues an event for delivery. Publish only what is committed.
+     */
+    public static void publish(DomainEvent event) {
+        MetricsRegistry.increment("events." + event.getClass().getSimpleName());
+        dispatcher.execute(() -> deliver(event));
+    }
+
+    private static void deliver(DomainEvent event) {
+        long start = System.nanoTime();
+        readRows(event);
+        for (java.util.function.Consumer<DomainEvent> subscriber : subscribers) {
+            run(subscriber, event);
+        }
+        MetricsRegistry.recordSince("events.deliver", start);
+        SwingUtilities.invokeLater(() -> {
+            for (java.util.function.Consumer<DomainEvent> subscriber : uiSubscribers.values()) {
+                run(subscriber, event);
+            }
+        });
+    }
+
+    /**
+     * Reads back the rows an insert or update left, e.g. with the version the database assigned.
+     */
+    private static void readRows(DomainEvent event) {
+        if (event.removesRows() || !event.rows.isEmpty() || event.ids.isEmpty()) {
+            return;
+        }
+        java.util.Set<String> keys = new java.util.LinkedHashSet<>();
+        for (int id : event.ids) {
+            keys.add(String.valueOf(id));
+        }
+        try (Connection conn = DatabaseManager.getConnection()) {
+            event.rows = ChangeTracker.fetch(conn, event.table, keys);
+        } catch (SQLException e) {
+            // Delivered without rows; the change tracker merges them on its next poll
+            System.err.println("Could not read back the rows of " + event + ": " + e.getMessage());
+        }
+    }
+
+    private static void run(java.util.function.Consumer<DomainEvent> subscriber, DomainEvent event) {
+        try {
+            subscriber.accept(event);
+        } catch (RuntimeException e) {
+            e.printStackTrace(); // One failing subscriber must not keep the event from the others
+        }
+    }
+
+    private static <E extends DomainEvent> java.util.function.Consumer<DomainEvent> only(Class<E> type, java.util.function.Consumer<? super E> subscriber) {
+        return event -> {
+            if (type.isInstance(event)) {
+                subscriber.accept(type.cast(event));
+            }
+        };
+    }
+}
+
+/**
+ * NEW: Helpers for multi-row selection in the management tables.
+ * All tables keep the row ID in model column 0.
+ */
+class TableModelUtils {
+
+    /**
+     * @return The IDs of all selected rows, in view order.
+     */
+    public static List<Integer> getSelectedIds(JTable table) {
+        List<Integer> ids = new ArrayList<>();
+        for (int viewRow : table.getSelectedRows()) {
+            ids.add((Integer) table.getModel().getValueAt(table.convertRowIndexToModel(viewRow), 0));
+        }
+        return ids;
+    }
+
+    /**
+     * @return The model row holding the given ID, or -1.
+     */
+    public static int findRowById(DefaultTableModel model, int id) {
+        for (int row = 0; row < model.getRowCount(); row++) {
+            if (((Integer) model.getValueAt(row, 0)) == id) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * NEW: Makes the model show the given rows, in their order, changing only the cells that
+     * differ, so a background refresh does not flicker or reset the scroll position. Rows are
+     * matched by ID, so a selection stays on its row when rows are added or removed above it.
+     * @param rows The new rows; extra trailing columns (e.g. a category) are ignored.
+     */
+    public static void syncRows(DefaultTableModel model, List<Object[]> rows) {
+        int columns = model.getColumnCount();
+        if (model.getRowCount() == 0) { // First fill: nothing to match
+            for (Object[] row : rows) {
+                model.addRow(java.util.Arrays.copyOf(row, columns));
+            }
+            return;
+        }
+        java.util.Set<Integer> ids = new java.util.HashSet<>();
+        for (Object[] row : rows) {
+            ids.add((Integer) row[0]);
+        }
+        for (int r = model.getRowCount() - 1; r >= 0; r--) { // Bottom-up so indices stay valid
+            if (!ids.contains((Integer) model.getValueAt(r, 0))) {
+                model.removeRow(r);
+            }
+        }
+        Map<Integer, Integer> rowById = new HashMap<>(); // Kept current as rows move
+        for (int r = 0; r < model.getRowCount(); r++) {
+            rowById.put((Integer) model.getValueAt(r, 0), r);
+        }
+        for (int r = 0; r < rows.size(); r++) {
+            Object[] row = rows.get(r);
+            Integer index = rowById.get((Integer) row[0]);
+            if (index == null || index != r) {
+                // Rows from r up to where this one was (or all of them, for a new row) move down one
+                int last = index == null ? model.getRowCount() - 1 : index - 1;
+                if (index != null) {
+                    model.removeRow(index); // Moved, e.g. renamed in a table sorted by name
+                }
+                model.insertRow(r, java.util.Arrays.copyOf(row, columns));
+                for (int i = r + 1; i <= last + 1; i++) {
+                    rowById.put((Integer) model.getValueAt(i, 0), i);
+                }
+                rowById.put((Integer) row[0], r);
+                continue;
+            }
+            for (int c = 0; c < columns; c++) {
+                if (!java.util.Objects.equals(model.getValueAt(r, c), row[c])) {
+                    model.setValueAt(row[c], r, c);
+                }
+            }
+        }
+    }
+
+    /**
+     * NEW: @return A selection model for a management table whose selection stays on its rows when
+     *         a refresh inserts rows next to them (Swing's default selects the inserted rows too,
+     *         which would put the panel's form into bulk mode).
+     */
+    public static ListSelectionModel rowSelection() {
+        return new DefaultListSelectionModel() {
+            @Override
+            public void insertIndexInterval(int index, int length, boolean before) {
+                boolean adjusting = getValueIsAdjusting();
+                setValueIsAdjusting(true); // Listeners see one change, not the intermediate selection
+                super.insertIndexInterval(index, length, before);
+                int first = before ? index : index + 1;
+                removeSelectionInterval(first, first + length - 1);
+                setValueIsAdjusting(adjusting);
+            }
+        };
+    }
+
+    /**
+     * NEW: Refills a panel's edit form when the row it shows changes underneath it (a refresh, or
+     * another admin's edit arriving), so the form and its conflict base match the stored row.
+     * A form with unsaved changes is left alone: saving it runs the conflict check against the
+     * row the admin started from.
+     * @param unsaved Whether the form differs from the row it was filled from.
+     * @param redisplay Fills the form from the selected row.
+     */
+    public static void refreshFormOnUpdate(JTable table, java.util.function.BooleanSupplier unsaved, Runnable redisplay) {
+        boolean[] queued = {false}; // One refill for all the cells of a row; EDT only
+        table.getModel().addTableModelListener(e -> {
+            if (e.getType() != javax.swing.event.TableModelEvent.UPDATE || table.getSelectedRowCount() != 1 || queued[0]) {
+                return;
+            }
+            int selected = table.convertRowIndexToModel(table.getSelectedRow());
+            if (selected >= e.getFirstRow() && selected <= e.getLastRow() && !unsaved.getAsBoolean()) {
+                queued[0] = true;
+                SwingUtilities.invokeLater(() -> {
+                    queued[0] = false;
+                    if (table.getSelectedRowCount() == 1) {
+                        redisplay.run();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * NEW: @return true if a form field no longer shows the value it was filled with.
+     */
+    public static boolean differs(String text, Object value) {
+        return !text.trim().equals(java.util.Objects.toString(value, "").trim());
+    }
+
+    /**
+     * NEW: Removes the given ids, updates changed rows cell by cell and adds new ones (at the top
+     * for newest-first tables).
+     */
+    public static void applyRows(DefaultTableModel model, List<Object[]> changed, java.util.Collection<Integer> removedIds, boolean newestFirst) {
+        if (!removedIds.isEmpty()) {
+            removeRowsById(model, removedIds);
+        }
+        int columns = model.getColumnCount();
+        Map<Integer, Integer> rowById = new HashMap<>(); // Row before the rows inserted at the top
+        for (int r = 0; r < model.getRowCount(); r++) {
+            rowById.put((Integer) model.getValueAt(r, 0), r);
+        }
+        int addedAtTop = 0;
+        for (Object[] row : changed) {
+            Integer stored = rowById.get((Integer) row[0]);
+            if (stored == null) {
+                if (newestFirst) {
+                    model.insertRow(0, java.util.Arrays.copyOf(row, columns));
+                    addedAtTop++;
+                    rowById.put((Integer) row[0], -addedAtTop);
+                } else {
+                    model.addRow(java.util.Arrays.copyOf(row, columns));
+                    rowById.put((Integer) row[0], model.getRowCount() - 1 - addedAtTop);
+                }
+                continue;
+            }
+            int index = stored + addedAtTop;
+            for (int c = 0; c < columns; c++) {
+                if (!java.util.Objects.equals(model.getValueAt(index, c), row[c])) {
+                    model.setValueAt(row[c], index, c);
+                }
+            }
+        }
+    }
+
+    /**
+     * NEW: @return Every row of the model, each as an array of column values.
+     */
+    public static List<Object[]> rowsOf(DefaultTableModel model) {
+        List<Object[]> rows = new ArrayList<>(model.getRowCount());
+        for (int row = 0; row < model.getRowCount(); row++) {
+            rows.add(rowValues(model, row));
+        }
+        return rows;
+    }
+
+    /**
+     * NEW: @return A copy of one model row, e.g. the base of an edit the admin starts.
+     */
+    public static Object[] rowValues(DefaultTableModel model, int row) {
+        Object[] values = new Object[model.getColumnCount()];
+        for (int col = 0; col < values.length; col++) {
+            values[col] = model.getValueAt(row, col);
+        }
+        return values;
+    }
+
+    /**
+     * Removes the rows with the given IDs in place, without reloading the table.
+     * @return The removed rows, each as an array of column values.
+     */
+    public static List<Object[]> removeRowsById(DefaultTableModel model, java.util.Collection<Integer> ids) {
+        java.util.Set<Integer> idSet = new java.util.HashSet<>(ids);
+        List<Object[]> removed = new ArrayList<>();
+        for (int row = model.getRowCount() - 1; row >= 0; row--) { // Bottom-up so indices stay valid
+            if (idSet.contains((Integer) model.getValueAt(row, 0))) {
+                removed.add(0, rowValues(model, row));
+                model.removeRow(row);
+            }
+        }
+        return removed;
+    }
+}
+
+/**
+ * NEW: Maps the current row of a result set by column position. The positions are fixed by the
+ * SELECT that produced it (e.g. {@link Repository#selectSql()}), so no row pays for a driver's
+ * column-name lookup.
+ */
+interface RowMapper<T> {
+    T map(ResultSet rs) throws SQLException;
+
+    /** @return Every remaining row of the result set, mapped. */
+    static <T> List<T> readAll(ResultSet rs, RowMapper<T> mapper) throws SQLException {
+        List<T> rows = new ArrayList<>();
+        while (rs.next()) {
+            rows.add(mapper.map(rs));
+        }
+        return rows;
+    }
+
+    /** @return The int at a position, or null for SQL NULL. */
+    static Integer nullableInt(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+}
+
+/**
+ * NEW: What the generic data path needs to know about one table: its columns (the key first,
+ * "version" among them), which of them the admin writes, how it is listed, the events its
+ * writes publish, and how a row becomes one of the entity classes ({@link Project}, ...).
+ */
+final class EntityMeta<T> {
+    final String table;
+    final String noun; // For messages, e.g. "Error loading projects"
+    final RowMapper<T> mapper; // Positions follow the column list
+    String[] columns = {};
+    String[] inserted = {};
+    String[] updated = {};
+    String orderBy = "id";
+    boolean single; // One row only, e.g. the About Me text
+    boolean newestFirst; // New rows belong at the top
+    Class<? extends DomainEvent> events = DomainEvent.class;
+    DomainEvent.Kind added, changed, deleted;
+
+    EntityMeta(String table, String noun, RowMapper<T> mapper) {
+        this.table = table;
+        this.noun = noun;
+        this.mapper = mapper;
+    }
+
+    /** @param columns What a row holds, in this order; the first one is the key. */
+    EntityMeta<T> columns(String... columns) {
+        this.columns = columns;
+        return this;
+    }
+
+    /** @param columns What an insert writes, in this order. */
+    EntityMeta<T> inserts(String... columns) {
+        inserted = columns;
+        return this;
+    }
+
+    /** @param columns What a single-row edit writes, in this order; its conflict check compares them. */
+    EntityMeta<T> updates(String... columns) {
+        updated = columns;
+        return this;
+    }
+
+    EntityMeta<T> orderBy(String orderBy) {
+        this.orderBy = orderBy;
+        return this;
+    }
+
+    EntityMeta<T> single() {
+        single = true;
+        return this;
+    }
+
+    EntityMeta<T> newestFirst() {
+        newestFirst = true;
+        return this;
+    }
+
+    /**
+     * @param group The events the panels of this table subscribe to.
+     * @param deleted Published by deletes, or null if the table has none.
+     */
+    EntityMeta<T> events(Class<? extends DomainEvent> group, DomainEvent.Kind added, DomainEvent.Kind changed, DomainEvent.Kind deleted) {
+        events = group;
+        this.added = added;
+        this.changed = changed;
+        this.deleted = deleted;
+        return this;
+    }
+
+    /** @return The position of a column in a row. */
+    int indexOf(String column) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].equals(column)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(table + " has no column " + column);
+    }
+}
+
+/**
+ * NEW: The one data path of the table panels, driven by an {@link EntityMeta} per table.
+ *
+ * A panel hands its {@link RowsView} to {@link #open}: the view shows the {@link LocalSnapshot}
+ * rows at once, a query off the EDT brings the fresh ones, and from then on edits made elsewhere
+ * ({@link ChangeTracker}) and committed edits ({@link EventBus}) are applied to it in place.
+ * Writes are {@link Mutation}s built here (chunked IN lists for bulk actions, row versions for
+ * conflict checks) and submitted by the panel, which shows them at once with {@link #newRow}
+ * and {@link #edited}.
+ */
+class Repository<T> {
+    static final Repository<Project> PROJECTS = new Repository<>(new EntityMeta<>("projects", "projects",
+            rs -> new Project(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5)))
+            .columns("id", "title", "description", "image_url", "link", "version")
+            .inserts("title", "description", "image_url", "link")
+            .updates("title", "description", "image_url", "link")
+            .orderBy("created_at DESC").newestFirst()
+            .events(DomainEvent.ProjectEvent.class, DomainEvent.Kind.PROJECT_ADDED, DomainEvent.Kind.PROJECT_UPDATED,
+                    DomainEvent.Kind.PROJECT_DELETED));
+    static final Repository<Experience> SKILLS = new Repository<>(new EntityMeta<>("skills", "experience entries",
+            rs -> new Experience(rs.getInt(1), rs.getString(2), rs.getString(3)))
+            .columns("id", "name", "category", "version")
+            .inserts("name", "category")
+            .updates("name")
+            .orderBy("category, name")
+            .events(DomainEvent.SkillEvent.class, DomainEvent.Kind.SKILL_ADDED, DomainEvent.Kind.SKILL_UPDATED,
+                    DomainEvent.Kind.SKILL_DELETED));
+    static final Repository<About> ABOUT = new Repository<>(new EntityMeta<>("about", "about content",
+            rs -> new About(rs.getInt(1), rs.getString(2)))
+            .columns("id", "content", "version")
+            .inserts("content")
+            .updates("content")
+            .single()
+            .events(DomainEvent.AboutSaved.class, DomainEvent.Kind.ABOUT_SAVED, DomainEvent.Kind.ABOUT_SAVED, null));
+    static final Repository<AboutDetail> ABOUT_DETAILS = new Repository<>(new EntityMeta<>("about_details", "About Me details",
+            rs -> new AboutDetail(rs.getInt(1), rs.getString(2), rs.getString(3)))
+            .columns("id", "heading", "description", "version")
+            .inserts("heading", "description")
+            .updates("heading", "description")
+            .orderBy("heading")
+            .events(DomainEvent.AboutDetailEvent.class, DomainEvent.Kind.ABOUT_DETAIL_ADDED,
+                    DomainEvent.Kind.ABOUT_DETAIL_UPDATED, DomainEvent.Kind.ABOUT_DETAIL_DELETED));
+    static final Repository<Contact> CONTACTS = new Repository<>(new EntityMeta<>("contacts", "contacts",
+            rs -> new Contact(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getInt(5) != 0))
+            .columns("id", "platform", "link", "version", "deleted")
+            .inserts("platform", "link") // "deleted" defaults to 0
+            .updates("platform", "link")
+            .events(DomainEvent.ContactEvent.class, DomainEvent.Kind.CONTACT_ADDED, DomainEvent.Kind.CONTACT_UPDATED,
+                    DomainEvent.Kind.CONTACT_DELETED));
+    static final List<Repository<?>> ALL = java.util.Arrays.asList(PROJECTS, SKILLS, ABOUT, ABOUT_DETAILS, CONTACTS);
+
+    private static final AtomicInteger pendingLoads = new AtomicInteger();
+
+    final EntityMeta<T> meta;
+
+    Repository(EntityMeta<T> meta) {
+        this.meta = meta;
+    }
+
+    /** @return The query that lists the table, as the panels show it. */
+    String selectSql() {
+        return "SELECT " + String.join(", ", meta.columns) + " FROM " + meta.table + " ORDER BY " + meta.orderBy
+                + (meta.single ? " LIMIT 1" : "");
+    }
+
+    /**
+     * @return The rows as the table models and the snapshot hold them.
+     */
+    List<Object[]> query(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(selectSql())) {
+            return LocalSnapshot.readRows(rs);
+        }
+    }
+
+    /**
+     * @return The rows mapped straight into entities, without Object[] rows in between.
+     */
+    List<T> queryEntities(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(selectSql())) {
+            return RowMapper.readAll(rs, meta.mapper);
+        }
+    }
+
+    /**
+     * @return Every row as an entity, e.g. for an export.
+     */
+    List<T> findAll() throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            return queryEntities(conn);
+        }
+    }
+
+    /**
+     * @param values One per inserted column of the metadata.
+     */
+    Mutation insert(String label, Object... values) {
+        return Mutation.insert(meta.table, label, "INSERT INTO " + meta.table + " (" + String.join(", ", meta.inserted)
+                + ") VALUES " + DatabaseManager.placeholders(values.length), values).announcing(meta.added);
+    }
+
+    /**
+     * A single-row edit, checked against the row the admin started from.
+     * @param base That row (at least the columns up to the version), or null if it is not known.
+     * @param values One per updated column of the metadata.
+     */
+    Mutation update(String label, int id, Object[] base, Object... values) {
+        StringBuilder assignments = new StringBuilder();
+        for (String column : meta.updated) {
+            assignments.append(assignments.length() == 0 ? "" : ", ").append(column).append(" = ?");
+        }
+        Mutation update = updateAll(label, meta.changed, assignments.toString(), Collections.singletonList(id), values);
+        if (base != null) {
+            for (String column : meta.updated) {
+                update.expecting(column, base[meta.indexOf(column)]);
+            }
+            update.expectingVersion(base[meta.indexOf("version")]);
+        }
+        return update;
+    }
+
+    /**
+     * A bulk edit of the given rows, e.g. a move to another category or a soft delete.
+     * @param assignments The SET clause, e.g. "category = ?".
+     * @param params Bound to the assignments' placeholders.
+     */
+    Mutation updateAll(String label, DomainEvent.Kind kind, String assignments, List<Integer> ids, Object... params) {
+        return Mutation.forIds(meta.table, label, "UPDATE " + meta.table + " SET " + assignments + " WHERE id IN ", ids, params)
+                .announcing(kind);
+    }
+
+    Mutation delete(String label, List<Integer> ids) {
+        return Mutation.forIds(meta.table, label, "DELETE FROM " + meta.table + " WHERE id IN ", ids).announcing(meta.deleted);
+    }
+
+    /**
+     * @return The row a submitted insert adds, under its id or its placeholder while it is journaled.
+     */
+    Object[] newRow(Mutation insert) {
+        Object[] row = new Object[meta.columns.length];
+        row[0] = insert.getRowId();
+        for (int i = 0; i < meta.inserted.length; i++) {
+            row[meta.indexOf(meta.inserted[i])] = insert.params.get(i);
+        }
+        row[meta.indexOf("version")] = 0;
+        return row;
+    }
+
+    /**
+     * @return The row after a submitted single-row edit: its values and the version it then has.
+     */
+    Object[] edited(Mutation update, Object[] base) {
+        Object[] row = java.util.Arrays.copyOf(base, meta.columns.length);
+        for (Map.Entry<String, Object> entry : update.mine().entrySet()) {
+            row[meta.indexOf(entry.getKey())] = entry.getValue();
+        }
+        if (update.expectedVersion != null) {
+            row[meta.indexOf("version")] = update.expectedVersion + 1;
+        }
+        return row;
+    }
+
+    /**
+     * @return A view that shows the rows in one table model.
+     */
+    RowsView view(DefaultTableModel model) {
+        return new TableModelView(() -> Collections.singletonList(model), row -> model, meta.newestFirst);
+    }
+
+    /**
+     * @return A view that splits the rows over several table models.
+     * @param route The model a row belongs in, or null if it is not shown.
+     */
+    RowsView view(java.util.function.Supplier<java.util.Collection<DefaultTableModel>> models,
+                  java.util.function.Function<Object[], DefaultTableModel> route) {
+        return new TableModelView(models, route, meta.newestFirst);
+    }
+
+    /**
+     * Shows the table in a panel's view and keeps it current while the panel is in use. A newer
+     * panel of the same class takes over the listeners of the older one.
+     */
+    void open(JComponent owner, RowsView view) {
+        List<Object[]> cached = LocalSnapshot.rows(meta.table);
+        if (cached != null) {
+            view.show(cached);
+        }
+        load(owner, view, cached != null, null); // With snapshot rows on screen a failed refresh needs no dialog
+        ChangeTracker.watch(meta.table, owner, delta -> {
+            List<Integer> deletedIds = new ArrayList<>();
+            for (Object key : delta.deletedKeys) {
+                deletedIds.add((Integer) key);
+            }
+            view.apply(delta.changed, deletedIds);
+        });
+        EventBus.subscribeOnEdt(meta.events, owner, event -> {
+            if (event.placeholderId != 0 && !event.ids.isEmpty()) {
+                view.renumber(event.placeholderId, event.ids.get(0)); // Added offline, now in the database
+            }
+            view.apply(event.rows, event.removesRows() ? event.ids : Collections.emptyList());
+        });
+    }
+
+    /**
+     * Re-reads the table off the EDT and shows it, e.g. after the admin took someone else's version.
+     */
+    void reload(JComponent owner, RowsView view) {
+        load(owner, view, false, null);
+    }
+
+    /**
+     * @param then Runs on the EDT once the rows are shown.
+     */
+    void reload(JComponent owner, RowsView view, Runnable then) {
+        load(owner, view, false, then);
+    }
+
+    private void load(JComponent owner, RowsView view, boolean quiet, Runnable then) {
+        pendingLoads.incrementAndGet();
+        new SwingWorker<List<Object[]>, Void>() {
+            private final java.util.concurrent.Callable<List<Object[]>> work = QueryLog.propagate(() -> {
+                try (Connection conn = DatabaseManager.getConnection()) {
+                    return query(conn);
+                }
+            });
+
+            @Override
+            protected List<Object[]> doInBackground() throws Exception {
+                return work.call();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    List<Object[]> rows = get();
+                    LocalSnapshot.put(meta.table, rows); // For the next cold start
+                    view.show(rows);
+                    if (then != null) {
+                        then.run();
+                    }
+                } catch (java.util.concurrent.ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    cause.printStackTrace();
+                    if (!quiet && !(cause instanceof DatabaseUnavailableException)) { // Outages are shown by the status banner
+                        JOptionPane.showMessageDialog(owner, "Error loading " + meta.noun + ": " + cause.getMessage(),
+                                "Database Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    pendingLoads.decrementAndGet();
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * @return How many loads are still running, e.g. for a harness that waits for the panels to fill.
+     */
+    static int getPendingLoads() {
+        return pendingLoads.get();
+    }
+}
+
+/**
+ * NEW: Where a {@link Repository} shows a table's rows: one or more table models, a set of tabs,
+ * a text area. Rows have the columns of the table's {@link EntityMeta}. Called on the EDT.
+ */
+interface RowsView {
+    /** Shows the whole table, e.g. from the snapshot or a fresh query. */
+    void show(List<Object[]> rows);
+
+    /**
+     * Applies a change in place.
+     * @param changed Inserted or updated rows.
+     * @param removedIds Rows that are gone.
+     */
+    void apply(List<Object[]> changed, java.util.Collection<Integer> removedIds);
+
+    /** Gives a row added offline the id the database assigned when the journal was replayed. */
+    default void renumber(int placeholderId, int id) {
+    }
+
+    /** Adds or updates one row in place, e.g. the admin's own edit before its event arrives. */
+    default void put(Object[] row) {
+        apply(Collections.singletonList(row), Collections.emptyList());
+    }
+
+    default void remove(java.util.Collection<Integer> ids) {
+        apply(Collections.emptyList(), ids);
+    }
+}
+
+/**
+ * NEW: Shows rows in table models, changing only the cells that differ so a refresh does not
+ * flicker or reset the scroll position. A row whose route changes (e.g. a contact moved to the
+ * trash) leaves its old model.
+ */
+class TableModelView implements RowsView {
+    private final java.util.function.Supplier<java.util.Collection<DefaultTableModel>> models;
+    private final java.util.function.Function<Object[], DefaultTableModel> route;
+    private final boolean newestFirst;
+
+    TableModelView(java.util.function.Supplier<java.util.Collection<DefaultTableModel>> models,
+                   java.util.function.Function<Object[], DefaultTableModel> route, boolean newestFirst) {
+        this.models = models;
+        this.route = route;
+        this.newestFirst = newestFirst;
+    }
+
+    @Override
+    public void show(List<Object[]> rows) {
+        Map<DefaultTableModel, List<Object[]>> routed = route(rows);
+        for (DefaultTableModel model : models.get()) {
+            TableModelUtils.syncRows(model, routed.getOrDefault(model, Collections.emptyList()));
+        }
+    }
+
+    @Override
+    public void apply(List<Object[]> changed, java.util.Collection<Integer> removedIds) {
+        Map<DefaultTableModel, List<Object[]>> routed = route(changed);
+        for (DefaultTableModel model : models.get()) {
+            List<Object[]> rows = routed.getOrDefault(model, Collections.emptyList());
+            List<Integer> removed = new ArrayList<>(removedIds);
+            for (Object[] row : changed) {
+                if (!rows.contains(row)) {
+                    removed.add((Integer) row[0]); // Belongs in another model now
+                }
+            }
+            TableModelUtils.applyRows(model, rows, removed, newestFirst);
+        }
+    }
+
+    @Override
+    public void renumber(int placeholderId, int id) {
+        for (DefaultTableModel model : models.get()) {
+            int row = TableModelUtils.findRowById(model, placeholderId);
+            if (row != -1) {
+                model.setValueAt(id, row, 0);
+            }
+        }
+    }
+
+    private Map<DefaultTableModel, List<Object[]>> route(List<Object[]> rows) {
+        Map<DefaultTableModel, List<Object[]>> routed = new HashMap<>();
+        for (Object[] row : rows) {
+            DefaultTableModel model = route.apply(row);
+            if (model != null) {
+                routed.computeIfAbsent(model, m -> new ArrayList<>()).add(row);
+            }
+        }
+        return routed;
+    }
+}
+
+/**
+ * NEW: In-process metrics registry: counters, gauges and latency histograms, keyed by a dotted name
+ * such as "db.select.projects" or "image.decode".
+ * Fed by {@link InstrumentedJdbc} (every statement), the image pipeline and the panel switches,
+ * and shown live on the Diagnostics tab of {@link ManageOthersPanel}. Recording is lock-free so
+ * it can stay on in normal use.
+ */
+class MetricsRegistry {
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private static volatile long sinceMillis = System.currentTimeMillis(); // Start of the current collection window
+
+    static {
+        Runtime runtime = Runtime.getRuntime();
+        gauge("jvm.heap.used.bytes", () -> runtime.totalMemory() - runtime.freeMemory());
+        gauge("jvm.threads", Thread::activeCount);
+    }
+
+    /**
+     * Latency histogram in the style of HdrHistogram: values (microseconds) go into log-linear
+     * buckets, 16 per power of two, so any percentile is within 6.25% of the true value while a
+     * recording is a single array increment.
+     */
+    static final class Histogram {
+        private static final int SUB_BUCKETS = 16;
+        private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS; // Values below this get a bucket each
+        private static final int BUCKETS = LINEAR_LIMIT + 59 * SUB_BUCKETS; // Covers every positive long
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        /**
+         * Records one value.
+         * @param micros The measured duration in microseconds; negative values count as 0.
+         */
+        public void record(long micros) {
+            long value = Math.max(0, micros);
+            counts.incrementAndGet(bucketOf(value));
+            count.increment();
+            sum.add(value);
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        private static int bucketOf(long value) {
+            if (value < LINEAR_LIMIT) {
+                return (int) value;
+            }
+            int shift = 63 - Long.numberOfLeadingZeros(value) - 4; // Keep the top 5 bits
+            int sub = (int) (value >>> shift) - SUB_BUCKETS;
+            return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + sub;
+        }
+
+        /** @return The midpoint of a bucket, used as the value reported for it. */
+        private static long valueOf(int bucket) {
+            if (bucket < LINEAR_LIMIT) {
+                return bucket;
+            }
+            int shift = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+            int sub = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+            long lower = (long) (SUB_BUCKETS + sub) << shift;
+            return lower + (1L << shift) / 2;
+        }
+
+        public long getCount() { return count.sum(); }
+        public long getMax() { return max.get(); }
+
+        public double getMean() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) sum.sum() / n;
+        }
+
+        /**
+         * @param percentiles Percentiles to compute, e.g. 50, 99, 99.9.
+         * @return The value at each percentile in microseconds, in the same order.
+         */
+        public long[] percentiles(double... percentiles) {
+            long[] copy = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                copy[i] = counts.get(i);
+                total += copy[i];
+            }
+            long[] result = new long[percentiles.length];
+            for (int p = 0; p < percentiles.length; p++) {
+                long target = Math.max(1, (long) Math.ceil(percentiles[p] / 100.0 * total));
+                long seen = 0;
+                for (int i = 0; i < BUCKETS && total > 0; i++) {
+                    seen += copy[i];
+                    if (seen >= target) {
+                        result[p] = Math.min(valueOf(i), getMax()); // The top bucket never reports more than the max
+                        break;
+                    }
+                }
+            }
+            return result;
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0);
+            }
+            count.reset();
+            sum.reset();
+            max.set(0);
+        }
+    }
+
+    /**
+     * One metric as of a snapshot. Times are in milliseconds; for counters {@code count} is the
+     * total and for gauges {@code value} is the current reading.
+     */
+    static class Row {
+        final String name;
+        final String type; // "counter", "gauge" or "histogram"
+        final long count;
+        final long value;
+        final double meanMs, p50Ms, p90Ms, p99Ms, p999Ms, maxMs;
+
+        Row(String name, String type, long count, long value, double meanMs, double p50Ms, double p90Ms,
+            double p99Ms, double p999Ms, double maxMs) {
+            this.name = name;
+            this.type = type;
+            this.count = count;
+            this.value = value;
+            this.meanMs = meanMs;
+            this.p50Ms = p50Ms;
+            this.p90Ms = p90Ms;
+            this.p99Ms = p99Ms;
+            this.p999Ms = p999Ms;
+            this.maxMs = maxMs;
+        }
+    }
+
+    /**
+     * Point-in-time copy of every metric, sorted by name, that can be exported as JSON or text.
+     */
+    static class Snapshot {
+        final long takenAtMillis;
+        final long sinceMillis;
+        final List<Row> rows;
+
+        Snapshot(long takenAtMillis, long sinceMillis, List<Row> rows) {
+            this.takenAtMillis = takenAtMillis;
+            this.sinceMillis = sinceMillis;
+            this.rows = rows;
+        }
+
+        /** @return The snapshot as a JSON object, for attaching to tickets. */
+        public String toJson() {
+            StringBuilder sb = new StringBuilder("{\n");
+            sb.append("  \"takenAt\": ").append(SimpleJson.quote(new Timestamp(takenAtMillis).toString())).append(",\n");
+            sb.append("  \"since\": ").append(SimpleJson.quote(new Timestamp(sinceMillis).toString())).append(",\n");
+            sb.append("  \"metrics\": [");
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                sb.append(i == 0 ? "\n" : ",\n").append("    {\"name\": ").append(SimpleJson.quote(row.name))
+                  .append(", \"type\": ").append(SimpleJson.quote(row.type));
+                if ("gauge".equals(row.type)) {
+                    sb.append(", \"value\": ").append(row.value);
+                } else {
+                    sb.append(", \"count\": ").append(row.count);
+                }
+                if ("histogram".equals(row.type)) {
+                    sb.append(String.format(java.util.Locale.ROOT,
+                            ", \"meanMs\": %.3f, \"p50Ms\": %.3f, \"p90Ms\": %.3f, \"p99Ms\": %.3f, \"p999Ms\": %.3f, \"maxMs\": %.3f",
+                            row.meanMs, row.p50Ms, row.p90Ms, row.p99Ms, row.p999Ms, row.maxMs));
+                }
+                sb.append('}');
+            }
+            return sb.append("\n  ]\n}\n").toString();
+        }
+
+        /** @return The snapshot as an aligned plain-text table. */
+        public String toText() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("Metrics from ").append(new Timestamp(sinceMillis)).append(" to ").append(new Timestamp(takenAtMillis)).append('\n');
+            sb.append(String.format("%-40s %-9s %12s %10s %10s %10s %10s%n", "Metric", "Type", "Count/Value", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+            for (Row row : rows) {
+                if ("histogram".equals(row.type)) {
+                    sb.append(String.format("%-40s %-9s %,12d %10.2f %10.2f %10.2f %10.2f%n",
+                            row.name, row.type, row.count, row.p50Ms, row.p90Ms, row.p99Ms, row.maxMs));
+                } else {
+                    sb.append(String.format("%-40s %-9s %,12d%n", row.name, row.type, "gauge".equals(row.type) ? row.value : row.count));
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    /** Adds one to a counter. */
+    public static void increment(String name) {
+        add(name, 1);
+    }
+
+    /** Adds to a counter, creating it on first use. */
+    public static void add(String name, long delta) {
+        counters.computeIfAbsent(name, k -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * Registers a gauge, read whenever a snapshot is taken. Re-registering a name replaces it.
+     * @param supplier Returns the current value; must be cheap and thread-safe.
+     */
+    public static void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /** @return The histogram with this name, created on first use. */
+    public static Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, k -> new Histogram());
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos} (from {@link System#nanoTime()}).
+     */
+    public static void recordSince(String name, long startNanos) {
+        histogram(name).record((System.nanoTime() - startNanos) / 1000);
+    }
+
+    /**
+     * Clears all counters and histograms and starts a new collection window. Gauges are kept.
+     */
+    public static void reset() {
+        counters.values().forEach(LongAdder::reset);
+        histograms.values().forEach(Histogram::reset);
+        sinceMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * @return A copy of every metric, sorted by name.
+     */
+    public static Snapshot snapshot() {
+        List<Row> rows = new ArrayList<>();
+        counters.forEach((name, counter) -> rows.add(new Row(name, "counter", counter.sum(), 0, 0, 0, 0, 0, 0, 0)));
+        gauges.forEach((name, supplier) -> {
+            long value;
+            try {
+                value = supplier.getAsLong();
+            } catch (RuntimeException e) {
+                value = -1; // A gauge must never break the snapshot
+            }
+            rows.add(new Row(name, "gauge", 0, value, 0, 0, 0, 0, 0, 0));
+        });
+        histograms.forEach((name, h) -> {
+            long[] p = h.percentiles(50, 90, 99, 99.9);
+            rows.add(new Row(name, "histogram", h.getCount(), 0, h.getMean() / 1000.0,
+                    p[0] / 1000.0, p[1] / 1000.0, p[2] / 1000.0, p[3] / 1000.0, h.getMax() / 1000.0));
+        });
+        rows.sort((a, b) -> a.name.compareTo(b.name));
+        return new Snapshot(System.currentTimeMillis(), sinceMillis, rows);
+    }
+}
+
+/**
+ * NEW: Wraps JDBC objects in dynamic proxies so every statement execution is timed into
+ * {@link MetricsRegistry} without touching the code that uses them.
+ * Each execution is recorded under "db.statement" and under "db.&lt;verb&gt;.&lt;table&gt;"
+ * (e.g. "db.select.projects"). The time covers the execute call only, not reading the results.
+ */
+class InstrumentedJdbc implements InvocationHandler {
+    // First table a statement touches, e.g. "SELECT ... FROM projects" or "DELETE FROM contacts"
+    private static final Pattern VERB_AND_TABLE = Pattern.compile(
+            "^\\s*(SELECT\\b.*?\\bFROM|INSERT\\s+INTO|REPLACE\\s+INTO|UPDATE|DELETE\\s+FROM)\\s+`?(\\w+)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final AtomicInteger openConnections = new AtomicInteger();
+
+    static {
+        MetricsRegistry.gauge("db.connections.open", openConnections::get);
+    }
+
+    private final Object target;
+    private final String sql; // SQL of a prepared statement; null for connections and plain statements
+    private boolean closed;
+
+    private InstrumentedJdbc(Object target, String sql) {
+        this.target = target;
+        this.sql = sql;
+    }
+
+    /**
+     * @param conn A freshly opened connection.
+     * @return A connection that records metrics for all statements created from it.
+     */
+    static Connection wrap(Connection conn) {
+        openConnections.incrementAndGet();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new InstrumentedJdbc(conn, null));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (target instanceof Statement && name.startsWith("execute")) {
+            String statementSql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+            JfrEvents.JdbcStatement event = JfrEvents.JdbcStatement.started(); // NEW: Flight Recorder event
+            long start = System.nanoTime();
+            Object result = null;
+            boolean failed = true;
+            try {
+                ChaosMode.beforeStatement(); // NEW: Injected latency when chaos mode is on
+                result = invokeTarget(method, args);
+                failed = false;
+                if (result instanceof ResultSet && (JfrEvents.RESULT_SET_TYPE.isEnabled() || ChaosMode.slowsRows())) {
+                    result = ResultSetHandler.wrap((ResultSet) result, statementSql);
+                }
+                return result;
+            } catch (SQLException e) {
+                MetricsRegistry.increment("db.errors");
+                throw e;
+            } finally {
+                long micros = (System.nanoTime() - start) / 1000;
+                MetricsRegistry.histogram("db.statement").record(micros);
+                MetricsRegistry.histogram(metricName(statementSql)).record(micros);
+                QueryLog.record(statementSql, micros); // NEW: Per-template stats, slow and repeated queries
+                event.finish(statementSql, name, result, failed);
+            }
+        }
+        if (target instanceof Connection && name.equals("close")) {
+            synchronized (this) {
+                if (!closed) {
+                    closed = true;
+                    openConnections.decrementAndGet();
+                }
+            }
+        }
+        Object result = invokeTarget(method, args);
+        if (target instanceof Connection && result instanceof Statement) {
+            Class<?> type = name.equals("prepareCall") ? CallableStatement.class
+                    : name.equals("prepareStatement") ? PreparedStatement.class : Statement.class;
+            String preparedSql = type == Statement.class ? null : (String) args[0];
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new InstrumentedJdbc(result, preparedSql));
+        }
+        return result;
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause(); // Callers expect the driver's own SQLException
+        }
+    }
+
+    /**
+     * NEW: Follows a query result from executeQuery until it is closed and reports it as one
+     * {@link JfrEvents.JdbcResultSet} event with the number of rows read; also where chaos mode
+     * slows down row iteration. Only installed while one of the two needs it.
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final JfrEvents.JdbcResultSet event = JfrEvents.JdbcResultSet.started();
+        private final String sql;
+        private long rows;
+        private boolean closed;
+
+        private ResultSetHandler(ResultSet target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        static ResultSet wrap(ResultSet resultSet, String sql) {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, new ResultSetHandler(resultSet, sql));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("next")) {
+                ChaosMode.beforeRow();
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rows++;
+            } else if (method.getName().equals("close") && !closed) {
+                closed = true;
+                event.finish(sql, rows);
+            }
+            return result;
+        }
+    }
+
+    /** @return "db.&lt;verb&gt;.&lt;table&gt;", "db.batch" for statement batches, or "db.other" for DDL and the like. */
+    static String metricName(String statementSql) {
+        if (statementSql == null) {
+            return "db.batch";
+        }
+        Matcher m = VERB_AND_TABLE.matcher(statementSql);
+        if (!m.find()) {
+            return "db.other";
+        }
+        String verb = m.group(1).trim().split("\\s+")[0].toLowerCase();
+        return "db." + verb + "." + m.group(2).toLowerCase();
+    }
+}
+
+/**
+ * NEW: Per-query analysis on top of {@link InstrumentedJdbc}. SQL is normalized to a template
+ * (literals and IN lists replaced by placeholders), and each template gets its own latency
+ * histogram "sql &lt;template&gt;". Statements slower than -Dportfolio.sql.slowMs (default 100)
+ * are logged, and so are templates that run -Dportfolio.sql.repeatThreshold times or more
+ * (default 3) while the EDT handles a single event: the N+1 pattern where one click reloads
+ * the same data over and over. Log lines go to System.err and, with -Dportfolio.sql.log=path,
+ * to that file as well.
+ */
+class QueryLog {
+    private static final long SLOW_MICROS = Long.getLong("portfolio.sql.slowMs", 100) * 1000;
+    private static final int REPEAT_THRESHOLD = Integer.getInteger("portfolio.sql.repeatThreshold", 3);
+    private static final String LOG_FILE = System.getProperty("portfolio.sql.log", "");
+    private static final int MAX_TEMPLATES = 200; // Separate histograms; the rest share one
+    private static final int MAX_CACHED_SQL = 1000;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Map<String, String> templates = new ConcurrentHashMap<>(); // SQL text -> template
+    private static final java.util.Set<String> trackedTemplates = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<ActionScope> currentAction = new ThreadLocal<>();
+
+    /**
+     * Queries run while the EDT dispatches one event, counted per template. Background work the
+     * event started shares the scope (see {@link #propagate}), so the counts are concurrent.
+     */
+    private static class ActionScope {
+        final String event;
+        final Map<String, Integer> counts = new ConcurrentHashMap<>();
+
+        ActionScope(String event) {
+            this.event = event;
+        }
+    }
+
+    /**
+     * Event queue that opens an {@link ActionScope} around every event it dispatches.
+     * Modal dialogs dispatch events inside another event, so scopes nest.
+     */
+    private static class ActionTrackingQueue extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            ActionScope outer = currentAction.get();
+            currentAction.set(new ActionScope(describe(event)));
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                currentAction.set(outer);
+            }
+        }
+    }
+
+    /**
+     * Pushes the tracking event queue so repeated queries can be attributed to one UI event.
+     * Call once at startup.
+     */
+    static void install() {
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new ActionTrackingQueue());
+    }
+
+    /**
+     * Wraps work an event handler hands to a background thread, typically a SwingWorker's
+     * doInBackground, so the queries it runs count against that event too. Call it where the
+     * work is scheduled (on the EDT); the scope is installed on the worker only while the work runs.
+     */
+    static <T> java.util.concurrent.Callable<T> propagate(java.util.concurrent.Callable<T> work) {
+        ActionScope scope = currentAction.get();
+        if (scope == null) {
+            return work;
+        }
+        return () -> {
+            ActionScope outer = currentAction.get();
+            currentAction.set(scope);
+            try {
+                return work.call();
+            } finally {
+                if (outer == null) {
+                    currentAction.remove(); // Pool threads outlive the event
+                } else {
+                    currentAction.set(outer);
+                }
+            }
+        };
+    }
+
+    /**
+     * Records one statement execution.
+     * @param sql The SQL as executed, or null for a batch of plain statements.
+     * @param micros How long the execute call took.
+     */
+    static void record(String sql, long micros) {
+        if (sql == null) {
+            return;
+        }
+        String template = template(sql);
+        String metric = trackedTemplates.contains(template) || trackedTemplates.size() < MAX_TEMPLATES
+                && trackedTemplates.add(template) ? "sql " + template : "sql (other templates)";
+        MetricsRegistry.histogram(metric).record(micros);
+
+        if (micros >= SLOW_MICROS) {
+            MetricsRegistry.increment("db.slow");
+            log(String.format("SLOW %,d ms at %s: %s", micros / 1000, callSite(), template));
+        }
+        ActionScope scope = currentAction.get();
+        if (scope != null) {
+            int count = scope.counts.merge(template, 1, Integer::sum);
+            if (count == REPEAT_THRESHOLD) { // Report once per event and template
+                MetricsRegistry.increment("db.repeated");
+                log(String.format("REPEATED %dx while handling %s at %s: %s", count, scope.event, callSite(), template));
+            }
+        }
+    }
+
+    /**
+     * Normalizes SQL so statements that differ only in their values share one template:
+     * literals become "?", "IN (?, ?, ...)" becomes "IN (?...)" and whitespace is collapsed.
+     */
+    static String template(String sql) {
+        String template = templates.get(sql);
+        if (template == null) {
+            template = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+            template = STRING_LITERAL.matcher(template).replaceAll("?");
+            template = NUMBER_LITERAL.matcher(template).replaceAll("?");
+            template = IN_LIST.matcher(template).replaceAll("IN (?...)");
+            if (templates.size() >= MAX_CACHED_SQL) {
+                templates.clear(); // Unbounded distinct SQL (e.g. inlined values); start over rather than grow
+            }
+            templates.put(sql, template);
+        }
+        return template;
+    }
+
+    /** @return The app method that ran the statement, e.g. "ExperienceManagementPanel.loadSkills". */
+    private static String callSite() {
+        return EdtWatchdog.actionOf(new Throwable().getStackTrace());
+    }
+
+    private static String describe(AWTEvent event) {
+        if (event instanceof java.awt.event.ActionEvent) {
+            String command = ((java.awt.event.ActionEvent) event).getActionCommand();
+            return "action \"" + command + "\" on " + event.getSource().getClass().getSimpleName();
+        }
+        if (event instanceof java.awt.event.InvocationEvent) {
+            return "invokeLater task";
+        }
+        return event.getClass().getSimpleName() + " on " + event.getSource().getClass().getSimpleName();
+    }
+
+    private static void log(String message) {
+        String line = new Timestamp(System.currentTimeMillis()) + " [" + Thread.currentThread().getName() + "] " + message;
+        System.err.println(line);
+        if (!LOG_FILE.isEmpty()) {
+            synchronized (QueryLog.class) {
+                try {
+                    Files.write(new File(LOG_FILE).toPath(), (line + System.lineSeparator()).getBytes(java.nio.charset.StandardCharsets.UTF_8),
+                            java.nio.file.StandardOpenOption.CREATE, java.nio.file.StandardOpenOption.APPEND);
+                } catch (IOException e) {
+                    System.err.println("Could not write query log " + LOG_FILE + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+}
+
+/**
+ * NEW: Fault injection for the data layer, to check that the UI stays usable when MySQL is slow
+ * or flaky without needing a degraded server. When enabled, {@link DatabaseManager#getConnection()}
+ * randomly fails, every statement execution is delayed (uniform base delay plus occasional spikes)
+ * and every ResultSet.next() can be slowed down.
+ * Off by default; switch it on from the Diagnostics tab or at startup with -Dportfolio.chaos=true
+ * and the -Dportfolio.chaos.* properties named after the setters below.
+ */
+class ChaosMode {
+    private static volatile boolean enabled = Boolean.getBoolean("portfolio.chaos");
+    private static volatile int statementDelayMinMs = Integer.getInteger("portfolio.chaos.statementDelayMinMs", 0);
+    private static volatile int statementDelayMaxMs = Integer.getInteger("portfolio.chaos.statementDelayMaxMs", 0);
+    private static volatile int spikePercent = Integer.getInteger("portfolio.chaos.spikePercent", 0); // Share of statements that get a spike
+    private static volatile int spikeMs = Integer.getInteger("portfolio.chaos.spikeMs", 0);
+    private static volatile int connectFailurePercent = Integer.getInteger("portfolio.chaos.connectFailurePercent", 0);
+    private static volatile int rowDelayMs = Integer.getInteger("portfolio.chaos.rowDelayMs", 0);
+
+    public static boolean isEnabled() { return enabled; }
+    public static int getStatementDelayMinMs() { return statementDelayMinMs; }
+    public static int getStatementDelayMaxMs() { return statementDelayMaxMs; }
+    public static int getSpikePercent() { return spikePercent; }
+    public static int getSpikeMs() { return spikeMs; }
+    public static int getConnectFailurePercent() { return connectFailurePercent; }
+    public static int getRowDelayMs() { return rowDelayMs; }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+        System.err.println("Chaos mode " + (value ? "enabled" : "disabled"));
+    }
+
+    public static void setStatementDelayMinMs(int value) { statementDelayMinMs = Math.max(0, value); }
+    public static void setStatementDelayMaxMs(int value) { statementDelayMaxMs = Math.max(0, value); }
+    public static void setSpikePercent(int value) { spikePercent = Math.max(0, Math.min(100, value)); }
+    public static void setSpikeMs(int value) { spikeMs = Math.max(0, value); }
+    public static void setConnectFailurePercent(int value) { connectFailurePercent = Math.max(0, Math.min(100, value)); }
+    public static void setRowDelayMs(int value) { rowDelayMs = Math.max(0, value); }
+
+    /**
+     * Called before a connection is opened.
+     * @throws SQLException With SQLState 08S01 (communication link failure) for an injected failure.
+     */
+    static void beforeConnect() throws SQLException {
+        if (enabled && connectFailurePercent > 0 && java.util.concurrent.ThreadLocalRandom.current().nextInt(100) < connectFailurePercent) {
+            MetricsRegistry.increment("chaos.connect.failures");
+            throw new SQLException("Injected connection failure (chaos mode)", "08S01");
+        }
+    }
+
+    /**
+     * Called before each statement execution; sleeps for the injected latency.
+     */
+    static void beforeStatement() {
+        if (!enabled) {
+            return;
+        }
+        java.util.concurrent.ThreadLocalRandom random = java.util.concurrent.ThreadLocalRandom.current();
+        int min = statementDelayMinMs;
+        int max = Math.max(min, statementDelayMaxMs);
+        long delay = max > 0 ? min + random.nextInt(max - min + 1) : 0;
+        if (spikePercent > 0 && random.nextInt(100) < spikePercent) {
+            delay += spikeMs;
+        }
+        sleep(delay, "chaos.statement.delay");
+    }
+
+    /**
+     * @return true if result sets need wrapping to slow down row iteration.
+     */
+    static boolean slowsRows() {
+        return enabled && rowDelayMs > 0;
+    }
+
+    /**
+     * Called before each ResultSet.next().
+     */
+    static void beforeRow() {
+        if (enabled) {
+            sleep(rowDelayMs, "chaos.row.delay");
+        }
+    }
+
+    private static void sleep(long millis, String metric) {
+        if (millis <= 0) {
+            return;
+        }
+        MetricsRegistry.histogram(metric).record(millis * 1000);
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
+
+/**
+ * NEW: Java Flight Recorder events for the app's own operations, so a recording shows which
+ * statement, image operation or panel switch was running when the EDT stalled (each event
+ * carries its thread and, above its threshold, a stack trace).
+ * The annotations hold the defaults; portfolio.jfc in the repository root overrides the
+ * thresholds per recording:
+ * <pre>
+ * java -XX:StartFlightRecording=settings=portfolio.jfc,filename=portfolio.jfr -jar ...
+ * </pre>
+ * While no recording enables an event, creating and finishing it costs almost nothing.
+ */
+final class JfrEvents {
+    static final EventType RESULT_SET_TYPE = EventType.getEventType(JdbcResultSet.class);
+
+    private JfrEvents() {
+    }
+
+    @Name("portfolio.JdbcStatement")
+    @Label("JDBC Statement")
+    @Category({"Portfolio", "Database"})
+    @Description("One execute call on a Statement or PreparedStatement")
+    @Threshold("10 ms")
+    @StackTrace(true)
+    static class JdbcStatement extends Event {
+        @Label("SQL Template")
+        String sql;
+        @Label("Method")
+        String operation;
+        @Label("Update Count")
+        @Description("Rows changed by the statement, or -1 for queries")
+        long updateCount;
+        @Label("Failed")
+        boolean failed;
+
+        static JdbcStatement started() {
+            JdbcStatement event = new JdbcStatement();
+            event.begin();
+            return event;
+        }
+
+        /**
+         * Ends the event and commits it if it passes the threshold.
+         * @param result What the execute method returned: an update count, counts per batch entry, or a result set.
+         */
+        void finish(String sql, String operation, Object result, boolean failed) {
+            end();
+            if (shouldCommit()) {
+                this.sql = sql == null ? null : QueryLog.template(sql);
+                this.operation = operation;
+                this.updateCount = -1;
+                if (result instanceof Number) {
+                    this.updateCount = ((Number) result).longValue();
+                } else if (result instanceof int[]) {
+                    this.updateCount = java.util.Arrays.stream((int[]) result).filter(n -> n > 0).asLongStream().sum();
+                }
+                this.failed = failed;
+                commit();
+            }
+        }
+    }
+
+    @Name("portfolio.JdbcResultSet")
+    @Label("JDBC Result Set")
+    @Category({"Portfolio", "Database"})
+    @Description("Reading a query result, from executeQuery until the result set is closed")
+    @Threshold("10 ms")
+    @StackTrace(true)
+    static class JdbcResultSet extends Event {
+        @Label("SQL Template")
+        String sql;
+        @Label("Rows")
+        long rows;
+
+        static JdbcResultSet started() {
+            JdbcResultSet event = new JdbcResultSet();
+            event.begin();
+            return event;
+        }
+
+        void finish(String sql, long rows) {
+            end();
+            if (shouldCommit()) {
+                this.sql = sql == null ? null : QueryLog.template(sql);
+                this.rows = rows;
+                commit();
+            }
+        }
+    }
+
+    @Name("portfolio.ImageRead")
+    @Label("Image Read")
+    @Category({"Portfolio", "Image"})
+    @Description("Decoding an image from a file, URL or upload")
+    @Threshold("0 ms")
+    @StackTrace(true)
+    static class ImageRead extends Event {
+        @Label("Source")
+        String source;
+        @Label("Format")
+        String format;
+        @Label("Width")
+        int width;
+        @Label("Height")
+        int height;
+        @Label("Encoded Size")
+        @DataAmount
+        long bytes;
+
+        static ImageRead started() {
+            ImageRead event = new ImageRead();
+            event.begin();
+            return event;
+        }
+
+        /**
+         * @param image The decoded image, or null if nothing could be decoded.
+         * @param bytes Size of the encoded input, or -1 if unknown (e.g. a URL).
+         */
+        void finish(String source, String format, BufferedImage image, long bytes) {
+            end();
+            if (shouldCommit()) {
+                this.source = source;
+                this.format = format;
+                this.width = image == null ? 0 : image.getWidth();
+                this.height = image == null ? 0 : image.getHeight();
+                this.bytes = bytes;
+                commit();
+            }
+        }
+    }
+
+    @Name("portfolio.ImageScale")
+    @Label("Image Scale")
+    @Category({"Portfolio", "Image"})
+    @Description("Scaling an image for a preview label")
+    @Threshold("0 ms")
+    @StackTrace(true)
+    static class ImageScale extends Event {
+        @Label("Source Width")
+        int sourceWidth;
+        @Label("Source Height")
+        int sourceHeight;
+        @Label("Width")
+        int width;
+        @Label("Height")
+        int height;
+
+        static ImageScale started() {
+            ImageScale event = new ImageScale();
+            event.begin();
+            return event;
+        }
+
+        void finish(BufferedImage source, int width, int height) {
+            end();
+            if (shouldCommit()) {
+                this.sourceWidth = source.getWidth();
+                this.sourceHeight = source.getHeight();
+                this.width = width;
+                this.height = height;
+                commit();
+            }
+        }
+    }
+
+    @Name("portfolio.ImageWrite")
+    @Label("Image Write")
+    @Category({"Portfolio", "Image"})
+    @Description("Encoding an image in memory or storing image bytes to a file")
+    @Threshold("0 ms")
+    @StackTrace(false)
+    static class ImageWrite extends Event {
+        @Label("Target")
+        @Description("File name, or \"memory\" for an encoding candidate")
+        String target;
+        @Label("Format")
+        String format;
+        @Label("Size")
+        @DataAmount
+        long bytes;
+
+        static ImageWrite started() {
+            ImageWrite event = new ImageWrite();
+            event.begin();
+            return event;
+        }
+
+        void finish(String target, String format, long bytes) {
+            end();
+            if (shouldCommit()) {
+                this.target = target;
+                this.format = format;
+                this.bytes = bytes;
+                commit();
+            }
+        }
+    }
+
+    @Name("portfolio.Navigation")
+    @Label("Panel Switch")
+    @Category({"Portfolio", "UI"})
+    @Description("A show* call on the main window, until the new panel's queued layout and paint work ran")
+    @Threshold("0 ms")
+    @StackTrace(false)
+    static class Navigation extends Event {
+        @Label("Panel")
+        String panel;
+
+        static Navigation started() {
+            Navigation event = new Navigation();
+            event.begin();
+            return event;
+        }
+
+        void finish(String panel) {
+            end();
+            if (shouldCommit()) {
+                this.panel = panel;
+                commit();
+            }
+        }
+    }
+}
+
+/**
+ * Shrinks uploaded images in the background.
+ * Uploads are first copied byte-for-byte to the web directory, then a worker tries
+ * palette reduction and maximum deflate for PNG. The file is replaced only when a candidate
+ * is smaller than what is on disk.
+ * Only lossless rewrites run by default: images with more than 8 bits per sample are left
+ * alone, and so are files carrying metadata that re-encoding would drop (EXIF orientation, ICC
+ * profiles, PNG text and color chunks) unless {@code portfolio.image.stripMetadata} is set.
+ * Re-encoding JPEGs is lossy and only runs when {@code portfolio.image.jpegQuality} is set.
+ */
+class ImageOptimizer {
+    // JPEG quality for the opt-in lossy re-encoding, e.g. -Dportfolio.image.jpegQuality=0.85; unset keeps JPEGs as uploaded
+    private static final String JPEG_QUALITY = System.getProperty("portfolio.image.jpegQuality");
+    // Allows rewrites that drop metadata (EXIF, ICC profiles, PNG ancillary chunks): -Dportfolio.image.stripMetadata=true
+    private static final boolean STRIP_METADATA = Boolean.getBoolean("portfolio.image.stripMetadata");
+    private static final int MAX_REPORTS = 100; // Number of recent reports kept in memory
+    // NEW: User-defined file attribute set on every file the optimizer processed, so "regenerate-site" can skip it
+    private static final String OPTIMIZED_ATTRIBUTE = "portfolio.optimized";
+
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2), new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "image-optimizer-" + count.incrementAndGet());
+                    t.setDaemon(true); // Never keep the JVM alive for an optimization pass
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                }
+            });
+
+    private static final Deque<Report> recentReports = new ArrayDeque<>();
+
+    static {
+        // NEW: Uploads waiting for a worker, on the Diagnostics tab
+        MetricsRegistry.gauge("image.optimizer.queued", () -> ((java.util.concurrent.ThreadPoolExecutor) WORKERS).getQueue().size());
+    }
+
+    /**
+     * Byte-savings report for one optimized image.
+     */
+    static class Report {
+        private final String fileName;
+        private final long originalBytes;
+        private final long optimizedBytes;
+        private final String strategy; // Encoding that won, or "original" if nothing was smaller
+
+        Report(String fileName, long originalBytes, long optimizedBytes, String strategy) {
+            this.fileName = fileName;
+            this.originalBytes = originalBytes;
+            this.optimizedBytes = optimizedBytes;
+            this.strategy = strategy;
+        }
+
+        public String getFileName() { return fileName; }
+        public long getOriginalBytes() { return originalBytes; }
+        public long getOptimizedBytes() { return optimizedBytes; }
+        public long getSavedBytes() { return originalBytes - optimizedBytes; }
+        public String getStrategy() { return strategy; }
+
+        @Override
+        public String toString() {
+            double percent = originalBytes == 0 ? 0 : 100.0 * getSavedBytes() / originalBytes;
+            return String.format("%s: %,d -> %,d bytes (saved %,d, %.1f%%) via %s",
+                    fileName, originalBytes, optimizedBytes, getSavedBytes(), percent, strategy);
+        }
+    }
+
+    /**
+     * NEW: Copies an uploaded image, timed, e.g. into a {@link UnitOfWork}'s staging area. The copy
+     * is optimized with {@link #submit} once the work is committed.
+     * @param name The file name it will be published under, for the metrics and JFR event.
+     */
+    static void copyUpload(File source, File destination, String name) throws IOException {
+        long start = System.nanoTime();
+        JfrEvents.ImageWrite event = JfrEvents.ImageWrite.started();
+        Files.copy(source.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        MetricsRegistry.recordSince("image.copy", start);
+        event.finish(name, formatOf(name), destination.length());
+    }
+
+    /**
+     * NEW: Waits for the queued optimizations to finish; no more can be submitted afterwards.
+     * For the command mode, which exits right after.
+     * @param timeoutMillis How long to wait at most.
+     */
+    static void drain(long timeoutMillis) {
+        WORKERS.shutdown();
+        try {
+            if (!WORKERS.awaitTermination(timeoutMillis, java.util.concurrent.TimeUnit.MILLISECONDS)) {
+                System.err.println("Image optimization still running after " + timeoutMillis + " ms; stopping");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Optimizes an image file in place on the background worker pool.
+     * @param file The image file to optimize.
+     * @return A future completing with the savings report.
+     */
+    public static CompletableFuture<Report> submit(File file) {
+        CompletableFuture<Report> future = CompletableFuture.supplyAsync(() -> {
+            try {
+                return optimize(file);
+            } catch (IOException e) {
+                throw new java.io.UncheckedIOException(e);
+            }
+        }, WORKERS);
+        future.whenComplete((report, error) -> {
+            if (error != null) {
+                System.err.println("Image optimization failed for " + file.getName() + ": " + error.getMessage());
+            } else {
+                System.out.println("Image optimized: " + report);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * @return The most recent optimization reports, newest first.
+     */
+    public static List<Report> getRecentReports() {
+        synchronized (recentReports) {
+            return new ArrayList<>(recentReports);
+        }
+    }
+
+    /**
+     * Tries every applicable encoding and replaces the file with the smallest one.
+     * Runs on the calling thread; use {@link #submit(File)} from the UI.
+     * @param file The image file to optimize.
+     * @return The savings report.
+     * @throws IOException If the file cannot be read or replaced.
+     */
+    static Report optimize(File file) throws IOException {
+        byte[] original = Files.readAllBytes(file.toPath());
+        String format = formatOf(file.getName());
+        byte[] best = original;
+        String bestStrategy = "original";
+
+        long decodeStart = System.nanoTime();
+        JfrEvents.ImageRead readEvent = JfrEvents.ImageRead.started();
+        BufferedImage image = format == null ? null : ImageIO.read(new java.io.ByteArrayInputStream(original));
+        if (image != null) {
+            MetricsRegistry.recordSince("image.decode", decodeStart);
+            readEvent.finish(file.getName(), format, image, original.length);
+            Map<String, byte[]> candidates = new java.util.LinkedHashMap<>();
+            if (!canReencode(original, format, image)) {
+                MetricsRegistry.increment("image.kept");
+            } else if ("png".equals(format)) {
+                candidates.put("png-deflate9", encode(image, "png", 0.0f, false));
+                // getRGB converts to sRGB, which is only exact for images that already are sRGB
+                BufferedImage reduced = image.getColorModel().getColorSpace().isCS_sRGB() ? reduceLosslessly(image) : image;
+                if (reduced != image) {
+                    candidates.put("png-reduced", encode(reduced, "png", 0.0f, false));
+                }
+            } else if ("jpeg".equals(format) && !image.getColorModel().hasAlpha()) {
+                float quality = Float.parseFloat(JPEG_QUALITY);
+                candidates.put("jpeg-q" + Math.round(quality * 100), encode(image, "jpeg", quality, false));
+                candidates.put("jpeg-q" + Math.round(quality * 100) + "-progressive", encode(image, "jpeg", quality, true));
+            }
+            for (Map.Entry<String, byte[]> candidate : candidates.entrySet()) {
+                if (candidate.getValue() != null && candidate.getValue().length < best.length) {
+                    best = candidate.getValue();
+                    bestStrategy = candidate.getKey();
+                }
+            }
+        }
+
+        if (best != original) {
+            // Write next to the target and move over it so the web server never serves a partial file
+            long writeStart = System.nanoTime();
+            JfrEvents.ImageWrite writeEvent = JfrEvents.ImageWrite.started();
+            File temp = File.createTempFile(".opt-", ".tmp", file.getAbsoluteFile().getParentFile());
+            try {
+                Files.write(temp.toPath(), best);
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp.toPath());
+            }
+            MetricsRegistry.recordSince("image.write", writeStart);
+            writeEvent.finish(file.getName(), format, best.length);
+        }
+        markOptimized(file);
+        MetricsRegistry.increment("image.optimized");
+        MetricsRegistry.add("image.bytes.original", original.length);
+        MetricsRegistry.add("image.bytes.optimized", best.length);
+
+        Report report = new Report(file.getName(), original.length, best.length, bestStrategy);
+        synchronized (recentReports) {
+            recentReports.addFirst(report);
+            while (recentReports.size() > MAX_REPORTS) {
+                recentReports.removeLast();
+            }
+        }
+        return report;
+    }
+
+    /**
+     * NEW: @return true if the optimizer processed this file before, whether it was rewritten or
+     *         kept. False where the file system has no user-defined attributes, or a copy lost them.
+     */
+    static boolean isOptimized(File file) {
+        try {
+            java.nio.file.attribute.UserDefinedFileAttributeView view = Files.getFileAttributeView(file.toPath(),
+                    java.nio.file.attribute.UserDefinedFileAttributeView.class);
+            return view != null && view.list().contains(OPTIMIZED_ATTRIBUTE);
+        } catch (IOException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private static void markOptimized(File file) {
+        try {
+            java.nio.file.attribute.UserDefinedFileAttributeView view = Files.getFileAttributeView(file.toPath(),
+                    java.nio.file.attribute.UserDefinedFileAttributeView.class);
+            if (view != null) {
+                view.write(OPTIMIZED_ATTRIBUTE, java.nio.ByteBuffer.wrap(new byte[]{1}));
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            // Only costs a lossless re-check in a later "regenerate-site"
+        }
+    }
+
+    /**
+     * @return true if writing the decoded pixels again keeps what the file holds: at most 8 bits
+     *         per sample, and no metadata unless stripping it is allowed. JPEGs are never kept
+     *         exactly, so they also need the lossy quality to be configured.
+     */
+    static boolean canReencode(byte[] bytes, String format, BufferedImage image) {
+        for (int bits : image.getColorModel().getComponentSize()) {
+            if (bits > 8) {
+                return false; // A 16-bit PNG would come back with 8 bits per sample
+            }
+        }
+        if ("jpeg".equals(format) && JPEG_QUALITY == null) {
+            return false;
+        }
+        return STRIP_METADATA || !hasMetadata(bytes, format);
+    }
+
+    /**
+     * Looks for what a decode and re-encode would lose: PNG ancillary chunks other than tRNS
+     * (which is carried by the alpha channel), or JPEG APP1-APP15 and comment segments (EXIF
+     * with the orientation, XMP, ICC profiles). JFIF's APP0 is written again by the encoder.
+     */
+    static boolean hasMetadata(byte[] bytes, String format) {
+        if ("png".equals(format)) {
+            for (int i = 8; i + 8 <= bytes.length; ) { // After the signature: length, type, data, CRC
+                int length = ((bytes[i] & 0xFF) << 24) | ((bytes[i + 1] & 0xFF) << 16) | ((bytes[i + 2] & 0xFF) << 8) | (bytes[i + 3] & 0xFF);
+                String type = new String(bytes, i + 4, 4, java.nio.charset.StandardCharsets.US_ASCII);
+                if (type.equals("IEND")) {
+                    return false;
+                }
+                if (Character.isLowerCase(type.charAt(0)) && !type.equals("tRNS")) {
+                    return true;
+                }
+                i += 12 + length;
+            }
+            return false;
+        }
+        for (int i = 2; i + 4 <= bytes.length && (bytes[i] & 0xFF) == 0xFF; ) { // After SOI: marker, length, data
+            int marker = bytes[i + 1] & 0xFF;
+            if (marker == 0xDA || marker == 0xD9) {
+                return false; // Start of scan: no more headers
+            }
+            if (marker >= 0xE1 && marker <= 0xEF || marker == 0xFE) {
+                return true;
+            }
+            i += 2 + (((bytes[i + 2] & 0xFF) << 8) | (bytes[i + 3] & 0xFF));
+        }
+        return false;
+    }
+
+    /** Maps a file name to the ImageIO format we know how to optimize, or null. */
+    private static String formatOf(String fileName) {
+        String lower = fileName.toLowerCase();
+        if (lower.endsWith(".png")) return "png";
+        if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) return "jpeg";
+        return null; // GIF and anything else is kept as uploaded
+    }
+
+    /**
+     * Encodes an image with explicit compression settings.
+     * For PNG a quality of 0 selects deflate level 9; the JDK writer already picks the
+     * best scanline filter per row for truecolor images and no filter for palettes.
+     * @return The encoded bytes, or null if no writer accepts the image.
+     */
+    static byte[] encode(RenderedImage image, String format, float quality, boolean progressive) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            return null;
+        }
+        ImageWriter writer = writers.next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        if (param.canWriteCompressed()) {
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            String[] types = param.getCompressionTypes();
+            if (types != null && types.length > 0) {
+                param.setCompressionType(types[0]);
+            }
+            param.setCompressionQuality(quality);
+        }
+        if (param.canWriteProgressive()) {
+            param.setProgressiveMode(progressive ? ImageWriteParam.MODE_DEFAULT : ImageWriteParam.MODE_DISABLED);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long start = System.nanoTime();
+        JfrEvents.ImageWrite event = JfrEvents.ImageWrite.started();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+            MetricsRegistry.recordSince("image.encode." + format, start);
+            event.finish("memory", format, out.size());
+        } catch (IOException | RuntimeException e) {
+            return null; // Writer rejected this color model; other candidates still apply
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Converts an image to the smallest color model that represents it exactly:
+     * a palette when it has at most 256 colors, otherwise RGB when the alpha channel is unused.
+     * @return The reduced image, or the same instance if no lossless reduction applies.
+     */
+    static BufferedImage reduceLosslessly(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        boolean hasAlpha = image.getColorModel().hasAlpha();
+        boolean opaque = true;
+        Map<Integer, Integer> palette = new java.util.LinkedHashMap<>();
+        int[] row = new int[width];
+
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            for (int x = 0; x < width; x++) {
+                int argb = row[x];
+                if ((argb >>> 24) != 0xFF) {
+                    opaque = false;
+                }
+                if (palette != null && !palette.containsKey(argb)) {
+                    if (palette.size() == 256) {
+                        palette = null; // Too many colors for a palette
+                    } else {
+                        palette.put(argb, palette.size());
+                    }
+                }
+            }
+            if (palette == null && (!opaque || !hasAlpha)) {
+                break; // Nothing left to learn from the remaining rows
+            }
+        }
+
+        if (palette != null && !(image.getColorModel() instanceof IndexColorModel)) {
+            return toIndexed(image, palette);
+        }
+        if (hasAlpha && opaque) {
+            BufferedImage rgb = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = rgb.createGraphics();
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+            return rgb;
+        }
+        return image;
+    }
+
+    /** Builds a palette image using the smallest PNG bit depth that fits the palette. */
+    private static BufferedImage toIndexed(BufferedImage image, Map<Integer, Integer> palette) {
+        int size = palette.size();
+        int bits = size <= 2 ? 1 : size <= 4 ? 2 : size <= 16 ? 4 : 8;
+        byte[] r = new byte[size], g = new byte[size], b = new byte[size], a = new byte[size];
+        for (Map.Entry<Integer, Integer> entry : palette.entrySet()) {
+            int argb = entry.getKey();
+            int i = entry.getValue();
+            a[i] = (byte) (argb >>> 24);
+            r[i] = (byte) (argb >> 16);
+            g[i] = (byte) (argb >> 8);
+            b[i] = (byte) argb;
+        }
+        IndexColorModel colorModel = new IndexColorModel(bits, size, r, g, b, a);
+        int type = bits == 8 ? BufferedImage.TYPE_BYTE_INDEXED : BufferedImage.TYPE_BYTE_BINARY;
+        BufferedImage indexed = new BufferedImage(image.getWidth(), image.getHeight(), type, colorModel);
+        WritableRaster raster = indexed.getRaster();
+        int[] row = new int[image.getWidth()];
+        for (int y = 0; y < image.getHeight(); y++) {
+            image.getRGB(0, y, row.length, 1, row, 0, row.length);
+            for (int x = 0; x < row.length; x++) {
+                raster.setSample(x, y, 0, palette.get(row[x]));
+            }
+        }
+        return indexed;
+    }
+}
+
+/**
+ * NEW: Background job that permanently removes contacts that have been in the trash
+ * (deleted = 1) for longer than the retention window.
+ * The window is read from the 'contact_retention_days' site setting on every run
+ * (default {@value #DEFAULT_RETENTION_DAYS} days, 0 disables purging). Rows are deleted in
+ * bounded "LIMIT n" batches so each statement only holds its locks briefly.
+ */
+class ContactRetentionJob {
+    public static final String RETENTION_SETTING = "contact_retention_days";
+    private static final int DEFAULT_RETENTION_DAYS = 30;
+    private static final int BATCH_SIZE = Integer.getInteger("portfolio.retention.batchSize", 500);
+    private static final long INTERVAL_MINUTES = Long.getLong("portfolio.retention.intervalMinutes", 360);
+    private static final long PAUSE_BETWEEN_BATCHES_MS = 50; // Lets other writers in between batches
+
+    private static java.util.concurrent.ScheduledExecutorService scheduler;
+    private static volatile String lastReport = "Not run yet";
+
+    /**
+     * Schedules the job: first run one minute after startup, then every
+     * {@code portfolio.retention.intervalMinutes} minutes (default 6 hours).
+     */
+    public static synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "contact-retention");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                runOnce();
+            } catch (Exception e) {
+                // Keep the schedule alive; the next run retries
+                lastReport = "Failed: " + e.getMessage();
+                System.err.println("Contact retention run failed: " + e.getMessage());
+            }
+        }, 1, INTERVAL_MINUTES, java.util.concurrent.TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the schedule. A batch that is already running finishes first.
+     */
+    public static synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * @return A one-line summary of the most recent run.
+     */
+    public static String getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Runs one purge pass.
+     * @return The number of contacts permanently deleted.
+     * @throws SQLException If a statement fails; batches already committed stay deleted.
+     */
+    public static int runOnce() throws SQLException {
+        int retentionDays = DEFAULT_RETENTION_DAYS;
+        String setting = DatabaseManager.getSetting(RETENTION_SETTING);
+        if (setting != null) {
+            try {
+                retentionDays = Integer.parseInt(setting.trim());
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid " + RETENTION_SETTING + " '" + setting + "', using " + DEFAULT_RETENTION_DAYS);
+            }
+        }
+        if (retentionDays <= 0) {
+            lastReport = "Disabled (" + RETENTION_SETTING + " = " + retentionDays + ")";
+            return 0;
+        }
+
+        long started = System.currentTimeMillis();
+        int purged;
+        int batches;
+        try (Connection conn = DatabaseManager.getConnection()) {
+            // Rows trashed by clients that do not stamp deleted_at (e.g. the PHP pages) start aging now,
+            // and rows those clients restored stop aging
+            inBatches(conn, "UPDATE contacts SET deleted_at = CURRENT_TIMESTAMP WHERE deleted <> 0 AND deleted_at IS NULL LIMIT " + BATCH_SIZE);
+            inBatches(conn, "UPDATE contacts SET deleted_at = NULL WHERE deleted = 0 AND deleted_at IS NOT NULL LIMIT " + BATCH_SIZE);
+
+            // The cutoff is computed by the server so it is on the same clock as deleted_at
+            String cutoff = DatabaseManager.isMySql(conn) ? "NOW() - INTERVAL ? DAY" : "TIMESTAMPADD(DAY, -?, NOW())";
+            int[] deleted = inBatches(conn, "DELETE FROM contacts WHERE deleted <> 0 AND deleted_at < " + cutoff + " LIMIT " + BATCH_SIZE,
+                    retentionDays);
+            purged = deleted[0];
+            batches = deleted[1];
+        }
+
+        lastReport = String.format("Purged %d soft-deleted contacts older than %d days in %d batches (%d ms) at %s",
+                purged, retentionDays, batches, System.currentTimeMillis() - started, new Timestamp(started));
+        System.out.println("Contact retention: " + lastReport);
+        return purged;
+    }
 
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Database error during table creation: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+    /**
+     * Runs a statement ending in "LIMIT {@link #BATCH_SIZE}" until a batch affects fewer rows,
+     * pausing between batches. Auto-commit makes each batch its own short transaction.
+     * @param params Bound to the statement's placeholders before each batch.
+     * @return The rows affected and the number of batches.
+     */
+    private static int[] inBatches(Connection conn, String sql, Object... params) throws SQLException {
+        int total = 0;
+        int batches = 0;
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int affected;
+            do {
+                for (int i = 0; i < params.length; i++) {
+                    pstmt.setObject(i + 1, params[i]);
+                }
+                affected = pstmt.executeUpdate();
+                total += affected;
+                batches++;
+                if (affected == BATCH_SIZE) {
+                    try {
+                        Thread.sleep(PAUSE_BETWEEN_BATCHES_MS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            } while (affected == BATCH_SIZE);
         }
+        return new int[]{total, batches};
     }
 }
 
 /**
- * Manages database connections and operations for the portfolio application.
- * Uses JDBC to interact with a MySQL database.
+ * NEW: Watchdog that detects UI freezes. A daemon thread posts a heartbeat to the EDT and waits
+ * for it to run; when it has waited longer than the threshold it captures the EDT's stack, which
+ * names the action that is blocking it. Each stall goes to the metrics ("edt.stall"), an in-memory
+ * list shown on the Diagnostics tab and a rolling log file.
+ * Tuned with -Dportfolio.edt.thresholdMs (default 200) and -Dportfolio.edt.log (log path, empty for none).
  */
-class DatabaseManager {
-    // NOTE: For security and best practice, do not hardcode sensitive information
-    // like database credentials in production applications. Use environment variables
-    // or a secure configuration mechanism.
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/portfolio_db"; // Your database URL
-    private static final String DB_USER = "admin"; // Your database username - adjusted to match first file
-    private static final String DB_PASSWORD = "admin123"; // Your database password - adjusted to match first file
+class EdtWatchdog {
+    private static final long THRESHOLD_MS = Long.getLong("portfolio.edt.thresholdMs", 200);
+    private static final long HEARTBEAT_INTERVAL_MS = 100; // Pause between heartbeats while the EDT is responsive
+    private static final long POLL_MS = 10; // How often a pending heartbeat is checked
+    private static final int MAX_STALLS = 50; // Stalls kept in memory
+    private static final long MAX_LOG_BYTES = 1024 * 1024; // The log is rolled over to "<name>.1" at this size
+    private static final String LOG_FILE = System.getProperty("portfolio.edt.log",
+            new File(System.getProperty("java.io.tmpdir"), "portfolio-edt-stalls.log").getPath());
+
+    private static final Deque<Stall> recentStalls = new ArrayDeque<>();
+    private static Thread watchdog;
+    private static volatile Thread edt; // Replaced by AWT after an uncaught exception, so refreshed by every heartbeat
 
     /**
-     * Establishes a connection to the database.
-     * @return A Connection object if successful, null otherwise.
+     * One UI freeze: when it started, how long the EDT was blocked and what it was doing.
      */
-    public static Connection getConnection() {
-        Connection conn = null;
-        try {
-            // Register JDBC driver
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            // Open a connection
-            conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-        } catch (SQLException se) {
-            se.printStackTrace();
-            JOptionPane.showMessageDialog(null, "Database connection error: " + se.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        } catch (ClassNotFoundException e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(null, "MySQL JDBC Driver not found. Please add it to your classpath.", "Error", JOptionPane.ERROR_MESSAGE);
+    static class Stall {
+        private final long startedAtMillis;
+        private final long durationMillis;
+        private final String action; // Innermost app method on the EDT stack
+        private final String stackTrace;
+
+        Stall(long startedAtMillis, long durationMillis, String action, String stackTrace) {
+            this.startedAtMillis = startedAtMillis;
+            this.durationMillis = durationMillis;
+            this.action = action;
+            this.stackTrace = stackTrace;
+        }
+
+        public long getStartedAtMillis() { return startedAtMillis; }
+        public long getDurationMillis() { return durationMillis; }
+        public String getAction() { return action; }
+        public String getStackTrace() { return stackTrace; }
+
+        @Override
+        public String toString() {
+            return String.format("%s  %,d ms  %s", new Timestamp(startedAtMillis), durationMillis, action);
         }
-        return conn;
     }
 
     /**
-     * Hashes a given password using SHA-256 algorithm.
-     * @param password The plain text password to hash.
-     * @return The SHA-256 hashed password as a hexadecimal string.
+     * Starts the watchdog thread once; later calls do nothing.
      */
-    public static String hashPassword(String password) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(password.getBytes());
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) hexString.append('0');
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            e.printStackTrace();
-            return null;
+    public static synchronized void start() {
+        if (watchdog != null) {
+            return;
+        }
+        if (EventQueue.isDispatchThread()) {
+            edt = Thread.currentThread(); // Known before the first heartbeat when started from the UI
         }
+        watchdog = new Thread(EdtWatchdog::watch, "edt-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
     }
 
     /**
-     * Authenticates a user against the 'users' table.
-     * @param username The username to check.
-     * @param password The plain text password to check.
-     * @return True if credentials are valid, false otherwise.
+     * Stops the watchdog after its current heartbeat.
      */
-    public static boolean authenticateUser(String username, String password) {
-        String hashedPassword = hashPassword(password);
-        if (hashedPassword == null) {
-            return false; // Hashing failed
+    public static synchronized void stop() {
+        if (watchdog != null) {
+            watchdog.interrupt();
+            watchdog = null;
         }
+    }
 
-        String sql = "SELECT * FROM users WHERE username = ? AND password = ?";
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, username);
-            pstmt.setString(2, hashedPassword);
-            ResultSet rs = pstmt.executeQuery();
-            return rs.next(); // Returns true if a row is found (user exists with credentials)
+    /**
+     * @return How long the EDT may be blocked before it counts as a stall.
+     */
+    public static long getThresholdMillis() {
+        return THRESHOLD_MS;
+    }
+
+    /**
+     * @return The most recent stalls, newest first.
+     */
+    public static List<Stall> getRecentStalls() {
+        synchronized (recentStalls) {
+            return new ArrayList<>(recentStalls);
         }
-        catch (SQLException e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(null, "Authentication error: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            return false;
+    }
+
+    private static void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                heartbeat();
+                Thread.sleep(HEARTBEAT_INTERVAL_MS);
+            }
+        } catch (InterruptedException e) {
+            // stop() was called
         }
     }
 
     /**
-     * NEW: Retrieves a setting value from the 'site_settings' table.
-     * @param settingName The name of the setting to retrieve.
-     * @return The setting value as a String, or null if not found.
+     * Posts one heartbeat and waits for it, capturing the EDT stack once the threshold is passed.
      */
-    public static String getSetting(String settingName) {
-        String sql = "SELECT setting_value FROM site_settings WHERE setting_name = ?";
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, settingName);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return rs.getString("setting_value");
+    private static void heartbeat() throws InterruptedException {
+        long posted = System.nanoTime();
+        long postedAtMillis = System.currentTimeMillis();
+        java.util.concurrent.CountDownLatch ran = new java.util.concurrent.CountDownLatch(1);
+        EventQueue.invokeLater(() -> {
+            edt = Thread.currentThread();
+            ran.countDown();
+        });
+
+        StackTraceElement[] blockedStack = null;
+        while (!ran.await(POLL_MS, java.util.concurrent.TimeUnit.MILLISECONDS)) {
+            Thread current = edt;
+            if (blockedStack == null && current != null && System.nanoTime() - posted >= THRESHOLD_MS * 1_000_000) {
+                blockedStack = current.getStackTrace(); // Still inside whatever is blocking the EDT
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            System.err.println("Error getting setting '" + settingName + "': " + e.getMessage());
         }
-        return null;
+        long latencyMicros = (System.nanoTime() - posted) / 1000;
+        MetricsRegistry.histogram("edt.heartbeat").record(latencyMicros);
+        if (blockedStack != null) {
+            record(new Stall(postedAtMillis, latencyMicros / 1000, actionOf(blockedStack), format(blockedStack)));
+        }
+    }
+
+    private static void record(Stall stall) {
+        MetricsRegistry.histogram("edt.stall").record(stall.getDurationMillis() * 1000);
+        MetricsRegistry.increment("edt.stall." + stall.getAction()); // Which actions freeze the UI, and how often
+        synchronized (recentStalls) {
+            recentStalls.addFirst(stall);
+            while (recentStalls.size() > MAX_STALLS) {
+                recentStalls.removeLast();
+            }
+        }
+        System.err.println("EDT blocked: " + stall);
+        appendToLog(stall);
+    }
+
+    /** Appends a stall to the log file, rolling it over when it gets too large. */
+    private static void appendToLog(Stall stall) {
+        if (LOG_FILE.isEmpty()) {
+            return;
+        }
+        File log = new File(LOG_FILE);
+        try {
+            if (log.length() > MAX_LOG_BYTES) {
+                Files.move(log.toPath(), new File(LOG_FILE + ".1").toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            String entry = stall + System.lineSeparator() + stall.getStackTrace() + System.lineSeparator();
+            Files.write(log.toPath(), entry.getBytes(java.nio.charset.StandardCharsets.UTF_8),
+                    java.nio.file.StandardOpenOption.CREATE, java.nio.file.StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Could not write EDT stall log " + LOG_FILE + ": " + e.getMessage());
+        }
     }
 
     /**
-     * NEW: Saves a setting value to the 'site_settings' table.
-     * Inserts if the setting name does not exist, updates if it does.
-     * @param settingName The name of the setting.
-     * @param settingValue The value to save.
+     * @return "Class.method" of the innermost frame from this app, or of the top frame if the
+     *         EDT is not in app code (e.g. blocked in a JDK call made by a listener).
      */
-    public static void saveSetting(String settingName, String settingValue) {
-        String sql = "INSERT INTO site_settings (setting_name, setting_value) VALUES (?, ?) " +
-                     "ON DUPLICATE KEY UPDATE setting_value = ?";
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, settingName);
-            pstmt.setString(2, settingValue);
-            pstmt.setString(3, settingValue); // For ON DUPLICATE KEY UPDATE
-            pstmt.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-            System.err.println("Error saving setting '" + settingName + "': " + e.getMessage());
+    static String actionOf(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            String className = frame.getClassName();
+            if (className.startsWith("portfolioadminapp.") && !isInstrumentation(className)) {
+                String simpleName = className.substring(className.lastIndexOf('.') + 1);
+                int lambda = simpleName.indexOf('$');
+                return (lambda < 0 ? simpleName : simpleName.substring(0, lambda)) + "." + frame.getMethodName();
+            }
+        }
+        return stack.length == 0 ? "unknown" : stack[0].getClassName() + "." + stack[0].getMethodName();
+    }
+
+    /** @return true for the metrics and tracing classes, which are never the action itself. */
+    private static boolean isInstrumentation(String className) {
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        return simpleName.startsWith("InstrumentedJdbc") || simpleName.startsWith("JfrEvents")
+                || simpleName.startsWith("QueryLog") || simpleName.startsWith("MetricsRegistry");
+    }
+
+    private static String format(StackTraceElement[] stack) {
+        StringBuilder sb = new StringBuilder();
+        for (StackTraceElement frame : stack) {
+            sb.append("    at ").append(frame).append(System.lineSeparator());
         }
+        return sb.toString();
     }
 }
 
@@ -619,7 +6304,7 @@ class Experience {
     private String name;
     private String category; // New field for skill category
 
-    public Experience(int id, String name, String level, String category) {
+    public Experience(int id, String name, String category) {
         this.id = id;
         this.name = name;
         this.category = category;
@@ -712,6 +6397,323 @@ class AboutDetail {
 }
 
 
+/**
+ * NEW: Non-modal strip above every screen that reports the state of the database connection.
+ * Hidden while connections succeed; red with a countdown and a "Retry now" button while the
+ * circuit breaker is open, amber while connecting keeps failing or a probe is running, and
+ * briefly green once the connection is back.
+ */
+class DatabaseStatusBanner extends JPanel {
+    private static final Color OPEN_BACKGROUND = new Color(248, 215, 218);
+    private static final Color RECONNECTING_BACKGROUND = new Color(255, 243, 205);
+    private static final Color RESTORED_BACKGROUND = new Color(212, 237, 218);
+    private static final int RESTORED_VISIBLE_MS = 4000;
+
+    private final ConnectionCircuitBreaker breaker;
+    private final JLabel messageLabel;
+    private final JButton retryButton;
+    private final javax.swing.Timer countdownTimer;
+    private final javax.swing.Timer hideTimer;
+    private boolean troubleShown; // Whether the last state shown was a failure, so recovery is worth announcing
+
+    /**
+     * Constructor for DatabaseStatusBanner.
+     * @param breaker The breaker whose state is shown.
+     */
+    public DatabaseStatusBanner(ConnectionCircuitBreaker breaker) {
+        this.breaker = breaker;
+        setLayout(new BorderLayout(10, 0));
+        setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createMatteBorder(0, 0, 1, 0, PortfolioAdminApp.BORDER_COLOR),
+                new EmptyBorder(6, 12, 6, 12)));
+
+        messageLabel = new JLabel();
+        messageLabel.setFont(PortfolioAdminApp.FONT_BODY);
+        messageLabel.setForeground(PortfolioAdminApp.TEXT_DARK);
+        add(messageLabel, BorderLayout.CENTER);
+
+        retryButton = new JButton("Retry now");
+        retryButton.setFont(PortfolioAdminApp.FONT_BODY);
+        retryButton.addActionListener(e -> retryNow());
+        add(retryButton, BorderLayout.EAST);
+
+        countdownTimer = new javax.swing.Timer(1000, e -> refresh());
+        hideTimer = new javax.swing.Timer(RESTORED_VISIBLE_MS, e -> setVisible(false));
+        hideTimer.setRepeats(false);
+        setVisible(false);
+
+        // The breaker notifies on whichever thread opened the connection
+        breaker.addListener(() -> SwingUtilities.invokeLater(this::refresh));
+        OfflineJournal.addListener(() -> SwingUtilities.invokeLater(this::refresh)); // NEW: Pending offline edits
+        refresh();
+    }
+
+    /**
+     * Shows the current breaker state.
+     */
+    private void refresh() {
+        ConnectionCircuitBreaker.State state = breaker.getState();
+        SQLException error = breaker.getLastError();
+        int pending = OfflineJournal.getPendingCount();
+        String pendingText = pending == 0 ? "" : " " + pending + " edit" + (pending == 1 ? "" : "s") + " saved offline.";
+        if (state == ConnectionCircuitBreaker.State.OPEN) {
+            long seconds = Math.max(0, (breaker.getRetryAtMillis() - System.currentTimeMillis() + 999) / 1000);
+            show(OPEN_BACKGROUND, "Database unavailable" + (error != null ? " (" + error.getMessage() + ")" : "")
+                    + ". Next attempt in " + seconds + " s." + pendingText, true);
+            countdownTimer.start();
+        } else if (state == ConnectionCircuitBreaker.State.HALF_OPEN || error != null) {
+            show(RECONNECTING_BACKGROUND, "Reconnecting to the database\u2026" + pendingText, false);
+            countdownTimer.stop();
+        } else if (pending > 0) {
+            show(RECONNECTING_BACKGROUND, "Syncing " + pending + " offline edit" + (pending == 1 ? "" : "s") + "\u2026", false);
+            countdownTimer.stop();
+        } else {
+            countdownTimer.stop();
+            if (troubleShown) {
+                troubleShown = false;
+                setBackground(RESTORED_BACKGROUND);
+                String report = OfflineJournal.getLastReport();
+                messageLabel.setText("Database connection restored." + (report.isEmpty() ? "" : " " + report + "."));
+                retryButton.setVisible(false);
+                hideTimer.restart();
+            }
+        }
+    }
+
+    private void show(Color background, String message, boolean retryable) {
+        hideTimer.stop();
+        troubleShown = true;
+        setBackground(background);
+        messageLabel.setText(message);
+        retryButton.setVisible(retryable);
+        if (!isVisible()) {
+            setVisible(true);
+            revalidate();
+        }
+    }
+
+    /**
+     * Ends the cool-down early and probes with one connection off the EDT.
+     */
+    private void retryNow() {
+        retryButton.setEnabled(false);
+        breaker.retryNow();
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                try {
+                    DatabaseManager.getConnection().close(); // Getting one is the probe
+                } catch (SQLException e) {
+                    // Reported through the breaker listener
+                }
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                retryButton.setEnabled(true);
+            }
+        }.execute();
+    }
+}
+
+/**
+ * NEW: Three-way view of an edit that lost a race with another admin or the PHP pages: each
+ * field as it was when the admin started editing (base), as it is in the database now (theirs),
+ * as the admin typed it (mine), and what saving would store. Saving keeps the fields the admin
+ * changed and takes the other side's value for the rest; a field both sides changed differently
+ * is marked red and keeps the admin's value.
+ */
+class EditConflictDialog extends JDialog {
+    /** The admin's answer. */
+    enum Choice { SAVE, TAKE_THEIRS, KEEP_EDITING }
+
+    /** What became of an edit passed to {@link #submit}. */
+    enum Outcome { SAVED, QUEUED, TOOK_THEIRS, KEEP_EDITING }
+
+    private static final Color THEIRS_CHANGED = new Color(255, 236, 179); // Amber
+    private static final Color MINE_CHANGED = new Color(204, 229, 255);   // Light blue
+    private static final Color BOTH_CHANGED = new Color(248, 215, 218);   // Light red
+
+    private Choice choice = Choice.KEEP_EDITING;
+
+    private EditConflictDialog(Window owner, Mutation mutation, Map<String, Object> theirs) {
+        super(owner, "Edit Conflict", ModalityType.APPLICATION_MODAL);
+        setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        setSize(950, 450);
+        setLocationRelativeTo(owner);
+
+        JPanel content = new JPanel(new BorderLayout(10, 10));
+        content.setBackground(PortfolioAdminApp.BACKGROUND_PANEL);
+        content.setBorder(new EmptyBorder(15, 15, 15, 15));
+
+        JLabel header = new JLabel("<html><b>" + escape(mutation.label) + "</b><br>" + (theirs == null
+                ? "Someone deleted this row after you started editing it."
+                : "Someone saved this row after you started editing it. Saving keeps the fields you changed"
+                  + " and their value for the rest; red fields were changed by both of you.") + "</html>");
+        header.setFont(PortfolioAdminApp.FONT_BODY);
+        header.setForeground(PortfolioAdminApp.TEXT_DARK);
+        content.add(header, BorderLayout.NORTH);
+
+        String[] columnNames = {"Field", "When you started", "In the database now", "Your edit", "Will be saved"};
+        DefaultTableModel model = new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        Map<String, Object> mine = mutation.mine();
+        List<boolean[]> changes = new ArrayList<>(); // Per field: {theirs changed, mine changed}
+        for (Map.Entry<String, Object> entry : mutation.expected.entrySet()) {
+            String field = entry.getKey();
+            Object base = entry.getValue();
+            Object my = mine.get(field);
+            boolean mineChanged = !Mutation.sameValue(my, base);
+            if (theirs == null) {
+                model.addRow(new Object[]{field, text(base), "(deleted)", text(my), ""});
+                changes.add(new boolean[]{true, mineChanged});
+            } else {
+                Object their = theirs.get(field);
+                model.addRow(new Object[]{field, text(base), text(their), text(my), text(mineChanged ? my : their)});
+                changes.add(new boolean[]{!Mutation.sameValue(their, base), mineChanged});
+            }
+        }
+        JTable table = new JTable(model);
+        table.setFont(PortfolioAdminApp.FONT_BODY);
+        table.getTableHeader().setFont(PortfolioAdminApp.FONT_HEADER);
+        table.setGridColor(PortfolioAdminApp.BORDER_COLOR);
+        table.setDefaultRenderer(Object.class, new CellRenderer(changes));
+        content.add(new JScrollPane(table), BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        buttonPanel.setOpaque(false);
+        JButton saveButton = new GradientButton(
+            "Save (keep my changes)",
+            PortfolioAdminApp.GRADIENT_ACCENT_GREEN_START,
+            PortfolioAdminApp.GRADIENT_ACCENT_GREEN_END,
+            PortfolioAdminApp.GRADIENT_ACCENT_GREEN_HOVER_START,
+            PortfolioAdminApp.GRADIENT_ACCENT_GREEN_HOVER_END
+        );
+        JButton theirsButton = new GradientButton(
+            theirs == null ? "Discard my edit" : "Use theirs",
+            PortfolioAdminApp.GRADIENT_ACCENT_ORANGE_START,
+            PortfolioAdminApp.GRADIENT_ACCENT_ORANGE_END,
+            PortfolioAdminApp.GRADIENT_ACCENT_ORANGE_HOVER_START,
+            PortfolioAdminApp.GRADIENT_ACCENT_ORANGE_HOVER_END
+        );
+        JButton keepEditingButton = new GradientButton(
+            "Keep editing",
+            PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_START,
+            PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_END,
+            PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_HOVER_START,
+            PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_HOVER_END
+        );
+        saveButton.setEnabled(theirs != null); // A deleted row cannot be updated
+        saveButton.addActionListener(e -> close(Choice.SAVE));
+        theirsButton.addActionListener(e -> close(Choice.TAKE_THEIRS));
+        keepEditingButton.addActionListener(e -> close(Choice.KEEP_EDITING));
+        buttonPanel.add(saveButton);
+        buttonPanel.add(theirsButton);
+        buttonPanel.add(keepEditingButton);
+        content.add(buttonPanel, BorderLayout.SOUTH);
+
+        setContentPane(content);
+    }
+
+    /**
+     * Shows the three-way view and waits for the admin's answer.
+     * @param theirs The database row now, including "version"; null if it was deleted.
+     */
+    static Choice ask(Component parent, Mutation mutation, Map<String, Object> theirs) {
+        EditConflictDialog dialog = new EditConflictDialog(parent == null ? null : SwingUtilities.getWindowAncestor(parent), mutation, theirs);
+        dialog.setVisible(true); // Modal: returns once closed
+        return dialog.choice;
+    }
+
+    /**
+     * Submits a panel's edit through the {@link OfflineJournal} and lets the admin resolve version
+     * conflicts; a saved merge is submitted again on top of the other side's version.
+     * @return What became of the edit; on TOOK_THEIRS the panel should reload the row.
+     * @throws SQLException If the database rejected the edit, or it could not be journaled.
+     */
+    static Outcome submit(Component parent, Mutation mutation) throws SQLException {
+        return submit(parent, new UnitOfWork().add(mutation));
+    }
+
+    /**
+     * NEW: Same for a whole {@link UnitOfWork}; its staged files are removed unless it is saved or queued.
+     */
+    static Outcome submit(Component parent, UnitOfWork work) throws SQLException {
+        while (true) {
+            try {
+                return OfflineJournal.submit(work) ? Outcome.SAVED : Outcome.QUEUED;
+            } catch (EditConflictException e) {
+                MetricsRegistry.increment("db.edit.conflicts");
+                Choice choice = ask(parent, e.getMutation(), e.getTheirs());
+                if (choice == Choice.TAKE_THEIRS) {
+                    work.discard();
+                    return Outcome.TOOK_THEIRS;
+                } else if (choice == Choice.KEEP_EDITING) {
+                    work.discard();
+                    return Outcome.KEEP_EDITING;
+                }
+                e.getMutation().mergeWith(e.getTheirs());
+            }
+        }
+    }
+
+    private void close(Choice choice) {
+        this.choice = choice;
+        dispose();
+    }
+
+    private static String text(Object value) {
+        return java.util.Objects.toString(value, "");
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    /**
+     * Wraps long values (e.g. descriptions) and colours the cells that differ from the base.
+     */
+    private static final class CellRenderer extends JTextArea implements javax.swing.table.TableCellRenderer {
+        private final List<boolean[]> changes;
+
+        CellRenderer(List<boolean[]> changes) {
+            this.changes = changes;
+            setLineWrap(true);
+            setWrapStyleWord(true);
+            setBorder(new EmptyBorder(4, 6, 4, 6));
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+            setText(value == null ? "" : value.toString());
+            setFont(table.getFont());
+            boolean theirsChanged = changes.get(row)[0];
+            boolean mineChanged = changes.get(row)[1];
+            boolean both = theirsChanged && mineChanged
+                    && !Mutation.sameValue(table.getValueAt(row, 2), table.getValueAt(row, 3));
+            Color background = Color.WHITE;
+            if (column == 2 && theirsChanged || column == 4 && theirsChanged && !mineChanged) {
+                background = both ? BOTH_CHANGED : THEIRS_CHANGED;
+            } else if (column == 3 && mineChanged || column == 4 && mineChanged) {
+                background = both ? BOTH_CHANGED : MINE_CHANGED;
+            }
+            setBackground(background);
+            // Grow the row to fit the wrapped text
+            setSize(table.getColumnModel().getColumn(column).getWidth(), Short.MAX_VALUE);
+            int height = Math.max(24, getPreferredSize().height);
+            if (table.getRowHeight(row) < height) {
+                table.setRowHeight(row, height);
+            }
+            return this;
+        }
+    }
+}
+
 /**
  * Login Panel for the application.
  * Allows users to enter username and password to log in.
@@ -873,7 +6875,15 @@ class LoginPanel extends JPanel {
         String username = usernameField.getText();
         String password = new String(passwordField.getPassword());
 
-        if (DatabaseManager.authenticateUser(username, password)) {
+        boolean authenticated;
+        try {
+            authenticated = DatabaseManager.authenticateUser(username, password);
+        } catch (DatabaseUnavailableException e) {
+            // NEW: The status banner reports the outage and its retry; only say why login failed
+            messageLabel.setText("Database unavailable. Please try again shortly.");
+            return;
+        }
+        if (authenticated) {
             messageLabel.setText("");
             parentFrame.showAdminDashboard();
         } else {
@@ -1045,6 +7055,9 @@ class ProjectManagementPanel extends JPanel {
     private JButton uploadImageButton;
     private JLabel imagePreviewLabel; // Image preview for uploaded image
     private File selectedImageFile; // Stores the local file selected by JFileChooser
+    private static final int VERSION_COLUMN = 5; // NEW: Hidden model column with the row version
+    private Object[] editBase; // NEW: The selected row as it was when editing began, for conflict checks
+    private RowsView projectView; // NEW: Where the repository shows the rows
     private int selectedProjectId = -1; // To store the ID of the selected project for editing/deleting
     private JScrollPane scrollPane; // Made scrollPane a field to control its visibility
 
@@ -1084,7 +7097,7 @@ class ProjectManagementPanel extends JPanel {
         contentAreaPanel.setOpaque(false); // Make transparent
 
         // --- Center Panel: Table of Projects ---
-        String[] columnNames = {"ID", "Title", "Description", "Image URL", "Link"}; // Added "Image URL"
+        String[] columnNames = {"ID", "Title", "Description", "Image URL", "Link", "Version"}; // Added "Image URL"; NEW: "Version" is not shown
         tableModel = new DefaultTableModel(columnNames, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -1092,12 +7105,23 @@ class ProjectManagementPanel extends JPanel {
             }
         };
         projectTable = new JTable(tableModel);
-        projectTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        projectTable.removeColumn(projectTable.getColumnModel().getColumn(VERSION_COLUMN)); // NEW: Kept in the model only
+        projectTable.setSelectionModel(TableModelUtils.rowSelection()); // NEW: Stays on its rows across refreshes
+        projectTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION); // Ctrl/Shift-click for bulk delete
         projectTable.getSelectionModel().addListSelectionListener(e -> {
-            if (!e.getValueIsAdjusting() && projectTable.getSelectedRow() != -1) {
-                displaySelectedProject();
+            if (!e.getValueIsAdjusting()) {
+                int selectedCount = projectTable.getSelectedRowCount();
+                if (selectedCount == 1) {
+                    displaySelectedProject();
+                } else if (selectedCount > 1) {
+                    displayMultipleSelection();
+                }
             }
         });
+        TableModelUtils.refreshFormOnUpdate(projectTable, () -> editBase != null && (selectedImageFile != null // NEW
+                || TableModelUtils.differs(titleField.getText(), editBase[1])
+                || TableModelUtils.differs(descriptionArea.getText(), editBase[2])
+                || TableModelUtils.differs(linkField.getText(), editBase[4])), this::displaySelectedProject);
 
         // Table styling
         projectTable.setFont(PortfolioAdminApp.FONT_BODY);
@@ -1207,16 +7231,26 @@ class ProjectManagementPanel extends JPanel {
             PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_HOVER_START,
             PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_HOVER_END
         );
+        // NEW: Bulk import from a folder or manifest
+        JButton importButton = createStyledButton(
+            "Bulk Import",
+            PortfolioAdminApp.GRADIENT_ACCENT_CYAN_START,
+            PortfolioAdminApp.GRADIENT_ACCENT_CYAN_END,
+            PortfolioAdminApp.GRADIENT_ACCENT_CYAN_HOVER_START,
+            PortfolioAdminApp.GRADIENT_ACCENT_CYAN_HOVER_END
+        );
 
         addButton.addActionListener(e -> addProject());
         updateButton.addActionListener(e -> updateProject());
         deleteButton.addActionListener(e -> deleteProject());
         clearButton.addActionListener(e -> clearForm());
+        importButton.addActionListener(e -> new ProjectImportDialog(SwingUtilities.getWindowAncestor(this), null).setVisible(true)); // NEW: Rows arrive as ProjectAdded
 
         buttonPanel.add(addButton);
         buttonPanel.add(updateButton);
         buttonPanel.add(deleteButton);
         buttonPanel.add(clearButton);
+        buttonPanel.add(importButton);
 
         gbc.gridx = 0;
         gbc.gridy = 5;
@@ -1227,7 +7261,9 @@ class ProjectManagementPanel extends JPanel {
 
         add(contentAreaPanel, BorderLayout.CENTER); // Add the main content area to the panel
 
-        loadProjects(); // Load projects immediately when the panel is initialized
+        // NEW: Snapshot rows at once, fresh ones when the query returns, then edits as they are committed
+        projectView = Repository.PROJECTS.view(tableModel);
+        Repository.PROJECTS.open(this, projectView);
         clearForm(); // Set initial button states
     }
 
@@ -1299,24 +7335,7 @@ class ProjectManagementPanel extends JPanel {
      * Loads all projects from the database and populates the table.
      */
     private void loadProjects() {
-        tableModel.setRowCount(0); // Clear existing data
-        String sql = "SELECT id, title, description, image_url, link FROM projects ORDER BY created_at DESC";
-        try (Connection conn = DatabaseManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                int id = rs.getInt("id");
-                String title = rs.getString("title");
-                String description = rs.getString("description");
-                String imageUrl = rs.getString("image_url");
-                String link = rs.getString("link");
-                tableModel.addRow(new Object[]{id, title, description, imageUrl, link});
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this, "Error loading projects: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        Repository.PROJECTS.reload(this, projectView); // NEW: Off the EDT
     }
 
     /**
@@ -1326,6 +7345,7 @@ class ProjectManagementPanel extends JPanel {
         int selectedRow = projectTable.getSelectedRow();
         if (selectedRow != -1) {
             selectedProjectId = (int) tableModel.getValueAt(selectedRow, 0);
+            editBase = TableModelUtils.rowValues(tableModel, selectedRow); // NEW: Base of the three-way conflict check
             titleField.setText((String) tableModel.getValueAt(selectedRow, 1));
             descriptionArea.setText((String) tableModel.getValueAt(selectedRow, 2));
             linkField.setText((String) tableModel.getValueAt(selectedRow, 4)); // Column 4 is 'link'
@@ -1335,7 +7355,11 @@ class ProjectManagementPanel extends JPanel {
             if (imageUrl != null && !imageUrl.isEmpty()) {
                 try {
                     // Fetch image from the URL to display in the preview label
+                    long start = System.nanoTime();
+                    JfrEvents.ImageRead readEvent = JfrEvents.ImageRead.started();
                     BufferedImage img = ImageIO.read(new java.net.URL(imageUrl));
+                    MetricsRegistry.recordSince("image.preview.decode", start);
+                    readEvent.finish(imageUrl, null, img, -1);
                     displayImagePreview(img);
                     selectedImageFile = null; // Clear any locally selected file if loading from DB
                 } catch (IOException e) {
@@ -1369,61 +7393,31 @@ class ProjectManagementPanel extends JPanel {
             return;
         }
 
+        UnitOfWork work = new UnitOfWork(); // NEW: The row and its image are saved together, or neither
         String imageUrlForDb = null; // This will store the final URL to save
         if (selectedImageFile != null && selectedImageFile.exists()) {
             try {
-                String originalFileName = selectedImageFile.getName();
-                String fileExtension = "";
-                int dotIndex = originalFileName.lastIndexOf('.');
-                if (dotIndex > 0) {
-                    fileExtension = originalFileName.substring(dotIndex + 1);
-                }
-                // Generate a unique filename using UUID to prevent collisions
-                String uniqueFileName = UUID.randomUUID().toString() + (fileExtension.isEmpty() ? "" : "." + fileExtension);
-
-                File destinationFile = new File(PortfolioAdminApp.PROJECT_IMAGE_BASE_DIR, uniqueFileName);
-
-                // Ensure the destination directory exists
-                File parentDir = destinationFile.getParentFile();
-                if (!parentDir.exists()) {
-                    parentDir.mkdirs(); // Create directories if they don't exist
-                }
-
-                // Read the image and write it to the destination file on the server
-                BufferedImage imageToSave = ImageIO.read(selectedImageFile);
-                ImageIO.write(imageToSave, fileExtension, destinationFile);
+                // Staged next to the server directory under a unique name; moved into place on commit,
+                // then a background worker recompresses it
+                File destinationFile = work.stage(selectedImageFile, PortfolioAdminApp.PROJECT_IMAGE_BASE_DIR);
 
                 // Construct the public URL for the image
-                imageUrlForDb = PortfolioAdminApp.PROJECT_IMAGE_BASE_URL + uniqueFileName;
-
-                JOptionPane.showMessageDialog(this, "Image uploaded to server: " + destinationFile.getAbsolutePath(), "Image Upload Success", JOptionPane.INFORMATION_MESSAGE);
-
+                imageUrlForDb = PortfolioAdminApp.PROJECT_IMAGE_BASE_URL + destinationFile.getName();
             } catch (IOException ex) {
                 ex.printStackTrace();
                 JOptionPane.showMessageDialog(this, "Error saving image to server: " + ex.getMessage(), "Image Save Error", JOptionPane.ERROR_MESSAGE);
-                imageUrlForDb = null; // Ensure no invalid URL is saved if upload failed
+                return; // NEW: Nothing is saved without its image
             }
         }
 
-        String sql = "INSERT INTO projects (title, description, image_url, link) VALUES (?, ?, ?, ?)";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, title);
-            pstmt.setString(2, description);
-            pstmt.setString(3, imageUrlForDb); // Set the image URL here
-            pstmt.setString(4, link.isEmpty() ? null : link); // Store null if link is empty
-
-            int affectedRows = pstmt.executeUpdate();
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        int id = generatedKeys.getInt(1);
-                        tableModel.addRow(new Object[]{id, title, description, imageUrlForDb, link});
-                        JOptionPane.showMessageDialog(this, "Project added successfully!");
-                        clearForm();
-                    }
-                }
-            }
+        // NEW: Journaled instead of lost while the database is unreachable
+        Mutation insert = Repository.PROJECTS.insert("Add project \"" + title + "\"",
+                title, description, imageUrlForDb, link.isEmpty() ? null : link); // Store null if link is empty
+        try {
+            boolean written = OfflineJournal.submit(work.add(insert));
+            projectView.put(Repository.PROJECTS.newRow(insert));
+            JOptionPane.showMessageDialog(this, written ? "Project added successfully!" : OfflineJournal.QUEUED_MESSAGE);
+            clearForm();
         } catch (SQLException e) {
             e.printStackTrace();
             JOptionPane.showMessageDialog(this, "Error adding project: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -1452,48 +7446,33 @@ class ProjectManagementPanel extends JPanel {
         String imageUrlForDb = (String) tableModel.getValueAt(projectTable.getSelectedRow(), 3);
 
         // If a new image file is selected, process it
+        UnitOfWork work = new UnitOfWork(); // NEW: The new image only goes live with the updated row
         if (selectedImageFile != null && selectedImageFile.exists()) {
             try {
-                String originalFileName = selectedImageFile.getName();
-                String fileExtension = "";
-                int dotIndex = originalFileName.lastIndexOf('.');
-                if (dotIndex > 0) {
-                    fileExtension = originalFileName.substring(dotIndex + 1);
-                }
-                String uniqueFileName = UUID.randomUUID().toString() + (fileExtension.isEmpty() ? "" : "." + fileExtension);
-
-                File destinationFile = new File(PortfolioAdminApp.PROJECT_IMAGE_BASE_DIR, uniqueFileName);
-                File parentDir = destinationFile.getParentFile();
-                if (!parentDir.exists()) {
-                    parentDir.mkdirs();
-                }
-
-                BufferedImage imageToSave = ImageIO.read(selectedImageFile);
-                ImageIO.write(imageToSave, fileExtension, destinationFile);
-
-                imageUrlForDb = PortfolioAdminApp.PROJECT_IMAGE_BASE_URL + uniqueFileName; // Use the new URL
-                JOptionPane.showMessageDialog(this, "Image updated on server: " + destinationFile.getAbsolutePath(), "Image Upload Success", JOptionPane.INFORMATION_MESSAGE);
-
+                File destinationFile = work.stage(selectedImageFile, PortfolioAdminApp.PROJECT_IMAGE_BASE_DIR); // Optimized in the background once saved
+                imageUrlForDb = PortfolioAdminApp.PROJECT_IMAGE_BASE_URL + destinationFile.getName(); // Use the new URL
             } catch (IOException ex) {
                 ex.printStackTrace();
                 JOptionPane.showMessageDialog(this, "Error updating image on server: " + ex.getMessage(), "Image Save Error", JOptionPane.ERROR_MESSAGE);
-                // Decide if you want to proceed without updating the image URL or stop
-                // For now, it will keep the old URL if this fails.
+                return; // NEW: Saving the row with its old image URL would silently drop the admin's choice
             }
         }
 
-        String sql = "UPDATE projects SET title = ?, description = ?, image_url = ?, link = ? WHERE id = ?";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, title);
-            pstmt.setString(2, description);
-            pstmt.setString(3, imageUrlForDb); // Set the image URL
-            pstmt.setString(4, link.isEmpty() ? null : link);
-            pstmt.setInt(5, selectedProjectId);
-            pstmt.executeUpdate();
-
-            JOptionPane.showMessageDialog(this, "Project updated successfully!");
-            loadProjects(); // Reload all projects to update the table
+        Mutation update = Repository.PROJECTS.update("Update project \"" + title + "\"", selectedProjectId, editBase, // NEW: Checked against editBase
+                title, description, imageUrlForDb, link.isEmpty() ? null : link);
+        try {
+            EditConflictDialog.Outcome outcome = EditConflictDialog.submit(this, work.add(update));
+            if (outcome == EditConflictDialog.Outcome.KEEP_EDITING) {
+                return; // NEW: The form keeps the admin's edit
+            }
+            if (outcome == EditConflictDialog.Outcome.TOOK_THEIRS) {
+                loadProjects(); // NEW: The admin took the other version
+            } else {
+                // NEW: Shown in place; the ProjectUpdated event then brings the stored row
+                projectView.put(Repository.PROJECTS.edited(update, editBase));
+                JOptionPane.showMessageDialog(this, outcome == EditConflictDialog.Outcome.SAVED
+                        ? "Project updated successfully!" : OfflineJournal.QUEUED_MESSAGE);
+            }
             clearForm();
         } catch (SQLException e) {
             e.printStackTrace();
@@ -1502,24 +7481,43 @@ class ProjectManagementPanel extends JPanel {
     }
 
     /**
-     * Deletes the selected project from the database.
+     * NEW: Puts the form into bulk mode when several projects are selected.
+     * Only deletion applies to a multi-row selection.
+     */
+    private void displayMultipleSelection() {
+        selectedProjectId = -1;
+        titleField.setText("");
+        descriptionArea.setText("");
+        linkField.setText("");
+        imagePreviewLabel.setIcon(null);
+        imagePreviewLabel.setText(projectTable.getSelectedRowCount() + " projects selected");
+        selectedImageFile = null;
+        addButton.setEnabled(false);
+        updateButton.setEnabled(false);
+        deleteButton.setEnabled(true);
+    }
+
+    /**
+     * Deletes the selected project(s) from the database with a single statement.
      */
     private void deleteProject() {
-        if (selectedProjectId == -1) {
+        List<Integer> ids = TableModelUtils.getSelectedIds(projectTable);
+        if (ids.isEmpty()) {
             JOptionPane.showMessageDialog(this, "No project selected for deletion.", "Selection Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
-        int confirm = JOptionPane.showConfirmDialog(this, "Are you sure you want to delete this project? (Note: Image file on server will NOT be deleted automatically)", "Confirm Deletion", JOptionPane.YES_NO_OPTION);
+        String prompt = ids.size() == 1
+                ? "Are you sure you want to delete this project? (Note: Image file on server will NOT be deleted automatically)"
+                : "Are you sure you want to delete these " + ids.size() + " projects? (Note: Image files on server will NOT be deleted automatically)";
+        int confirm = JOptionPane.showConfirmDialog(this, prompt, "Confirm Deletion", JOptionPane.YES_NO_OPTION);
         if (confirm == JOptionPane.YES_OPTION) {
-            String sql = "DELETE FROM projects WHERE id = ?";
-            try (Connection conn = DatabaseManager.getConnection();
-                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setInt(1, selectedProjectId);
-                pstmt.executeUpdate();
-                JOptionPane.showMessageDialog(this, "Project deleted successfully!");
+            try {
+                boolean written = OfflineJournal.submit(Repository.PROJECTS.delete("Delete " + ids.size() + " project(s)", ids));
+                projectView.remove(ids); // Update the table in place
+                JOptionPane.showMessageDialog(this, !written ? OfflineJournal.QUEUED_MESSAGE
+                        : ids.size() == 1 ? "Project deleted successfully!" : ids.size() + " projects deleted successfully!");
                 clearForm();
-                loadProjects(); // Refresh table
             } catch (SQLException e) {
                 e.printStackTrace();
                 JOptionPane.showMessageDialog(this, "Error deleting project: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -1555,7 +7553,11 @@ class ProjectManagementPanel extends JPanel {
         if (returnValue == JFileChooser.APPROVE_OPTION) {
             File selectedFile = fileChooser.getSelectedFile();
             try {
+                long start = System.nanoTime();
+                JfrEvents.ImageRead readEvent = JfrEvents.ImageRead.started();
                 BufferedImage originalImage = ImageIO.read(selectedFile);
+                MetricsRegistry.recordSince("image.preview.decode", start);
+                readEvent.finish(selectedFile.getName(), null, originalImage, selectedFile.length());
                 if (originalImage != null) {
                     selectedImageFile = selectedFile; // Store the selected file
                     displayImagePreview(originalImage);
@@ -1585,12 +7587,636 @@ class ProjectManagementPanel extends JPanel {
         int labelWidth = imagePreviewLabel.getWidth() > 0 ? imagePreviewLabel.getWidth() : 200;
         int labelHeight = imagePreviewLabel.getHeight() > 0 ? imagePreviewLabel.getHeight() : 120;
 
+        long start = System.nanoTime();
+        JfrEvents.ImageScale scaleEvent = JfrEvents.ImageScale.started();
         Image scaledImage = image.getScaledInstance(labelWidth, labelHeight, Image.SCALE_SMOOTH);
-        imagePreviewLabel.setIcon(new ImageIcon(scaledImage));
+        imagePreviewLabel.setIcon(new ImageIcon(scaledImage)); // ImageIcon waits for the scaling to finish
+        MetricsRegistry.recordSince("image.preview.scale", start);
+        scaleEvent.finish(image, labelWidth, labelHeight);
         imagePreviewLabel.setText(""); // Clear text when image is present
     }
 }
 
+/**
+ * Imports many projects at once from a folder of images or a CSV/JSON manifest.
+ * Images are validated and staged on a worker pool, then all rows are written as one
+ * {@link UnitOfWork}: JDBC batch inserts inside a single transaction, with the images moved
+ * into place right before the commit. Failures are collected per item instead of being
+ * reported one dialog at a time.
+ */
+class ProjectImporter {
+    private static final String[] IMAGE_EXTENSIONS = {"jpg", "jpeg", "png", "gif"};
+
+    /**
+     * One project to import, as read from the source.
+     */
+    static class Item {
+        final String source; // e.g. "line 12" or "photo.png", used in failure messages
+        final String title;
+        final String description;
+        final String link;
+        final File image;
+        String imageUrl; // Filled in once the image has been staged on the server
+        String error;
+
+        Item(String source, String title, String description, String link, File image) {
+            this.source = source;
+            this.title = title == null ? "" : title.trim();
+            this.description = description == null ? "" : description.trim();
+            this.link = link == null || link.trim().isEmpty() ? null : link.trim();
+            this.image = image;
+        }
+    }
+
+    /**
+     * Outcome of an import run.
+     */
+    static class Result {
+        private final int imported;
+        private final List<String> failures;
+
+        Result(int imported, List<String> failures) {
+            this.imported = imported;
+            this.failures = failures;
+        }
+
+        public int getImported() { return imported; }
+        public List<String> getFailures() { return failures; }
+    }
+
+    /**
+     * Receives progress updates from the worker threads.
+     */
+    interface ProgressListener {
+        void onProgress(int done, int total, String message);
+    }
+
+    /**
+     * Reads import items from a folder, a .csv manifest or a .json manifest.
+     * In folder mode each image becomes a project titled after its file name; a .txt file
+     * with the same base name, if present, supplies the description.
+     * Manifests use the fields title, description, link and image (relative to the manifest).
+     * NEW: A record without an image may carry image_url, an already published URL, as in the
+     * projects.json written by the "export" command.
+     * @param source The folder or manifest file.
+     * @return The items to import.
+     * @throws IOException If the source cannot be read or parsed.
+     */
+    public static List<Item> readSource(File source) throws IOException {
+        if (source.isDirectory()) {
+            return readFolder(source);
+        }
+        String name = source.getName().toLowerCase();
+        String text = new String(Files.readAllBytes(source.toPath()), java.nio.charset.StandardCharsets.UTF_8);
+        File baseDir = source.getAbsoluteFile().getParentFile();
+        List<Map<String, String>> records;
+        if (name.endsWith(".json")) {
+            records = SimpleJson.parseRecords(text);
+        } else if (name.endsWith(".csv")) {
+            records = parseCsv(text);
+        } else {
+            throw new IOException("Unsupported import source: " + source.getName() + " (expected a folder, .csv or .json)");
+        }
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < records.size(); i++) {
+            Map<String, String> record = records.get(i);
+            String imagePath = record.get("image");
+            File image = null;
+            if (imagePath != null && !imagePath.trim().isEmpty()) {
+                image = new File(imagePath.trim());
+                if (!image.isAbsolute()) {
+                    image = new File(baseDir, imagePath.trim());
+                }
+            }
+            Item item = new Item("record " + (i + 1), record.get("title"), record.get("description"), record.get("link"), image);
+            if (image == null) {
+                item.imageUrl = record.get("image_url"); // NEW: Kept as is, nothing to copy
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static List<Item> readFolder(File folder) throws IOException {
+        File[] files = folder.listFiles();
+        if (files == null) {
+            throw new IOException("Cannot list folder: " + folder.getAbsolutePath());
+        }
+        java.util.Arrays.sort(files); // Deterministic order, and therefore deterministic IDs
+        List<Item> items = new ArrayList<>();
+        for (File file : files) {
+            String fileName = file.getName();
+            int dotIndex = fileName.lastIndexOf('.');
+            if (!file.isFile() || dotIndex <= 0) continue;
+            String extension = fileName.substring(dotIndex + 1).toLowerCase();
+            if (!java.util.Arrays.asList(IMAGE_EXTENSIONS).contains(extension)) continue;
+
+            String baseName = fileName.substring(0, dotIndex);
+            String title = baseName.replace('_', ' ').replace('-', ' ').trim();
+            String description = title;
+            File sidecar = new File(folder, baseName + ".txt");
+            if (sidecar.isFile()) {
+                description = new String(Files.readAllBytes(sidecar.toPath()), java.nio.charset.StandardCharsets.UTF_8);
+            }
+            items.add(new Item(fileName, title, description, null, file));
+        }
+        return items;
+    }
+
+    /**
+     * Parses CSV with a header row. Supports quoted fields containing commas,
+     * line breaks and doubled quotes.
+     */
+    static List<Map<String, String>> parseCsv(String text) {
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') i++;
+                row.add(field.toString());
+                field.setLength(0);
+                rows.add(row);
+                row = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        if (field.length() > 0 || !row.isEmpty()) {
+            row.add(field.toString());
+            rows.add(row);
+        }
+
+        List<Map<String, String>> records = new ArrayList<>();
+        if (rows.isEmpty()) return records;
+        List<String> header = rows.get(0);
+        for (int r = 1; r < rows.size(); r++) {
+            List<String> values = rows.get(r);
+            if (values.size() == 1 && values.get(0).trim().isEmpty()) continue; // Blank line
+            Map<String, String> record = new java.util.LinkedHashMap<>();
+            for (int c = 0; c < header.size() && c < values.size(); c++) {
+                record.put(header.get(c).trim().toLowerCase(), values.get(c));
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * Runs the import: validates items, stages images concurrently, then inserts all rows
+     * in one transaction. Called from a background thread.
+     * @param items The items to import.
+     * @param listener Receives progress updates; may be called from pool threads.
+     * @return The number of imported rows and a message for every failed item.
+     */
+    public static Result importItems(List<Item> items, ProgressListener listener) {
+        List<String> failures = new ArrayList<>();
+        int total = items.size();
+
+        // Stage 1: validate and stage images on a worker pool
+        UnitOfWork work = new UnitOfWork(); // NEW: Every row and image of the import, committed together
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger done = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (Item item : items) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                prepare(item, work);
+                int count = done.incrementAndGet();
+                listener.onProgress(count, total, (item.error == null ? "Prepared " : "Skipped ") + item.source);
+            }, pool));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        pool.shutdown();
+
+        List<Item> valid = new ArrayList<>();
+        for (Item item : items) {
+            if (item.error == null) {
+                valid.add(item);
+            } else {
+                failures.add(item.source + ": " + item.error);
+            }
+        }
+
+        // Stage 2: batch insert all valid rows in one transaction
+        int imported = 0;
+        boolean committed = false;
+        try {
+            if (!valid.isEmpty()) {
+                listener.onProgress(total, total, "Inserting " + valid.size() + " projects...");
+                List<List<Integer>> ids = new ArrayList<>();
+                for (Item item : valid) {
+                    work.add(Repository.PROJECTS.insert("Import " + item.source, item.title, item.description, item.imageUrl, item.link));
+                    ids.add(Collections.emptyList());
+                }
+                DatabaseManager.apply(work, ids); // Consecutive inserts share batches; one ProjectAdded event for all rows
+                committed = true;
+                imported = valid.size();
+                listener.onProgress(total, total, "Inserted " + imported + " projects");
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            for (Item item : valid) {
+                failures.add(item.source + ": not inserted (" + e.getMessage() + ")");
+            }
+        } finally {
+            if (!committed) {
+                work.discard(); // Nothing was committed, so no staged image may stay behind
+            }
+        }
+        return new Result(imported, failures);
+    }
+
+    /** Validates one item and stages its image in the work, recording any error on the item. */
+    private static void prepare(Item item, UnitOfWork work) {
+        if (item.title.isEmpty() || item.description.isEmpty()) {
+            item.error = "Title and Description cannot be empty.";
+            return;
+        }
+        if (item.image == null) {
+            return; // Image is optional
+        }
+        if (!item.image.isFile()) {
+            item.error = "Image not found: " + item.image.getPath();
+            return;
+        }
+        try (javax.imageio.stream.ImageInputStream in = ImageIO.createImageInputStream(item.image)) {
+            // Only the header is decoded here; the full decode happens in ImageOptimizer
+            Iterator<javax.imageio.ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                item.error = "Not a readable image: " + item.image.getName();
+                return;
+            }
+            javax.imageio.ImageReader reader = readers.next();
+            try {
+                reader.setInput(in);
+                reader.getWidth(0);
+            } finally {
+                reader.dispose();
+            }
+
+            File destinationFile = work.stage(item.image, PortfolioAdminApp.PROJECT_IMAGE_BASE_DIR); // NEW: Optimized once committed
+            item.imageUrl = PortfolioAdminApp.PROJECT_IMAGE_BASE_URL + destinationFile.getName();
+        } catch (IOException e) {
+            item.error = "Error saving image to server: " + e.getMessage();
+        }
+    }
+}
+
+/**
+ * Minimal JSON reader for import manifests.
+ * Supports objects, arrays, strings, numbers, booleans and null.
+ */
+class SimpleJson {
+    private final String text;
+    private int pos;
+
+    private SimpleJson(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parses any JSON value.
+     * @return A Map, List, String, Double, Boolean or null.
+     * @throws IOException If the text is not valid JSON.
+     */
+    public static Object parse(String text) throws IOException {
+        SimpleJson parser = new SimpleJson(text);
+        Object value = parser.readValue();
+        parser.skipWhitespace();
+        if (parser.pos != text.length()) {
+            throw parser.error("Unexpected trailing content");
+        }
+        return value;
+    }
+
+    /**
+     * Parses a JSON array of flat objects into string records.
+     * A top-level object with a "projects" array is accepted as well.
+     */
+    public static List<Map<String, String>> parseRecords(String text) throws IOException {
+        Object root = parse(text);
+        if (root instanceof Map && ((Map<?, ?>) root).get("projects") instanceof List) {
+            root = ((Map<?, ?>) root).get("projects");
+        }
+        if (!(root instanceof List)) {
+            throw new IOException("Manifest must be a JSON array of objects");
+        }
+        List<Map<String, String>> records = new ArrayList<>();
+        for (Object element : (List<?>) root) {
+            if (!(element instanceof Map)) {
+                throw new IOException("Manifest entries must be JSON objects");
+            }
+            Map<String, String> record = new java.util.LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) element).entrySet()) {
+                Object value = entry.getValue();
+                record.put(String.valueOf(entry.getKey()).toLowerCase(), value == null ? null : String.valueOf(value));
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    private Object readValue() throws IOException {
+        skipWhitespace();
+        if (pos >= text.length()) throw error("Unexpected end of input");
+        char c = text.charAt(pos);
+        switch (c) {
+            case '{': return readObject();
+            case '[': return readArray();
+            case '"': return readString();
+            case 't': expect("true"); return Boolean.TRUE;
+            case 'f': expect("false"); return Boolean.FALSE;
+            case 'n': expect("null"); return null;
+            default: return readNumber();
+        }
+    }
+
+    private Map<String, Object> readObject() throws IOException {
+        Map<String, Object> map = new java.util.LinkedHashMap<>();
+        pos++; // '{'
+        skipWhitespace();
+        if (peek() == '}') { pos++; return map; }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') throw error("Expected string key");
+            String key = readString();
+            skipWhitespace();
+            if (peek() != ':') throw error("Expected ':'");
+            pos++;
+            map.put(key, readValue());
+            skipWhitespace();
+            char c = peek();
+            pos++;
+            if (c == '}') return map;
+            if (c != ',') throw error("Expected ',' or '}'");
+        }
+    }
+
+    private List<Object> readArray() throws IOException {
+        List<Object> list = new ArrayList<>();
+        pos++; // '['
+        skipWhitespace();
+        if (peek() == ']') { pos++; return list; }
+        while (true) {
+            list.add(readValue());
+            skipWhitespace();
+            char c = peek();
+            pos++;
+            if (c == ']') return list;
+            if (c != ',') throw error("Expected ',' or ']'");
+        }
+    }
+
+    private String readString() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        pos++; // opening quote
+        while (pos < text.length()) {
+            char c = text.charAt(pos++);
+            if (c == '"') return sb.toString();
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (pos >= text.length()) break;
+            char escaped = text.charAt(pos++);
+            switch (escaped) {
+                case 'n': sb.append('\n'); break;
+                case 't': sb.append('\t'); break;
+                case 'r': sb.append('\r'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'u':
+                    if (pos + 4 > text.length()) throw error("Bad unicode escape");
+                    sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                    pos += 4;
+                    break;
+                default: sb.append(escaped); // \" \\ \/
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private Double readNumber() throws IOException {
+        int start = pos;
+        while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) pos++;
+        if (start == pos) throw error("Unexpected character '" + text.charAt(pos) + "'");
+        try {
+            return Double.valueOf(text.substring(start, pos));
+        } catch (NumberFormatException e) {
+            throw error("Bad number");
+        }
+    }
+
+    private void expect(String literal) throws IOException {
+        if (!text.startsWith(literal, pos)) throw error("Expected " + literal);
+        pos += literal.length();
+    }
+
+    private char peek() throws IOException {
+        if (pos >= text.length()) throw error("Unexpected end of input");
+        return text.charAt(pos);
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+    }
+
+    private IOException error(String message) {
+        return new IOException("Invalid JSON at offset " + pos + ": " + message);
+    }
+
+    /**
+     * NEW: Writes a string as a JSON literal, quotes included.
+     * @param value The string to quote; null becomes the literal null.
+     * @return The escaped literal.
+     */
+    public static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
+
+/**
+ * Non-modal window that runs a {@link ProjectImporter} in the background,
+ * streams progress, and lists per-item failures when the run finishes.
+ */
+class ProjectImportDialog extends JDialog {
+    private final Runnable onFinished; // Called on the EDT after rows were imported
+    private JLabel sourceLabel;
+    private JProgressBar progressBar;
+    private JTextArea logArea;
+    private JButton chooseButton, startButton;
+    private File selectedSource;
+
+    /**
+     * Constructor for ProjectImportDialog.
+     * @param owner The window the dialog belongs to.
+     * @param onFinished Callback used to refresh the projects table after an import.
+     */
+    public ProjectImportDialog(Window owner, Runnable onFinished) {
+        super(owner, "Bulk Import Projects", ModalityType.MODELESS);
+        this.onFinished = onFinished;
+        setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        setSize(700, 500);
+        setLocationRelativeTo(owner);
+
+        JPanel content = new JPanel(new BorderLayout(10, 10));
+        content.setBackground(PortfolioAdminApp.BACKGROUND_PANEL);
+        content.setBorder(new EmptyBorder(15, 15, 15, 15));
+
+        JPanel topPanel = new JPanel(new BorderLayout(10, 10));
+        topPanel.setOpaque(false);
+        sourceLabel = new JLabel("Choose a folder of images, or a .csv / .json manifest (title, description, link, image).");
+        sourceLabel.setFont(PortfolioAdminApp.FONT_BODY);
+        sourceLabel.setForeground(PortfolioAdminApp.TEXT_DARK);
+        topPanel.add(sourceLabel, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        buttonPanel.setOpaque(false);
+        chooseButton = new GradientButton(
+            "Choose Source",
+            PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_START,
+            PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_END,
+            PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_HOVER_START,
+            PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_HOVER_END
+        );
+        startButton = new GradientButton(
+            "Start Import",
+            PortfolioAdminApp.GRADIENT_ACCENT_GREEN_START,
+            PortfolioAdminApp.GRADIENT_ACCENT_GREEN_END,
+            PortfolioAdminApp.GRADIENT_ACCENT_GREEN_HOVER_START,
+            PortfolioAdminApp.GRADIENT_ACCENT_GREEN_HOVER_END
+        );
+        startButton.setEnabled(false);
+        chooseButton.addActionListener(e -> chooseSource());
+        startButton.addActionListener(e -> startImport());
+        buttonPanel.add(chooseButton);
+        buttonPanel.add(startButton);
+        topPanel.add(buttonPanel, BorderLayout.SOUTH);
+        content.add(topPanel, BorderLayout.NORTH);
+
+        logArea = new JTextArea();
+        logArea.setEditable(false);
+        logArea.setFont(PortfolioAdminApp.FONT_BODY);
+        JScrollPane logScrollPane = new JScrollPane(logArea);
+        logScrollPane.setBorder(BorderFactory.createLineBorder(PortfolioAdminApp.BORDER_COLOR, 1, true));
+        content.add(logScrollPane, BorderLayout.CENTER);
+
+        progressBar = new JProgressBar();
+        progressBar.setStringPainted(true);
+        progressBar.setFont(PortfolioAdminApp.FONT_BODY);
+        content.add(progressBar, BorderLayout.SOUTH);
+
+        setContentPane(content);
+    }
+
+    /**
+     * Opens a file chooser accepting folders and manifest files.
+     */
+    private void chooseSource() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Choose Import Folder or Manifest");
+        fileChooser.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);
+        fileChooser.setFileFilter(new FileNameExtensionFilter("Import manifests (.csv, .json)", "csv", "json"));
+        if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            selectedSource = fileChooser.getSelectedFile();
+            sourceLabel.setText("Source: " + selectedSource.getAbsolutePath());
+            startButton.setEnabled(true);
+        }
+    }
+
+    /**
+     * Reads the source and runs the import on a SwingWorker, streaming progress into the log.
+     */
+    private void startImport() {
+        chooseButton.setEnabled(false);
+        startButton.setEnabled(false);
+        logArea.setText("");
+        progressBar.setValue(0);
+        File source = selectedSource;
+
+        new SwingWorker<ProjectImporter.Result, String>() {
+            private final java.util.concurrent.Callable<ProjectImporter.Result> work = QueryLog.propagate(() -> {
+                List<ProjectImporter.Item> items = ProjectImporter.readSource(source);
+                publish("Read " + items.size() + " items from " + source.getName());
+                return ProjectImporter.importItems(items, (done, total, message) -> {
+                    setProgress(total == 0 ? 100 : done * 100 / total);
+                    publish(message);
+                });
+            });
+
+            @Override
+            protected ProjectImporter.Result doInBackground() throws Exception {
+                return work.call();
+            }
+
+            @Override
+            protected void process(List<String> messages) {
+                for (String message : messages) {
+                    logArea.append(message + "\n");
+                }
+                progressBar.setValue(getProgress());
+            }
+
+            @Override
+            protected void done() {
+                chooseButton.setEnabled(true);
+                startButton.setEnabled(true);
+                progressBar.setValue(100);
+                try {
+                    ProjectImporter.Result result = get();
+                    logArea.append("\nImported " + result.getImported() + " projects, "
+                            + result.getFailures().size() + " failed.\n");
+                    for (String failure : result.getFailures()) {
+                        logArea.append("  FAILED " + failure + "\n");
+                    }
+                    if (result.getImported() > 0 && onFinished != null) {
+                        onFinished.run();
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    cause.printStackTrace();
+                    logArea.append("\nImport aborted: " + cause.getMessage() + "\n");
+                }
+            }
+        }.execute();
+    }
+}
+
 /**
  * Panel for managing skills, now renamed to Experience, with categorization.
  * Allows viewing, adding, editing, and deleting experience entries within categories.
@@ -1612,10 +8238,18 @@ class ExperienceManagementPanel extends JPanel {
     // Keep track of the selected ID for each category (tab).
     // This map stores the ID of the currently selected experience entry for each category.
     private java.util.Map<String, Integer> selectedExperienceIds = new java.util.HashMap<>();
+    private static final int CATEGORY_COLUMN = 2; // NEW: Hidden model column; each tab holds one category
+    private static final int VERSION_COLUMN = 3; // NEW: Hidden model column with the row version
+    private Object[] editBase; // NEW: The selected entry as it was when editing began, for conflict checks
+    private RowsView experienceView; // NEW: Where the repository shows the entries
 
 
     private JButton addButton, updateButton, deleteButton, clearButton;
 
+    // NEW: Bulk move of selected entries to another category
+    private JComboBox<String> moveTargetComboBox;
+    private JButton moveButton;
+
     /**
      * Constructor for ExperienceManagementPanel.
      * @param parent The main application frame.
@@ -1733,6 +8367,24 @@ class ExperienceManagementPanel extends JPanel {
         skillNameField = createStyledTextField();
         experienceFormPanel.add(skillNameField, gbc);
 
+        // NEW: Move selected entries (one or many) to another category
+        gbc.gridx = 0; gbc.gridy = 1; gbc.weightx = 0; experienceFormPanel.add(createStyledLabel("Move Selected To:"), gbc);
+        gbc.gridx = 1; gbc.gridy = 1; gbc.weightx = 1.0;
+        JPanel movePanel = new JPanel(new BorderLayout(10, 0));
+        movePanel.setOpaque(false);
+        moveTargetComboBox = createStyledComboBox(new String[]{}); // Populated with the category list
+        movePanel.add(moveTargetComboBox, BorderLayout.CENTER);
+        moveButton = createStyledButton(
+            "Move Entries",
+            PortfolioAdminApp.GRADIENT_ACCENT_ORANGE_START,
+            PortfolioAdminApp.GRADIENT_ACCENT_ORANGE_END,
+            PortfolioAdminApp.GRADIENT_ACCENT_ORANGE_HOVER_START,
+            PortfolioAdminApp.GRADIENT_ACCENT_ORANGE_HOVER_END
+        );
+        moveButton.addActionListener(e -> moveSelectedExperiences());
+        movePanel.add(moveButton, BorderLayout.EAST);
+        experienceFormPanel.add(movePanel, gbc);
+
         // Buttons for Experience Entries
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 0));
         buttonPanel.setBackground(PortfolioAdminApp.BACKGROUND_PANEL);
@@ -1781,7 +8433,35 @@ class ExperienceManagementPanel extends JPanel {
         add(experienceFormPanel, BorderLayout.SOUTH);
 
         // Load data on panel initialization
-        loadCategoriesAndExperiences();
+        // NEW: Snapshot entries at once, fresh ones when the query returns, then edits as they are committed
+        RowsView categoryTables = Repository.SKILLS.view(tableModels::values, row -> tableModels.get(row[CATEGORY_COLUMN]));
+        experienceView = new RowsView() {
+            @Override
+            public void show(List<Object[]> rows) {
+                showExperiences(rows);
+            }
+
+            @Override
+            public void apply(List<Object[]> changed, java.util.Collection<Integer> removedIds) {
+                for (Object[] row : changed) {
+                    if (!tableModels.containsKey(row[CATEGORY_COLUMN])) {
+                        // A category without a tab yet; the snapshot already includes this change
+                        List<Object[]> rows = LocalSnapshot.rows("skills");
+                        if (rows != null) {
+                            showExperiences(rows);
+                        }
+                        return;
+                    }
+                }
+                categoryTables.apply(changed, removedIds);
+            }
+
+            @Override
+            public void renumber(int placeholderId, int id) {
+                categoryTables.renumber(placeholderId, id);
+            }
+        };
+        Repository.SKILLS.open(this, experienceView);
         clearForm(); // Set initial button states for experience entry form
     }
 
@@ -1795,7 +8475,7 @@ class ExperienceManagementPanel extends JPanel {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setOpaque(false); // Transparent to show background gradient
 
-        String[] columnNames = {"ID", "Name"};
+        String[] columnNames = {"ID", "Name", "Category", "Version"}; // NEW: "Category" and "Version" are not shown
         DefaultTableModel model = new DefaultTableModel(columnNames, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -1804,14 +8484,28 @@ class ExperienceManagementPanel extends JPanel {
         };
         // Declare and initialize 'table' before using it
         JTable table = new JTable(model); 
+        table.removeColumn(table.getColumnModel().getColumn(VERSION_COLUMN)); // NEW: Kept in the model only
+        table.removeColumn(table.getColumnModel().getColumn(CATEGORY_COLUMN));
         tableModels.put(category, model);
         tables.put(category, table); // Now 'table' is defined
         selectedExperienceIds.put(category, -1); // Initialize selected ID for this category
 
-        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.setSelectionModel(TableModelUtils.rowSelection()); // NEW: Stays on its rows across refreshes
+        table.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION); // Ctrl/Shift-click for bulk actions
         table.getSelectionModel().addListSelectionListener(e -> {
             // Ensure this listener only acts on the currently visible tab
-            if (!e.getValueIsAdjusting() && table.getSelectedRow() != -1 && tabbedPane.getSelectedComponent() == panel) {
+            if (!e.getValueIsAdjusting() && tabbedPane.getSelectedComponent() == panel) {
+                int selectedCount = table.getSelectedRowCount();
+                if (selectedCount == 1) {
+                    displaySelectedExperience(category);
+                } else if (selectedCount > 1) {
+                    displayMultipleSelection(category);
+                }
+            }
+        });
+        TableModelUtils.refreshFormOnUpdate(table, () -> editBase != null // NEW
+                && TableModelUtils.differs(skillNameField.getText(), editBase[1]), () -> {
+            if (tabbedPane.getSelectedComponent() == panel) {
                 displaySelectedExperience(category);
             }
         });
@@ -1910,35 +8604,10 @@ class ExperienceManagementPanel extends JPanel {
     }
 
     /**
-     * Loads categories from the database and then loads all experience entries.
-     * This rebuilds the tabs and populates the tables.
+     * Loads all experience entries from the database; the tabs are rebuilt if the categories changed.
      */
     private void loadCategoriesAndExperiences() {
-        // Clear existing tabs and models
-        tabbedPane.removeAll();
-        tableModels.clear();
-        tables.clear();
-        // Do NOT clear selectedExperienceIds here.
-        // It should persist selected IDs for each category even if tabs are rebuilt.
-
-        List<String> categories = getDistinctExperienceCategories();
-        // Sort categories alphabetically for consistent display
-        Collections.sort(categories);
-
-        if (categories.isEmpty()) {
-            // Add a default category if none exist, or display a message
-            addNewCategory("General"); // Add a default "General" category if DB is empty
-            categories = getDistinctExperienceCategories(); // Reload after adding default
-        }
-
-        // Recreate tabs for each category found in the database
-        for (String category : categories) {
-            JPanel categoryPanel = createCategoryPanel(category);
-            tabbedPane.addTab(category, categoryPanel);
-        }
-
-        loadAllExperienceEntries(); // Now load all actual experience entries into the correct tables
-        updateCategorySelector(); // Update the JComboBox for delete actions
+        Repository.SKILLS.reload(this, experienceView); // NEW: Off the EDT; the tabs follow the categories of the rows
     }
 
     /**
@@ -1952,57 +8621,58 @@ class ExperienceManagementPanel extends JPanel {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
-                distinctCategories.add(rs.getString("category"));
+                distinctCategories.add(rs.getString(1));
             }
         } catch (SQLException e) {
             e.printStackTrace();
-            JOptionPane.showMessageDialog(this, "Error fetching categories: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+            if (!(e instanceof DatabaseUnavailableException)) { // NEW: Outages are shown by the status banner
+                JOptionPane.showMessageDialog(this, "Error fetching categories: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+            }
         }
         return distinctCategories;
     }
 
     /**
-     * Loads all experience entries from the database into their respective category tables.
+     * NEW: Shows skills rows (id, name, category, version), e.g. from the local snapshot, without querying
+     * the database. The tabs are rebuilt only if the set of categories changed.
      */
-    private void loadAllExperienceEntries() {
-        // Clear all existing table models before reloading
-        for (DefaultTableModel model : tableModels.values()) {
-            model.setRowCount(0);
+    private void showExperiences(List<Object[]> rows) {
+        java.util.TreeMap<String, List<Object[]>> byCategory = new java.util.TreeMap<>(); // Sorted like the tabs
+        for (Object[] row : rows) {
+            String category = (String) row[CATEGORY_COLUMN];
+            if (category != null && !category.isEmpty()) {
+                byCategory.computeIfAbsent(category, k -> new ArrayList<>()).add(row);
+            }
         }
-
-        String sql = "SELECT id, name, category FROM skills ORDER BY category, name"; // -- Removed 'level' from SELECT
-        try (Connection conn = DatabaseManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                int id = rs.getInt("id");
-                String name = rs.getString("name");
-                // REMOVED: String level = rs.getString("level"); // This line should be gone
-                String category = rs.getString("category");
-
-                DefaultTableModel model = tableModels.get(category);
-                if (model != null) {
-                    // CORRECTED: Only 'id' and 'name' are added to the row
-                    model.addRow(new Object[]{id, name}); //
-                } else {
-                    System.err.println("Warning: Experience entry found with unknown category '" + category + "'. Skipping for display.");
-                }
+        if (!byCategory.keySet().equals(tableModels.keySet())) {
+            int selectedIndex = tabbedPane.getSelectedIndex();
+            String selectedCategory = selectedIndex == -1 ? null : tabbedPane.getTitleAt(selectedIndex);
+            tabbedPane.removeAll();
+            tableModels.clear();
+            tables.clear();
+            for (String category : byCategory.keySet()) {
+                tabbedPane.addTab(category, createCategoryPanel(category));
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this, "Error loading experience entries: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+            int restored = selectedCategory == null ? -1 : tabbedPane.indexOfTab(selectedCategory);
+            if (restored != -1) {
+                tabbedPane.setSelectedIndex(restored);
+            }
+            updateCategorySelector(new ArrayList<>(byCategory.keySet()));
+        }
+        for (Map.Entry<String, List<Object[]>> entry : byCategory.entrySet()) {
+            TableModelUtils.syncRows(tableModels.get(entry.getKey()), entry.getValue());
         }
     }
 
     /**
-     * Updates the ComboBox with the current list of categories.
+     * NEW: Fills the category selectors from a list that is already known.
      */
-    private void updateCategorySelector() {
+    private void updateCategorySelector(List<String> categories) {
         categorySelectorForRenameDelete.removeAllItems();
-        List<String> categories = getDistinctExperienceCategories();
+        moveTargetComboBox.removeAllItems();
         for (String cat : categories) {
             categorySelectorForRenameDelete.addItem(cat);
+            moveTargetComboBox.addItem(cat);
         }
         if (categorySelectorForRenameDelete.getItemCount() > 0) {
             categorySelectorForRenameDelete.setSelectedIndex(0);
@@ -2027,6 +8697,7 @@ class ExperienceManagementPanel extends JPanel {
         if (selectedRow != -1) {
             int experienceId = (int) currentModel.getValueAt(selectedRow, 0);
             String experienceName = (String) currentModel.getValueAt(selectedRow, 1);
+            editBase = TableModelUtils.rowValues(currentModel, selectedRow); // NEW: Base of the three-way conflict check
 
             // Store selected ID for this specific category
             selectedExperienceIds.put(category, experienceId);
@@ -2035,12 +8706,27 @@ class ExperienceManagementPanel extends JPanel {
             addButton.setEnabled(false); // Disable add when editing
             updateButton.setEnabled(true);
             deleteButton.setEnabled(true);
+            moveButton.setEnabled(true);
         } else {
             // If selection is cleared within a tab (e.g., user clicks off the row)
             clearForm();
         }
     }
 
+    /**
+     * NEW: Puts the form into bulk mode when several entries are selected in one category.
+     * Only delete and move apply to a multi-row selection.
+     * @param category The category whose table holds the selection.
+     */
+    private void displayMultipleSelection(String category) {
+        selectedExperienceIds.put(category, -1);
+        skillNameField.setText("");
+        addButton.setEnabled(false);
+        updateButton.setEnabled(false);
+        deleteButton.setEnabled(true);
+        moveButton.setEnabled(true);
+    }
+
     /**
      * Adds a new experience entry to the database based on the currently selected tab.
      */
@@ -2062,16 +8748,13 @@ class ExperienceManagementPanel extends JPanel {
         }
 
         // CORRECTED SQL: No 'level' column in INSERT, adjusted parameter count.
-        String sql = "INSERT INTO skills (name, category) VALUES (?, ?)"; //
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, name);
-            // REMOVED: pstmt.setString(2, level); // This line should be gone
-            pstmt.setString(2, category); // -- This index changed from 3 to 2
-            pstmt.executeUpdate();
-            JOptionPane.showMessageDialog(this, "Experience added successfully to " + category + "!");
+        // NEW: Journaled instead of lost while the database is unreachable
+        Mutation insert = Repository.SKILLS.insert("Add experience \"" + name + "\" to " + category, name, category);
+        try {
+            boolean written = OfflineJournal.submit(insert);
+            experienceView.put(Repository.SKILLS.newRow(insert)); // NEW: Add in place
+            JOptionPane.showMessageDialog(this, written ? "Experience added successfully to " + category + "!" : OfflineJournal.QUEUED_MESSAGE);
             clearForm();
-            loadAllExperienceEntries(); // Refresh all entries, affecting only the relevant table
         } catch (SQLException e) {
             e.printStackTrace();
             JOptionPane.showMessageDialog(this, "Error adding experience: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -2104,16 +8787,22 @@ class ExperienceManagementPanel extends JPanel {
         }
 
         // CORRECTED SQL: No 'level' column in UPDATE, adjusted parameter count.
-        String sql = "UPDATE skills SET name = ? WHERE id = ?"; //
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, name);
-            // REMOVED: pstmt.setString(2, level); // This line should be gone
-            pstmt.setInt(2, selectedId); // -- This index changed from 3 to 2
-            pstmt.executeUpdate();
-            JOptionPane.showMessageDialog(this, "Experience updated successfully in " + category + "!");
-            clearForm();
-            loadAllExperienceEntries(); // Refresh entries
+        Mutation update = Repository.SKILLS.update("Rename experience to \"" + name + "\" in " + category, selectedId,
+                editBase, name); // NEW: Checked against editBase
+        try {
+            EditConflictDialog.Outcome outcome = EditConflictDialog.submit(this, update);
+            if (outcome == EditConflictDialog.Outcome.KEEP_EDITING) {
+                return; // NEW: The form keeps the admin's edit
+            }
+            if (outcome != EditConflictDialog.Outcome.TOOK_THEIRS) {
+                experienceView.put(Repository.SKILLS.edited(update, editBase)); // NEW: In place; the SkillUpdated event brings the stored row
+                JOptionPane.showMessageDialog(this, outcome == EditConflictDialog.Outcome.SAVED
+                        ? "Experience updated successfully in " + category + "!" : OfflineJournal.QUEUED_MESSAGE);
+                clearForm();
+            } else {
+                clearForm();
+                loadCategoriesAndExperiences(); // NEW: The admin took the other version
+            }
         } catch (SQLException e) {
             e.printStackTrace();
             JOptionPane.showMessageDialog(this, "Error updating experience: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -2130,23 +8819,26 @@ class ExperienceManagementPanel extends JPanel {
             return;
         }
         String category = tabbedPane.getTitleAt(selectedTabIndex);
-        int selectedId = selectedExperienceIds.getOrDefault(category, -1); // Get selected ID for current category
+        JTable currentTable = tables.get(category);
+        List<Integer> ids = currentTable == null ? new ArrayList<>() : TableModelUtils.getSelectedIds(currentTable);
 
-        if (selectedId == -1) {
+        if (ids.isEmpty()) {
             JOptionPane.showMessageDialog(this, "No experience selected for deletion in " + category + ".", "Selection Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
-        int confirm = JOptionPane.showConfirmDialog(this, "Are you sure you want to delete this experience from " + category + "?", "Confirm Deletion", JOptionPane.YES_NO_OPTION);
+        String prompt = ids.size() == 1
+                ? "Are you sure you want to delete this experience from " + category + "?"
+                : "Are you sure you want to delete these " + ids.size() + " experiences from " + category + "?";
+        int confirm = JOptionPane.showConfirmDialog(this, prompt, "Confirm Deletion", JOptionPane.YES_NO_OPTION);
         if (confirm == JOptionPane.YES_OPTION) {
-            String sql = "DELETE FROM skills WHERE id = ?";
-            try (Connection conn = DatabaseManager.getConnection();
-                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setInt(1, selectedId);
-                pstmt.executeUpdate();
-                JOptionPane.showMessageDialog(this, "Experience deleted successfully from " + category + "!");
+            try {
+                boolean written = OfflineJournal.submit(Repository.SKILLS.delete(
+                        "Delete " + ids.size() + " experience(s) from " + category, ids));
+                experienceView.remove(ids); // Update the table in place
+                JOptionPane.showMessageDialog(this, !written ? OfflineJournal.QUEUED_MESSAGE
+                        : (ids.size() == 1 ? "Experience" : ids.size() + " experiences") + " deleted successfully from " + category + "!");
                 clearForm();
-                loadAllExperienceEntries(); // Refresh entries
             } catch (SQLException e) {
                 e.printStackTrace();
                 JOptionPane.showMessageDialog(this, "Error deleting experience: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -2179,56 +8871,76 @@ class ExperienceManagementPanel extends JPanel {
         addButton.setEnabled(true);
         updateButton.setEnabled(false);
         deleteButton.setEnabled(false);
+        moveButton.setEnabled(false);
     }
 
     /**
-     * Adds a new category to the database and reloads all categories and experiences.
+     * NEW: Moves the selected entries of the current tab to the category chosen in the move selector.
+     * Runs a single UPDATE ... WHERE id IN (...) and moves the rows between table models in place.
      */
-    private void addNewCategory() {
-        String newCategory = newCategoryNameField.getText().trim();
-        if (newCategory.isEmpty()) {
-            JOptionPane.showMessageDialog(this, "Category name cannot be empty.", "Input Error", JOptionPane.WARNING_MESSAGE);
+    private void moveSelectedExperiences() {
+        int selectedTabIndex = tabbedPane.getSelectedIndex();
+        if (selectedTabIndex == -1) {
+            JOptionPane.showMessageDialog(this, "Please select an experience category tab first.", "Selection Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
+        String sourceCategory = tabbedPane.getTitleAt(selectedTabIndex);
+        String targetCategory = (String) moveTargetComboBox.getSelectedItem();
+        JTable currentTable = tables.get(sourceCategory);
+        List<Integer> ids = currentTable == null ? new ArrayList<>() : TableModelUtils.getSelectedIds(currentTable);
 
-        List<String> existingCategories = getDistinctExperienceCategories();
-        if (existingCategories.contains(newCategory)) {
-            JOptionPane.showMessageDialog(this, "Category '" + newCategory + "' already exists.", "Input Error", JOptionPane.WARNING_MESSAGE);
+        if (ids.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No experience selected to move in " + sourceCategory + ".", "Selection Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (targetCategory == null || targetCategory.equals(sourceCategory)) {
+            JOptionPane.showMessageDialog(this, "Please choose a different category to move to.", "Input Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
-        // CORRECTED SQL: No 'level' column in INSERT.
-        String sql = "INSERT INTO skills (name, category) VALUES (?, ?)"; //
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, "New Entry"); // Dummy name
-            // REMOVED: pstmt.setString(2, "Beginner"); // This line should be gone
-            pstmt.setString(2, newCategory); // -- This index changed from 3 to 2
-            pstmt.executeUpdate();
-            JOptionPane.showMessageDialog(this, "Category '" + newCategory + "' added successfully!");
-            newCategoryNameField.setText("");
-            loadCategoriesAndExperiences(); // Reload all categories and experiences
-            int newTabIndex = tabbedPane.indexOfTab(newCategory);
-            if (newTabIndex != -1) {
-                tabbedPane.setSelectedIndex(newTabIndex);
+        try {
+            boolean written = OfflineJournal.submit(Repository.SKILLS.updateAll("Move " + ids.size() + " experience(s) to " + targetCategory,
+                    DomainEvent.Kind.SKILL_UPDATED, "category = ?", ids, targetCategory));
+            List<Object[]> movedRows = TableModelUtils.removeRowsById(tableModels.get(sourceCategory), ids);
+            DefaultTableModel targetModel = tableModels.get(targetCategory);
+            if (targetModel != null) {
+                for (Object[] row : movedRows) {
+                    row[CATEGORY_COLUMN] = targetCategory;
+                    // Keep the "ORDER BY name" order of the skills query
+                    int insertAt = 0;
+                    while (insertAt < targetModel.getRowCount()
+                            && String.CASE_INSENSITIVE_ORDER.compare((String) targetModel.getValueAt(insertAt, 1), (String) row[1]) <= 0) {
+                        insertAt++;
+                    }
+                    targetModel.insertRow(insertAt, row);
+                }
             }
+            JOptionPane.showMessageDialog(this, !written ? OfflineJournal.QUEUED_MESSAGE
+                    : "Moved " + ids.size() + " " + (ids.size() == 1 ? "entry" : "entries") + " from " + sourceCategory + " to " + targetCategory + ".");
+            if (written && tableModels.get(sourceCategory).getRowCount() == 0) {
+                // Categories only exist through their entries, so the emptied one is gone
+                loadCategoriesAndExperiences();
+            }
+            clearForm();
         } catch (SQLException e) {
             e.printStackTrace();
-            JOptionPane.showMessageDialog(this, "Error adding new category: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+            JOptionPane.showMessageDialog(this, "Error moving experiences: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
         }
     }
-    
+
     /**
-     * Overloaded method to add a category without user input (e.g., for default category).
+     * Adds a new category to the database and reloads all categories and experiences.
      */
-    private void addNewCategory(String categoryName) {
-        String newCategory = categoryName.trim();
+    private void addNewCategory() {
+        String newCategory = newCategoryNameField.getText().trim();
         if (newCategory.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Category name cannot be empty.", "Input Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
         List<String> existingCategories = getDistinctExperienceCategories();
         if (existingCategories.contains(newCategory)) {
+            JOptionPane.showMessageDialog(this, "Category '" + newCategory + "' already exists.", "Input Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
@@ -2236,17 +8948,25 @@ class ExperienceManagementPanel extends JPanel {
         String sql = "INSERT INTO skills (name, category) VALUES (?, ?)"; //
         try (Connection conn = DatabaseManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, "Sample Experience"); // Dummy data for the new category
+            pstmt.setString(1, "New Entry"); // Dummy name
             // REMOVED: pstmt.setString(2, "Beginner"); // This line should be gone
             pstmt.setString(2, newCategory); // -- This index changed from 3 to 2
             pstmt.executeUpdate();
-            System.out.println("Default category '" + newCategory + "' added.");
+            JOptionPane.showMessageDialog(this, "Category '" + newCategory + "' added successfully!");
+            newCategoryNameField.setText("");
+            // Reload all categories and experiences, then show the new tab
+            Repository.SKILLS.reload(this, experienceView, () -> {
+                int newTabIndex = tabbedPane.indexOfTab(newCategory);
+                if (newTabIndex != -1) {
+                    tabbedPane.setSelectedIndex(newTabIndex);
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
-            System.err.println("Error adding default category: " + e.getMessage());
+            JOptionPane.showMessageDialog(this, "Error adding new category: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
         }
     }
-
+    
     /**
      * Deletes the currently selected category and all its associated experience entries.
      */
@@ -2262,12 +8982,12 @@ class ExperienceManagementPanel extends JPanel {
                 "Confirm Category Deletion", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
 
         if (confirm == JOptionPane.YES_OPTION) {
+            // NEW: One transaction through the journal, like the other writes of this panel
             String sql = "DELETE FROM skills WHERE category = ?";
-            try (Connection conn = DatabaseManager.getConnection();
-                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setString(1, categoryToDelete);
-                pstmt.executeUpdate();
-                JOptionPane.showMessageDialog(this, "Category '" + categoryToDelete + "' and all its entries deleted successfully!");
+            try {
+                boolean written = OfflineJournal.submit(Mutation.statement("skills", "Delete category \"" + categoryToDelete + "\"", sql, categoryToDelete));
+                JOptionPane.showMessageDialog(this, !written ? OfflineJournal.QUEUED_MESSAGE
+                        : "Category '" + categoryToDelete + "' and all its entries deleted successfully!");
                 loadCategoriesAndExperiences(); // Reload all categories and experiences to update UI
                 clearForm(); // Clear the experience entry form
             } catch (SQLException e) {
@@ -2290,6 +9010,9 @@ class AboutManagementPanel extends JPanel {
     private JTextArea aboutContentArea;
     private JButton saveButton;
     private int aboutId = -1; // To store the ID of the about entry (should be 1)
+    private String loadedContent; // NEW: The text as loaded, to detect edits made elsewhere meanwhile
+    private Integer loadedVersion; // NEW: Its row version, for conflict checks
+    private RowsView aboutView; // NEW: Where the repository shows the about row
 
     // Components for the new "About Me Table" tab (for the single large text entry)
     private DefaultTableModel aboutTableModel;
@@ -2366,7 +9089,19 @@ class AboutManagementPanel extends JPanel {
 
         add(aboutTabbedPane, BorderLayout.CENTER);
 
-        loadAboutContent(); // Load main content when panel is initialized
+        // NEW: Snapshot text at once, the fresh one when the query returns, then edits as they are committed
+        aboutView = new RowsView() {
+            @Override
+            public void show(List<Object[]> rows) {
+                showFreshAboutContent(rows);
+            }
+
+            @Override
+            public void apply(List<Object[]> changed, java.util.Collection<Integer> removedIds) {
+                showFreshAboutContent(changed);
+            }
+        };
+        Repository.ABOUT.open(this, aboutView);
         // Note: aboutDetailsPanel will load its own data in its constructor
     }
 
@@ -2424,43 +9159,30 @@ class AboutManagementPanel extends JPanel {
     }
 
     /**
-     * Loads the 'About Me' content from the database and populates both the text area and the table.
+     * Loads the 'About Me' content from the database into the text area.
      */
     private void loadAboutContent() {
-        String sql = "SELECT id, content FROM about LIMIT 1"; // Assuming only one 'about' entry
-        try (Connection conn = DatabaseManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        Repository.ABOUT.reload(this, aboutView); // NEW: Off the EDT; the default row is created with the schema
+    }
 
-            // The aboutTableModel is no longer being used directly for display in a tab,
-            // but it's still being populated here as it's part of the existing logic.
-            // If the user wants to remove all traces of this table, this part could also be removed.
-            // For now, I'll keep it as the table model itself is a small memory footprint.
-            // aboutTableModel.setRowCount(0); // Clear table before loading - commented out as table is gone
+    /**
+     * NEW: Shows a newer about row unless the admin has unsaved typing in the text area.
+     */
+    private void showFreshAboutContent(List<Object[]> rows) {
+        if (!rows.isEmpty() && (loadedContent == null || aboutContentArea.getText().equals(loadedContent))) { // Never over unsaved typing
+            showAboutContent(rows.get(0));
+        }
+    }
 
-            if (rs.next()) {
-                aboutId = rs.getInt("id");
-                String content = rs.getString("content");
-                aboutContentArea.setText(content);
-                // aboutTableModel.addRow(new Object[]{aboutId, content}); // commented out as table is gone
-            } else {
-                // If no 'about' entry exists, create a default one
-                String insertSql = "INSERT INTO about (content) VALUES (?)";
-                try (PreparedStatement insertPstmt = conn.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
-                    insertPstmt.setString(1, "No about info yet. Please edit this section.");
-                    insertPstmt.executeUpdate();
-                    ResultSet generatedKeys = insertPstmt.getGeneratedKeys();
-                    if (generatedKeys.next()) {
-                        aboutId = generatedKeys.getInt(1);
-                    }
-                    String defaultContent = "No about info yet. Please edit this section.";
-                    aboutContentArea.setText(defaultContent);
-                    // aboutTableModel.addRow(new Object[]{aboutId, defaultContent}); // commented out as table is gone
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this, "Error loading about content: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+    /**
+     * NEW: Shows an about row (id, content), e.g. from the local snapshot.
+     */
+    private void showAboutContent(Object[] row) {
+        aboutId = (Integer) row[0];
+        loadedContent = (String) row[1];
+        loadedVersion = (Integer) row[2];
+        if (!aboutContentArea.getText().equals(loadedContent)) {
+            aboutContentArea.setText(loadedContent);
         }
     }
 
@@ -2475,34 +9197,34 @@ class AboutManagementPanel extends JPanel {
             return;
         }
 
-        String sql;
+        Mutation save;
         if (aboutId != -1) {
-            sql = "UPDATE about SET content = ? WHERE id = ?";
+            save = Repository.ABOUT.update("Edit the About Me text", aboutId,
+                    new Object[]{aboutId, loadedContent, loadedVersion}, content); // NEW: For conflict checks
         } else {
             // This case should ideally not happen if loadAboutContent is called,
             // but as a fallback, insert if ID is missing.
-            sql = "INSERT INTO about (content) VALUES (?)"; 
+            save = Repository.ABOUT.insert("Add the About Me text", content);
         }
 
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, content);
-            if (aboutId != -1) {
-                pstmt.setInt(2, aboutId);
-            }
-            pstmt.executeUpdate();
-
-            // If it was an insert and aboutId was -1, get the new ID
-            if (aboutId == -1) {
-                ResultSet generatedKeys = pstmt.getGeneratedKeys();
-                if (generatedKeys.next()) {
-                    aboutId = generatedKeys.getInt(1);
+        try {
+            // NEW: Journaled while the database is unreachable, checked against concurrent edits
+            EditConflictDialog.Outcome outcome = EditConflictDialog.submit(this, save);
+            if (outcome == EditConflictDialog.Outcome.SAVED || outcome == EditConflictDialog.Outcome.QUEUED) {
+                // If it was an insert and aboutId was -1, get the new ID
+                if (save.insert) {
+                    aboutId = save.getRowId();
                 }
+                // NEW: Shown as saved; the AboutSaved event then brings the stored row and its version
+                loadedContent = (String) save.params.get(0);
+                loadedVersion = save.insert ? Integer.valueOf(0) : save.expectedVersion == null ? null : save.expectedVersion + 1;
+                aboutContentArea.setText(loadedContent);
+                JOptionPane.showMessageDialog(this, outcome == EditConflictDialog.Outcome.SAVED
+                        ? "About Me content saved successfully!" : OfflineJournal.QUEUED_MESSAGE);
+            } else if (outcome == EditConflictDialog.Outcome.TOOK_THEIRS) {
+                loadedContent = null; // NEW: The admin took the other version; it replaces the typed text
+                loadAboutContent();
             }
-            
-            JOptionPane.showMessageDialog(this, "About Me content saved successfully!");
-            // Re-load to refresh both the text area and the table
-            loadAboutContent(); 
         } catch (SQLException e) {
             e.printStackTrace();
             JOptionPane.showMessageDialog(this, "Error saving about content: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -2524,6 +9246,9 @@ class AboutDetailsManagementPanel extends JPanel {
     private JTextArea descriptionArea;
     private JButton addButton, updateButton, deleteButton, clearButton;
     private int selectedDetailId = -1; // To store the ID of the selected detail for editing/deleting
+    private static final int VERSION_COLUMN = 3; // NEW: Hidden model column with the row version
+    private Object[] editBase; // NEW: The selected row as it was when editing began, for conflict checks
+    private RowsView detailView; // NEW: Where the repository shows the rows
 
     /**
      * Constructor for AboutDetailsManagementPanel.
@@ -2547,7 +9272,7 @@ class AboutDetailsManagementPanel extends JPanel {
 
         // --- Center Panel: Table of About Details ---
         // Removed "Type" from columnNames
-        String[] columnNames = {"ID", "Heading", "Description"};
+        String[] columnNames = {"ID", "Heading", "Description", "Version"}; // NEW: "Version" is not shown
         tableModel = new DefaultTableModel(columnNames, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -2555,12 +9280,28 @@ class AboutDetailsManagementPanel extends JPanel {
             }
         };
         detailsTable = new JTable(tableModel);
-        detailsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        detailsTable.removeColumn(detailsTable.getColumnModel().getColumn(VERSION_COLUMN)); // NEW: Kept in the model only
+        detailsTable.setSelectionModel(TableModelUtils.rowSelection()); // NEW: Stays on its rows across refreshes
+        detailsTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION); // Ctrl/Shift-click for bulk delete
         detailsTable.getSelectionModel().addListSelectionListener(e -> {
-            if (!e.getValueIsAdjusting() && detailsTable.getSelectedRow() != -1) {
-                displaySelectedDetail();
+            if (!e.getValueIsAdjusting()) {
+                int selectedCount = detailsTable.getSelectedRowCount();
+                if (selectedCount == 1) {
+                    displaySelectedDetail();
+                } else if (selectedCount > 1) {
+                    // Bulk mode: only deletion applies to several rows
+                    selectedDetailId = -1;
+                    headingField.setText("");
+                    descriptionArea.setText("");
+                    addButton.setEnabled(false);
+                    updateButton.setEnabled(false);
+                    deleteButton.setEnabled(true);
+                }
             }
         });
+        TableModelUtils.refreshFormOnUpdate(detailsTable, () -> editBase != null // NEW
+                && (TableModelUtils.differs(headingField.getText(), editBase[1])
+                || TableModelUtils.differs(descriptionArea.getText(), editBase[2])), this::displaySelectedDetail);
 
         // Table styling (reusing styling from other panels for consistency)
         detailsTable.setFont(PortfolioAdminApp.FONT_BODY);
@@ -2656,7 +9397,9 @@ class AboutDetailsManagementPanel extends JPanel {
         formPanel.add(buttonPanel, gbc);
         add(formPanel, BorderLayout.SOUTH);
 
-        loadAboutDetails(); // Load data when panel is initialized
+        // NEW: Snapshot rows at once, fresh ones when the query returns, then edits as they are committed
+        detailView = Repository.ABOUT_DETAILS.view(tableModel);
+        Repository.ABOUT_DETAILS.open(this, detailView);
         clearForm(); // Set initial button states
     }
 
@@ -2716,25 +9459,7 @@ class AboutDetailsManagementPanel extends JPanel {
      * Loads all structured about details from the database and populates the table.
      */
     private void loadAboutDetails() {
-        tableModel.setRowCount(0); // Clear existing data
-        // Removed 'type' from SELECT statement
-        String sql = "SELECT id, heading, description FROM about_details ORDER BY heading"; // Order by heading instead of type, heading
-        try (Connection conn = DatabaseManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                int id = rs.getInt("id");
-                // Removed: String type = rs.getString("type");
-                String heading = rs.getString("heading");
-                String description = rs.getString("description");
-                // Adjusted addRow call
-                tableModel.addRow(new Object[]{id, heading, description});
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this, "Error loading About Me details: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        Repository.ABOUT_DETAILS.reload(this, detailView); // NEW: Off the EDT
     }
 
     /**
@@ -2744,6 +9469,7 @@ class AboutDetailsManagementPanel extends JPanel {
         int selectedRow = detailsTable.getSelectedRow();
         if (selectedRow != -1) {
             selectedDetailId = (int) tableModel.getValueAt(selectedRow, 0);
+            editBase = TableModelUtils.rowValues(tableModel, selectedRow); // NEW: Base of the three-way conflict check
             // Removed: typeField.setText((String) tableModel.getValueAt(selectedRow, 1)); // Adjust column index
             headingField.setText((String) tableModel.getValueAt(selectedRow, 1)); // Heading is now at index 1
             descriptionArea.setText((String) tableModel.getValueAt(selectedRow, 2)); // Description is now at index 2
@@ -2768,24 +9494,13 @@ class AboutDetailsManagementPanel extends JPanel {
         }
 
         // Removed 'type' from INSERT statement
-        String sql = "INSERT INTO about_details (heading, description) VALUES (?, ?)";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, heading); // Heading is now at parameter index 1
-            pstmt.setString(2, description); // Description is now at parameter index 2
-
-            int affectedRows = pstmt.executeUpdate();
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        int id = generatedKeys.getInt(1);
-                        // Adjusted addRow call
-                        tableModel.addRow(new Object[]{id, heading, description});
-                        JOptionPane.showMessageDialog(this, "About Me detail added successfully!");
-                        clearForm();
-                    }
-                }
-            }
+        // NEW: Journaled instead of lost while the database is unreachable
+        Mutation insert = Repository.ABOUT_DETAILS.insert("Add About Me detail \"" + heading + "\"", heading, description);
+        try {
+            boolean written = OfflineJournal.submit(insert);
+            detailView.put(Repository.ABOUT_DETAILS.newRow(insert));
+            JOptionPane.showMessageDialog(this, written ? "About Me detail added successfully!" : OfflineJournal.QUEUED_MESSAGE);
+            clearForm();
         } catch (SQLException e) {
             e.printStackTrace();
             JOptionPane.showMessageDialog(this, "Error adding About Me detail: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -2811,16 +9526,21 @@ class AboutDetailsManagementPanel extends JPanel {
         }
 
         // Removed 'type' from UPDATE statement
-        String sql = "UPDATE about_details SET heading = ?, description = ? WHERE id = ?";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, heading); // Heading is now at parameter index 1
-            pstmt.setString(2, description); // Description is now at parameter index 2
-            pstmt.setInt(3, selectedDetailId); // selectedDetailId is now at parameter index 3
-            pstmt.executeUpdate();
-
-            JOptionPane.showMessageDialog(this, "About Me detail updated successfully!");
-            loadAboutDetails(); // Reload all details to update the table
+        Mutation update = Repository.ABOUT_DETAILS.update("Update About Me detail \"" + heading + "\"", selectedDetailId,
+                editBase, heading, description); // NEW: Checked against editBase
+        try {
+            EditConflictDialog.Outcome outcome = EditConflictDialog.submit(this, update);
+            if (outcome == EditConflictDialog.Outcome.KEEP_EDITING) {
+                return; // NEW: The form keeps the admin's edit
+            }
+            if (outcome == EditConflictDialog.Outcome.TOOK_THEIRS) {
+                loadAboutDetails(); // NEW: The admin took the other version
+            } else {
+                // NEW: Shown in place; the AboutDetailUpdated event then brings the stored row
+                detailView.put(Repository.ABOUT_DETAILS.edited(update, editBase));
+                JOptionPane.showMessageDialog(this, outcome == EditConflictDialog.Outcome.SAVED
+                        ? "About Me detail updated successfully!" : OfflineJournal.QUEUED_MESSAGE);
+            }
             clearForm();
         } catch (SQLException e) {
             e.printStackTrace();
@@ -2829,24 +9549,26 @@ class AboutDetailsManagementPanel extends JPanel {
     }
 
     /**
-     * Deletes the selected structured about detail entry from the database.
+     * Deletes the selected structured about detail entry (or entries) from the database.
      */
     private void deleteDetail() {
-        if (selectedDetailId == -1) {
+        List<Integer> ids = TableModelUtils.getSelectedIds(detailsTable);
+        if (ids.isEmpty()) {
             JOptionPane.showMessageDialog(this, "No About Me detail selected for deletion.", "Selection Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
-        int confirm = JOptionPane.showConfirmDialog(this, "Are you sure you want to delete this About Me detail entry?", "Confirm Deletion", JOptionPane.YES_NO_OPTION);
+        String prompt = ids.size() == 1
+                ? "Are you sure you want to delete this About Me detail entry?"
+                : "Are you sure you want to delete these " + ids.size() + " About Me detail entries?";
+        int confirm = JOptionPane.showConfirmDialog(this, prompt, "Confirm Deletion", JOptionPane.YES_NO_OPTION);
         if (confirm == JOptionPane.YES_OPTION) {
-            String sql = "DELETE FROM about_details WHERE id = ?";
-            try (Connection conn = DatabaseManager.getConnection();
-                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setInt(1, selectedDetailId);
-                pstmt.executeUpdate();
-                JOptionPane.showMessageDialog(this, "About Me detail deleted successfully!");
+            try {
+                boolean written = OfflineJournal.submit(Repository.ABOUT_DETAILS.delete("Delete " + ids.size() + " About Me detail(s)", ids));
+                detailView.remove(ids); // Update the table in place
+                JOptionPane.showMessageDialog(this, !written ? OfflineJournal.QUEUED_MESSAGE
+                        : ids.size() == 1 ? "About Me detail deleted successfully!" : ids.size() + " About Me details deleted successfully!");
                 clearForm();
-                loadAboutDetails(); // Refresh table
             } catch (SQLException e) {
                 e.printStackTrace();
                 JOptionPane.showMessageDialog(this, "Error deleting About Me detail: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -2883,6 +9605,9 @@ class ContactManagementPanel extends JPanel {
     private JButton addButton, updateButton, softDeleteButton, restoreButton, hardDeleteButton, clearButton;
     private int selectedContactId = -1; // For active contacts
     private int selectedDeletedContactId = -1; // For deleted contacts
+    private static final int VERSION_COLUMN = 3; // NEW: Hidden model column with the row version
+    private Object[] editBase; // NEW: The selected contact as it was when editing began, for conflict checks
+    private RowsView contactView; // NEW: Where the repository shows the rows; the deleted flag picks the table
 
     // Combined platform options, including "Other" for custom entries
     private static final String[] PLATFORMS = {"", "Email", "Phone", "LinkedIn", "GitHub", "Website", "Twitter", "Facebook", "Instagram", "Discord", "Telegram", "WhatsApp", "YouTube", "Blog", "Other"};
@@ -2924,7 +9649,7 @@ class ContactManagementPanel extends JPanel {
 
         // Active Contacts Table
         JPanel activePanel = createStyledTitledPanel("Active Contacts", new BorderLayout());
-        String[] activeColumnNames = {"ID", "Platform", "Link"};
+        String[] activeColumnNames = {"ID", "Platform", "Link", "Version"}; // NEW: "Version" is not shown
         activeTableModel = new DefaultTableModel(activeColumnNames, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -2932,16 +9657,25 @@ class ContactManagementPanel extends JPanel {
             }
         };
         activeContactTable = new JTable(activeTableModel);
-        activeContactTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        activeContactTable.removeColumn(activeContactTable.getColumnModel().getColumn(VERSION_COLUMN)); // NEW: Kept in the model only
+        activeContactTable.setSelectionModel(TableModelUtils.rowSelection()); // NEW: Stays on its rows across refreshes
+        activeContactTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION); // Ctrl/Shift-click for bulk actions
         activeContactTable.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting() && activeContactTable.getSelectedRow() != -1) {
-                displaySelectedActiveContact();
+                if (activeContactTable.getSelectedRowCount() == 1) {
+                    displaySelectedActiveContact();
+                } else {
+                    displayMultipleSelection(true);
+                }
                 // Clear selection in deleted table
                 deletedContactTable.clearSelection();
                 selectedDeletedContactId = -1;
                 restoreButton.setEnabled(false);
             }
         });
+        TableModelUtils.refreshFormOnUpdate(activeContactTable, () -> editBase != null // NEW
+                && (TableModelUtils.differs(java.util.Objects.toString(platformComboBox.getSelectedItem(), ""), editBase[1])
+                || TableModelUtils.differs(linkField.getText(), editBase[2])), this::displaySelectedActiveContact);
         // Table styling
         activeContactTable.setFont(PortfolioAdminApp.FONT_BODY);
         activeContactTable.setRowHeight(30);
@@ -2971,7 +9705,7 @@ class ContactManagementPanel extends JPanel {
 
         // Deleted Contacts Table
         JPanel deletedPanel = createStyledTitledPanel("Deleted Contacts (Trash)", new BorderLayout());
-        String[] deletedColumnNames = {"ID", "Platform", "Link"};
+        String[] deletedColumnNames = {"ID", "Platform", "Link", "Version"};
         deletedTableModel = new DefaultTableModel(deletedColumnNames, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -2979,10 +9713,15 @@ class ContactManagementPanel extends JPanel {
             }
         };
         deletedContactTable = new JTable(deletedTableModel);
-        deletedContactTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        deletedContactTable.removeColumn(deletedContactTable.getColumnModel().getColumn(VERSION_COLUMN));
+        deletedContactTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION); // Ctrl/Shift-click for bulk actions
         deletedContactTable.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting() && deletedContactTable.getSelectedRow() != -1) {
-                displaySelectedDeletedContact();
+                if (deletedContactTable.getSelectedRowCount() == 1) {
+                    displaySelectedDeletedContact();
+                } else {
+                    displayMultipleSelection(false);
+                }
                 // Clear selection in active table
                 activeContactTable.clearSelection();
                 selectedContactId = -1;
@@ -3092,12 +9831,29 @@ class ContactManagementPanel extends JPanel {
         buttonPanel.add(hardDeleteButton); // Add hard delete button
         buttonPanel.add(clearButton);
 
+        // NEW: Explicit full refresh; everything else updates the tables in place
+        JButton refreshButton = createStyledButton(
+            "Refresh",
+            PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_START,
+            PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_END,
+            PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_HOVER_START,
+            PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_HOVER_END
+        );
+        refreshButton.addActionListener(e -> {
+            clearForm();
+            loadContacts();
+        });
+        buttonPanel.add(refreshButton);
+
         gbc.gridx = 0; gbc.gridy = 2; gbc.gridwidth = 2;
         gbc.insets = new Insets(20, 10, 10, 10);
         formPanel.add(buttonPanel, gbc);
         add(formPanel, BorderLayout.SOUTH);
 
-        loadContacts(); // Load data when panel is initialized
+        // NEW: Snapshot rows at once, fresh ones when the query returns, then edits as they are committed
+        contactView = Repository.CONTACTS.view(() -> java.util.Arrays.asList(activeTableModel, deletedTableModel),
+                row -> row[4] == null || (Integer) row[4] == 0 ? activeTableModel : deletedTableModel);
+        Repository.CONTACTS.open(this, contactView);
         clearForm(); // Set initial button states
     }
 
@@ -3165,37 +9921,10 @@ class ContactManagementPanel extends JPanel {
     }
 
     /**
-     * Loads active and deleted contacts from the database and populates their respective tables.
+     * Loads active and deleted contacts with a single query and partitions them into their respective tables.
      */
     private void loadContacts() {
-        activeTableModel.setRowCount(0);
-        deletedTableModel.setRowCount(0);
-
-        // Load active contacts
-        String activeSql = "SELECT id, platform, link FROM contacts WHERE deleted = 0";
-        try (Connection conn = DatabaseManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(activeSql)) {
-            while (rs.next()) {
-                activeTableModel.addRow(new Object[]{rs.getInt("id"), rs.getString("platform"), rs.getString("link")});
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this, "Error loading active contacts: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
-
-        // Load deleted contacts
-        String deletedSql = "SELECT id, platform, link FROM contacts WHERE deleted = 1";
-        try (Connection conn = DatabaseManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(deletedSql)) {
-            while (rs.next()) {
-                deletedTableModel.addRow(new Object[]{rs.getInt("id"), rs.getString("platform"), rs.getString("link")});
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this, "Error loading deleted contacts: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        Repository.CONTACTS.reload(this, contactView); // NEW: Off the EDT
     }
 
     /**
@@ -3205,6 +9934,7 @@ class ContactManagementPanel extends JPanel {
         int selectedRow = activeContactTable.getSelectedRow();
         if (selectedRow != -1) {
             selectedContactId = (int) activeTableModel.getValueAt(selectedRow, 0);
+            editBase = TableModelUtils.rowValues(activeTableModel, selectedRow); // NEW: Base of the three-way conflict check
             platformComboBox.setSelectedItem((String) activeTableModel.getValueAt(selectedRow, 1));
             linkField.setText((String) activeTableModel.getValueAt(selectedRow, 2));
             addButton.setEnabled(false);
@@ -3232,6 +9962,34 @@ class ContactManagementPanel extends JPanel {
         }
     }
 
+    /**
+     * NEW: Puts the form into bulk mode when several contacts are selected in one table.
+     * @param active true if the selection is in the active table, false for the trash.
+     */
+    private void displayMultipleSelection(boolean active) {
+        selectedContactId = -1;
+        selectedDeletedContactId = -1;
+        platformComboBox.setSelectedIndex(0);
+        linkField.setText("");
+        addButton.setEnabled(false);
+        updateButton.setEnabled(false);
+        softDeleteButton.setEnabled(active);
+        restoreButton.setEnabled(!active);
+        hardDeleteButton.setEnabled(true);
+    }
+
+    /**
+     * NEW: Moves rows between the active and deleted tables in place after a soft delete or restore.
+     * @param from The model the rows are currently in.
+     * @param to The model the rows move to.
+     * @param ids The IDs of the rows to move.
+     */
+    private void moveRows(DefaultTableModel from, DefaultTableModel to, List<Integer> ids) {
+        for (Object[] row : TableModelUtils.removeRowsById(from, ids)) {
+            to.addRow(row);
+        }
+    }
+
     /**
      * Adds a new contact to the database.
      */
@@ -3248,15 +10006,13 @@ class ContactManagementPanel extends JPanel {
         // We will assume 'platform' is what should be stored for the type/value.
         // The table creation only defines 'platform' and 'link'. No 'type' or 'value' column.
         // So, we'll store only platform and link.
-        String sql = "INSERT INTO contacts (platform, link, deleted) VALUES (?, ?, 0)";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, platform);
-            pstmt.setString(2, link);
-            pstmt.executeUpdate();
-            JOptionPane.showMessageDialog(this, "Contact added successfully!");
+        // NEW: Journaled instead of lost while the database is unreachable
+        Mutation insert = Repository.CONTACTS.insert("Add " + platform + " contact", platform, link);
+        try {
+            boolean written = OfflineJournal.submit(insert);
+            contactView.put(Repository.CONTACTS.newRow(insert)); // Add in place
+            JOptionPane.showMessageDialog(this, written ? "Contact added successfully!" : OfflineJournal.QUEUED_MESSAGE);
             clearForm();
-            loadContacts(); // Refresh tables
         } catch (SQLException e) {
             e.printStackTrace();
             JOptionPane.showMessageDialog(this, "Error adding contact: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -3280,16 +10036,21 @@ class ContactManagementPanel extends JPanel {
             return;
         }
 
-        String sql = "UPDATE contacts SET platform = ?, link = ? WHERE id = ?";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, platform);
-            pstmt.setString(2, link);
-            pstmt.setInt(3, selectedContactId);
-            pstmt.executeUpdate();
-            JOptionPane.showMessageDialog(this, "Contact updated successfully!");
+        Mutation update = Repository.CONTACTS.update("Update " + platform + " contact", selectedContactId,
+                editBase, platform, link); // NEW: Checked against editBase
+        try {
+            EditConflictDialog.Outcome outcome = EditConflictDialog.submit(this, update);
+            if (outcome == EditConflictDialog.Outcome.KEEP_EDITING) {
+                return; // NEW: The form keeps the admin's edit
+            }
+            if (outcome == EditConflictDialog.Outcome.TOOK_THEIRS) {
+                loadContacts(); // NEW: The admin took the other version
+            } else {
+                contactView.put(Repository.CONTACTS.edited(update, editBase)); // Update the row in place
+                JOptionPane.showMessageDialog(this, outcome == EditConflictDialog.Outcome.SAVED
+                        ? "Contact updated successfully!" : OfflineJournal.QUEUED_MESSAGE);
+            }
             clearForm();
-            loadContacts(); // Refresh tables
         } catch (SQLException e) {
             e.printStackTrace();
             JOptionPane.showMessageDialog(this, "Error updating contact: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -3297,25 +10058,26 @@ class ContactManagementPanel extends JPanel {
     }
 
     /**
-     * Performs a soft delete on the selected active contact.
+     * Performs a soft delete on the selected active contact(s).
      */
     private void softDeleteContact() {
-        if (selectedContactId == -1) {
+        List<Integer> ids = TableModelUtils.getSelectedIds(activeContactTable);
+        if (ids.isEmpty()) {
             JOptionPane.showMessageDialog(this, "No active contact selected for soft deletion.", "Selection Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
         // Removed the restriction check for "Email" or "Phone" platforms
-        int confirm = JOptionPane.showConfirmDialog(this, "Are you sure you want to soft delete this contact?", "Confirm Soft Delete", JOptionPane.YES_NO_OPTION);
+        String prompt = ids.size() == 1 ? "Are you sure you want to soft delete this contact?" : "Are you sure you want to soft delete these " + ids.size() + " contacts?";
+        int confirm = JOptionPane.showConfirmDialog(this, prompt, "Confirm Soft Delete", JOptionPane.YES_NO_OPTION);
         if (confirm == JOptionPane.YES_OPTION) {
-            String sql = "UPDATE contacts SET deleted = 1 WHERE id = ?";
-            try (Connection conn = DatabaseManager.getConnection();
-                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setInt(1, selectedContactId);
-                pstmt.executeUpdate();
-                JOptionPane.showMessageDialog(this, "Contact soft deleted successfully!");
+            try {
+                boolean written = OfflineJournal.submit(Repository.CONTACTS.updateAll("Soft delete " + ids.size() + " contact(s)",
+                        DomainEvent.Kind.CONTACT_SOFT_DELETED, "deleted = 1, deleted_at = CURRENT_TIMESTAMP", ids));
+                moveRows(activeTableModel, deletedTableModel, ids); // Update the tables in place
+                JOptionPane.showMessageDialog(this, !written ? OfflineJournal.QUEUED_MESSAGE
+                        : ids.size() == 1 ? "Contact soft deleted successfully!" : ids.size() + " contacts soft deleted successfully!");
                 clearForm();
-                loadContacts(); // Refresh tables
             } catch (SQLException e) {
                 e.printStackTrace();
                 JOptionPane.showMessageDialog(this, "Error soft deleting contact: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -3324,24 +10086,25 @@ class ContactManagementPanel extends JPanel {
     }
 
     /**
-     * Restores a soft-deleted contact.
+     * Restores the selected soft-deleted contact(s).
      */
     private void restoreContact() {
-        if (selectedDeletedContactId == -1) {
+        List<Integer> ids = TableModelUtils.getSelectedIds(deletedContactTable);
+        if (ids.isEmpty()) {
             JOptionPane.showMessageDialog(this, "No deleted contact selected for restoration.", "Selection Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
-        int confirm = JOptionPane.showConfirmDialog(this, "Are you sure you want to restore this contact?", "Confirm Restore", JOptionPane.YES_NO_OPTION);
+        String prompt = ids.size() == 1 ? "Are you sure you want to restore this contact?" : "Are you sure you want to restore these " + ids.size() + " contacts?";
+        int confirm = JOptionPane.showConfirmDialog(this, prompt, "Confirm Restore", JOptionPane.YES_NO_OPTION);
         if (confirm == JOptionPane.YES_OPTION) {
-            String sql = "UPDATE contacts SET deleted = 0 WHERE id = ?";
-            try (Connection conn = DatabaseManager.getConnection();
-                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setInt(1, selectedDeletedContactId);
-                pstmt.executeUpdate();
-                JOptionPane.showMessageDialog(this, "Contact restored successfully!");
+            try {
+                boolean written = OfflineJournal.submit(Repository.CONTACTS.updateAll("Restore " + ids.size() + " contact(s)",
+                        DomainEvent.Kind.CONTACT_RESTORED, "deleted = 0, deleted_at = NULL", ids));
+                moveRows(deletedTableModel, activeTableModel, ids); // Update the tables in place
+                JOptionPane.showMessageDialog(this, !written ? OfflineJournal.QUEUED_MESSAGE
+                        : ids.size() == 1 ? "Contact restored successfully!" : ids.size() + " contacts restored successfully!");
                 clearForm();
-                loadContacts(); // Refresh tables
             } catch (SQLException e) {
                 e.printStackTrace();
                 JOptionPane.showMessageDialog(this, "Error restoring contact: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -3350,17 +10113,18 @@ class ContactManagementPanel extends JPanel {
     }
 
     /**
-     * Permanently deletes the currently selected contact (either active or deleted) from the database.
+     * Permanently deletes the currently selected contact(s) (either active or deleted) from the database.
      */
     private void hardDeleteContact() {
-        int idToDelete = -1;
+        List<Integer> ids;
         String contactType = "";
 
-        if (selectedContactId != -1) {
-            idToDelete = selectedContactId;
+        // Selecting in one table clears the other, so at most one of them has a selection
+        if (activeContactTable.getSelectedRowCount() > 0) {
+            ids = TableModelUtils.getSelectedIds(activeContactTable);
             contactType = "active";
-        } else if (selectedDeletedContactId != -1) {
-            idToDelete = selectedDeletedContactId;
+        } else if (deletedContactTable.getSelectedRowCount() > 0) {
+            ids = TableModelUtils.getSelectedIds(deletedContactTable);
             contactType = "deleted";
         } else {
             JOptionPane.showMessageDialog(this, "Please select a contact to hard delete.", "No Contact Selected", JOptionPane.WARNING_MESSAGE);
@@ -3368,16 +10132,17 @@ class ContactManagementPanel extends JPanel {
         }
 
         // Removed the restriction check for "Email" or "Phone" platforms
-        int confirm = JOptionPane.showConfirmDialog(this, "WARNING: This will permanently delete the " + contactType + " contact. Are you sure?", "Confirm Hard Delete", JOptionPane.YES_NO_OPTION, JOptionPane.ERROR_MESSAGE);
+        String prompt = ids.size() == 1
+                ? "WARNING: This will permanently delete the " + contactType + " contact. Are you sure?"
+                : "WARNING: This will permanently delete " + ids.size() + " " + contactType + " contacts. Are you sure?";
+        int confirm = JOptionPane.showConfirmDialog(this, prompt, "Confirm Hard Delete", JOptionPane.YES_NO_OPTION, JOptionPane.ERROR_MESSAGE);
         if (confirm == JOptionPane.YES_OPTION) {
-            String sql = "DELETE FROM contacts WHERE id = ?";
-            try (Connection conn = DatabaseManager.getConnection();
-                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setInt(1, idToDelete);
-                pstmt.executeUpdate();
-                JOptionPane.showMessageDialog(this, "Contact permanently deleted successfully!");
+            try {
+                boolean written = OfflineJournal.submit(Repository.CONTACTS.delete("Permanently delete " + ids.size() + " contact(s)", ids));
+                contactView.remove(ids); // Update the table in place
+                JOptionPane.showMessageDialog(this, !written ? OfflineJournal.QUEUED_MESSAGE
+                        : ids.size() == 1 ? "Contact permanently deleted successfully!" : ids.size() + " contacts permanently deleted successfully!");
                 clearForm();
-                loadContacts(); // Refresh tables
             }
             // Catch SQLException specifically to provide detailed error messages
             catch (SQLException e) {
@@ -3457,8 +10222,10 @@ class ManageOthersPanel extends JPanel {
         imageChangePanel.setOpaque(false);
         subTabbedPane.addTab("Change Picture", imageChangePanel);
 
-        // Add blank sub-tab 2 (renamed from "Sub-tab 2")
-        subTabbedPane.addTab("Other Settings", createBlankPanel("Content for other settings will go here."));
+        // NEW: Live metrics in place of the former blank "Other Settings" tab
+        DiagnosticsPanel diagnosticsPanel = new DiagnosticsPanel();
+        diagnosticsPanel.setOpaque(false);
+        subTabbedPane.addTab("Diagnostics", diagnosticsPanel);
 
         add(subTabbedPane, BorderLayout.CENTER);
     }
@@ -3475,17 +10242,250 @@ class ManageOthersPanel extends JPanel {
         return button;
     }
 
-    /** Helper method to create a blank panel with centered text. */
-    private JPanel createBlankPanel(String message) {
-        JPanel panel = new JPanel(new GridBagLayout());
-        panel.setBackground(PortfolioAdminApp.BACKGROUND_PANEL);
-        panel.setBorder(new EmptyBorder(50, 50, 50, 50));
-        JLabel label = new JLabel(message, SwingConstants.CENTER);
-        label.setFont(PortfolioAdminApp.FONT_SUBTITLE);
-        label.setForeground(PortfolioAdminApp.NEUTRAL_GREY);
-        panel.add(label);
+}
+
+/**
+ * NEW: Live view of {@link MetricsRegistry}: rates and latency percentiles for database
+ * statements, the image pipeline and panel switches, refreshed every second while visible.
+ * "Export Snapshot" writes the current numbers to a JSON file that can be attached to a ticket.
+ */
+class DiagnosticsPanel extends JPanel {
+    private static final int REFRESH_INTERVAL_MS = 1000;
+    private static final String[] COLUMNS = {"Metric", "Type", "Count / Value", "Rate /s", "p50 ms", "p90 ms", "p99 ms", "Max ms", "Mean ms"};
+
+    private DefaultTableModel tableModel;
+    private JLabel windowLabel;
+    private DefaultListModel<EdtWatchdog.Stall> stallListModel;
+    private JTextArea stallStackArea;
+    private javax.swing.Timer refreshTimer;
+    private Map<String, Long> previousCounts = new HashMap<>(); // For rates between two refreshes
+    private long previousNanos = System.nanoTime();
+
+    /**
+     * Constructor for DiagnosticsPanel.
+     */
+    public DiagnosticsPanel() {
+        setLayout(new BorderLayout(10, 10));
+        setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        windowLabel = new JLabel();
+        windowLabel.setFont(PortfolioAdminApp.FONT_SMALL_ITALIC);
+        windowLabel.setForeground(PortfolioAdminApp.NEUTRAL_GREY);
+        JPanel northPanel = new JPanel(new BorderLayout(0, 5));
+        northPanel.setOpaque(false);
+        northPanel.add(windowLabel, BorderLayout.NORTH);
+        northPanel.add(createChaosPanel(), BorderLayout.CENTER); // NEW: Fault injection settings
+        add(northPanel, BorderLayout.NORTH);
+
+        tableModel = new DefaultTableModel(COLUMNS, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable table = new JTable(tableModel);
+        table.setFont(PortfolioAdminApp.FONT_BODY);
+        table.setRowHeight(26);
+        table.getTableHeader().setFont(PortfolioAdminApp.FONT_HEADER);
+        table.getTableHeader().setBackground(PortfolioAdminApp.PRIMARY_BLUE);
+        table.getTableHeader().setForeground(Color.WHITE);
+        table.setGridColor(PortfolioAdminApp.BORDER_COLOR);
+        table.getColumnModel().getColumn(0).setPreferredWidth(260);
+        DefaultTableCellRenderer numberRenderer = new DefaultTableCellRenderer();
+        numberRenderer.setHorizontalAlignment(SwingConstants.RIGHT);
+        for (int column = 2; column < COLUMNS.length; column++) {
+            table.getColumnModel().getColumn(column).setCellRenderer(numberRenderer);
+        }
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setBorder(new LineBorder(PortfolioAdminApp.BORDER_COLOR, 1, true));
+
+        // NEW: Recent UI freezes from EdtWatchdog; selecting one shows where the EDT was blocked
+        stallListModel = new DefaultListModel<>();
+        JList<EdtWatchdog.Stall> stallList = new JList<>(stallListModel);
+        stallList.setFont(PortfolioAdminApp.FONT_BODY);
+        stallList.addListSelectionListener(e -> {
+            EdtWatchdog.Stall stall = stallList.getSelectedValue();
+            stallStackArea.setText(stall == null ? "" : stall.getStackTrace());
+            stallStackArea.setCaretPosition(0);
+        });
+        stallStackArea = new JTextArea();
+        stallStackArea.setEditable(false);
+        stallStackArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JSplitPane stallPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, new JScrollPane(stallList), new JScrollPane(stallStackArea));
+        stallPane.setResizeWeight(0.4);
+        stallPane.setBorder(BorderFactory.createTitledBorder(new LineBorder(PortfolioAdminApp.BORDER_COLOR, 1, true),
+                "Recent UI freezes (EDT blocked > " + EdtWatchdog.getThresholdMillis() + " ms)",
+                TitledBorder.LEFT, TitledBorder.TOP, PortfolioAdminApp.FONT_BODY, PortfolioAdminApp.TEXT_DARK));
+
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, scrollPane, stallPane);
+        splitPane.setResizeWeight(0.7);
+        splitPane.setBorder(BorderFactory.createEmptyBorder());
+        add(splitPane, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        buttonPanel.setOpaque(false);
+        GradientButton resetButton = createStyledButton("Reset",
+                PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_START, PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_END,
+                PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_HOVER_START, PortfolioAdminApp.GRADIENT_NEUTRAL_GREY_HOVER_END);
+        resetButton.addActionListener(e -> {
+            MetricsRegistry.reset();
+            refresh();
+        });
+        GradientButton copyButton = createStyledButton("Copy as Text",
+                PortfolioAdminApp.GRADIENT_ACCENT_CYAN_START, PortfolioAdminApp.GRADIENT_ACCENT_CYAN_END,
+                PortfolioAdminApp.GRADIENT_ACCENT_CYAN_HOVER_START, PortfolioAdminApp.GRADIENT_ACCENT_CYAN_HOVER_END);
+        copyButton.addActionListener(e -> Toolkit.getDefaultToolkit().getSystemClipboard().setContents(
+                new java.awt.datatransfer.StringSelection(MetricsRegistry.snapshot().toText()), null));
+        GradientButton exportButton = createStyledButton("Export Snapshot...",
+                PortfolioAdminApp.GRADIENT_PRIMARY_BLUE_START, PortfolioAdminApp.GRADIENT_PRIMARY_BLUE_END,
+                PortfolioAdminApp.GRADIENT_PRIMARY_BLUE_HOVER_START, PortfolioAdminApp.GRADIENT_PRIMARY_BLUE_HOVER_END);
+        exportButton.addActionListener(e -> exportSnapshot());
+        buttonPanel.add(resetButton);
+        buttonPanel.add(copyButton);
+        buttonPanel.add(exportButton);
+        add(buttonPanel, BorderLayout.SOUTH);
+
+        refresh();
+        // Refresh only while the tab is on screen
+        refreshTimer = new javax.swing.Timer(REFRESH_INTERVAL_MS, e -> refresh());
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & java.awt.event.HierarchyEvent.SHOWING_CHANGED) != 0) {
+                if (isShowing()) {
+                    refresh();
+                    refreshTimer.start();
+                } else {
+                    refreshTimer.stop();
+                }
+            }
+        });
+    }
+
+    /**
+     * Takes a snapshot and updates the table in place, so the selection and scroll position
+     * survive a refresh. Rates are per second since the previous refresh.
+     */
+    private void refresh() {
+        MetricsRegistry.Snapshot snapshot = MetricsRegistry.snapshot();
+        long now = System.nanoTime();
+        double seconds = Math.max(0.001, (now - previousNanos) / 1e9);
+        Map<String, Long> counts = new HashMap<>();
+
+        boolean sameRows = tableModel.getRowCount() == snapshot.rows.size();
+        for (int i = 0; sameRows && i < snapshot.rows.size(); i++) {
+            sameRows = snapshot.rows.get(i).name.equals(tableModel.getValueAt(i, 0));
+        }
+        if (!sameRows) {
+            tableModel.setRowCount(0);
+        }
+        for (int i = 0; i < snapshot.rows.size(); i++) {
+            MetricsRegistry.Row row = snapshot.rows.get(i);
+            Object[] values;
+            if ("gauge".equals(row.type)) {
+                values = new Object[]{row.name, row.type, String.format("%,d", row.value), "", "", "", "", "", ""};
+            } else {
+                counts.put(row.name, row.count);
+                Long previous = previousCounts.get(row.name);
+                // A reset makes the count drop; show no rate for that one refresh
+                String rate = previous == null || previous > row.count ? "" : String.format("%.1f", (row.count - previous) / seconds);
+                boolean timed = "histogram".equals(row.type) && row.count > 0;
+                values = new Object[]{row.name, row.type, String.format("%,d", row.count), rate,
+                        timed ? String.format("%.2f", row.p50Ms) : "", timed ? String.format("%.2f", row.p90Ms) : "",
+                        timed ? String.format("%.2f", row.p99Ms) : "", timed ? String.format("%.2f", row.maxMs) : "",
+                        timed ? String.format("%.2f", row.meanMs) : ""};
+            }
+            if (sameRows) {
+                for (int column = 1; column < values.length; column++) {
+                    if (!values[column].equals(tableModel.getValueAt(i, column))) {
+                        tableModel.setValueAt(values[column], i, column);
+                    }
+                }
+            } else {
+                tableModel.addRow(values);
+            }
+        }
+        previousCounts = counts;
+        previousNanos = now;
+
+        List<EdtWatchdog.Stall> stalls = EdtWatchdog.getRecentStalls();
+        if (stallListModel.isEmpty() ? !stalls.isEmpty() : stalls.isEmpty() || stalls.get(0) != stallListModel.get(0)) {
+            stallListModel.clear();
+            stalls.forEach(stallListModel::addElement);
+        }
+        windowLabel.setText("Collecting since " + new Timestamp(snapshot.sinceMillis) + " - times in milliseconds, rates since the last refresh");
+    }
+
+    /**
+     * NEW: Controls for {@link ChaosMode}. Every change applies immediately.
+     */
+    private JPanel createChaosPanel() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 2));
+        panel.setOpaque(false);
+        TitledBorder border = BorderFactory.createTitledBorder(new LineBorder(PortfolioAdminApp.BORDER_COLOR, 1, true),
+                "Chaos mode (data layer fault injection)", TitledBorder.LEFT, TitledBorder.TOP,
+                PortfolioAdminApp.FONT_BODY, PortfolioAdminApp.TEXT_DARK);
+        panel.setBorder(border);
+
+        JCheckBox enabledBox = new JCheckBox("Enabled", ChaosMode.isEnabled());
+        enabledBox.setOpaque(false);
+        enabledBox.setFont(PortfolioAdminApp.FONT_BODY);
+        Runnable updateBorder = () -> {
+            border.setTitleColor(ChaosMode.isEnabled() ? PortfolioAdminApp.ACCENT_RED : PortfolioAdminApp.TEXT_DARK);
+            panel.repaint();
+        };
+        enabledBox.addActionListener(e -> {
+            ChaosMode.setEnabled(enabledBox.isSelected());
+            updateBorder.run();
+        });
+        updateBorder.run();
+        panel.add(enabledBox);
+
+        addChaosSpinner(panel, "Statement delay ms", ChaosMode.getStatementDelayMinMs(), 10_000, ChaosMode::setStatementDelayMinMs);
+        addChaosSpinner(panel, "to", ChaosMode.getStatementDelayMaxMs(), 10_000, ChaosMode::setStatementDelayMaxMs);
+        addChaosSpinner(panel, "Spike %", ChaosMode.getSpikePercent(), 100, ChaosMode::setSpikePercent);
+        addChaosSpinner(panel, "of ms", ChaosMode.getSpikeMs(), 60_000, ChaosMode::setSpikeMs);
+        addChaosSpinner(panel, "Connect failures %", ChaosMode.getConnectFailurePercent(), 100, ChaosMode::setConnectFailurePercent);
+        addChaosSpinner(panel, "Row delay ms", ChaosMode.getRowDelayMs(), 1_000, ChaosMode::setRowDelayMs);
         return panel;
     }
+
+    private void addChaosSpinner(JPanel panel, String label, int value, int max, java.util.function.IntConsumer setter) {
+        JLabel jLabel = new JLabel(label);
+        jLabel.setFont(PortfolioAdminApp.FONT_BODY);
+        jLabel.setForeground(PortfolioAdminApp.TEXT_DARK);
+        JSpinner spinner = new JSpinner(new SpinnerNumberModel(Math.min(value, max), 0, max, max >= 1000 ? 10 : 1));
+        spinner.setFont(PortfolioAdminApp.FONT_BODY);
+        spinner.addChangeListener(e -> setter.accept((Integer) spinner.getValue()));
+        panel.add(jLabel);
+        panel.add(spinner);
+    }
+
+    /**
+     * Saves the current snapshot as JSON to a file the user picks.
+     */
+    private void exportSnapshot() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Export Metrics Snapshot");
+        fileChooser.setFileFilter(new FileNameExtensionFilter("JSON files", "json"));
+        fileChooser.setSelectedFile(new File("portfolio-metrics-" + System.currentTimeMillis() + ".json"));
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = fileChooser.getSelectedFile();
+        try {
+            Files.write(file.toPath(), MetricsRegistry.snapshot().toJson().getBytes(java.nio.charset.StandardCharsets.UTF_8));
+            JOptionPane.showMessageDialog(this, "Snapshot saved to " + file.getAbsolutePath(), "Export Complete", JOptionPane.INFORMATION_MESSAGE);
+        } catch (IOException ex) {
+            ex.printStackTrace();
+            JOptionPane.showMessageDialog(this, "Could not save snapshot: " + ex.getMessage(), "Export Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /** Helper method to create a styled GradientButton. */
+    private GradientButton createStyledButton(String text, Color start, Color end, Color hoverStart, Color hoverEnd) {
+        GradientButton button = new GradientButton(text, start, end, hoverStart, hoverEnd);
+        button.setFont(PortfolioAdminApp.FONT_BODY);
+        return button;
+    }
 }
 
 /**
@@ -3500,6 +10500,7 @@ class ImageChangePanel extends JPanel {
 
     private JLabel aboutImagePreviewLabel;
     private File selectedAboutImageFile;
+    private String shownProfileImageUrl, shownAboutImageUrl; // NEW: What the previews show, to skip redundant reloads
 
     /**
      * Constructor for ImageChangePanel.
@@ -3659,17 +10660,37 @@ class ImageChangePanel extends JPanel {
      * Loads the current profile and about images from the database and displays them.
      */
     private void loadCurrentImages() {
-        String profileImageUrl = DatabaseManager.getSetting("profile_image_url");
+        // NEW: Show the snapshot's settings at once and read the database off the EDT
+        if (LocalSnapshot.rows("site_settings") == null) {
+            showCurrentImages(DatabaseManager.getSetting("profile_image_url"), DatabaseManager.getSetting("about_image_url"));
+        } else {
+            showCurrentImages(LocalSnapshot.setting("profile_image_url"), LocalSnapshot.setting("about_image_url"));
+        }
+        LocalSnapshot.revalidate("site_settings", rows ->
+                showCurrentImages(LocalSnapshot.setting("profile_image_url"), LocalSnapshot.setting("about_image_url")));
+        ChangeTracker.watch("site_settings", this, delta -> // NEW: Images changed elsewhere
+                showCurrentImages(LocalSnapshot.setting("profile_image_url"), LocalSnapshot.setting("about_image_url")));
+    }
+
+    /**
+     * NEW: Previews the two images, skipping a preview whose URL has not changed.
+     */
+    private void showCurrentImages(String profileImageUrl, String aboutImageUrl) {
         if (profileImageUrl == null || profileImageUrl.isEmpty()) {
             profileImageUrl = PortfolioAdminApp.DEFAULT_PROFILE_IMAGE_PATH; // Fallback to default
         }
-        displayImagePreview(profileImagePreviewLabel, profileImageUrl);
+        if (!profileImageUrl.equals(shownProfileImageUrl)) {
+            shownProfileImageUrl = profileImageUrl;
+            displayImagePreview(profileImagePreviewLabel, profileImageUrl);
+        }
 
-        String aboutImageUrl = DatabaseManager.getSetting("about_image_url");
         if (aboutImageUrl == null || aboutImageUrl.isEmpty()) {
             aboutImageUrl = PortfolioAdminApp.DEFAULT_ABOUT_IMAGE_PATH; // Fallback to default
         }
-        displayImagePreview(aboutImagePreviewLabel, aboutImageUrl);
+        if (!aboutImageUrl.equals(shownAboutImageUrl)) {
+            shownAboutImageUrl = aboutImageUrl;
+            displayImagePreview(aboutImagePreviewLabel, aboutImageUrl);
+        }
     }
 
     /**
@@ -3684,7 +10705,11 @@ class ImageChangePanel extends JPanel {
         if (returnValue == JFileChooser.APPROVE_OPTION) {
             File selectedFile = fileChooser.getSelectedFile();
             try {
+                long start = System.nanoTime();
+                JfrEvents.ImageRead readEvent = JfrEvents.ImageRead.started();
                 BufferedImage originalImage = ImageIO.read(selectedFile);
+                MetricsRegistry.recordSince("image.preview.decode", start);
+                readEvent.finish(selectedFile.getName(), null, originalImage, selectedFile.length());
                 if (originalImage != null) {
                     if (isProfile) {
                         selectedProfileImageFile = selectedFile;
@@ -3720,28 +10745,17 @@ class ImageChangePanel extends JPanel {
         }
 
         try {
-            String originalFileName = imageFile.getName();
-            String fileExtension = "";
-            int dotIndex = originalFileName.lastIndexOf('.');
-            if (dotIndex > 0) {
-                fileExtension = originalFileName.substring(dotIndex + 1);
-            }
-            // Generate a unique filename using UUID
-            String uniqueFileName = UUID.randomUUID().toString() + (fileExtension.isEmpty() ? "" : "." + fileExtension);
-
-            File destinationDirectory = new File(baseDir);
-            if (!destinationDirectory.exists()) {
-                destinationDirectory.mkdirs(); // Create directories if they don't exist
+            // NEW: The file goes live together with the setting that points to it
+            UnitOfWork work = new UnitOfWork();
+            File destinationFile = work.stage(imageFile, baseDir); // Unique name; optimized in the background once saved
+
+            String newImageUrl = baseUrl + destinationFile.getName();
+            if (OfflineJournal.submit(work.add(DatabaseManager.settingMutation(settingName, newImageUrl)))) {
+                EventBus.publish(new DomainEvent.SettingChanged(settingName, newImageUrl));
+                JOptionPane.showMessageDialog(this, "Image saved and path updated successfully!\nNew URL: " + newImageUrl, "Success", JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, OfflineJournal.QUEUED_MESSAGE);
             }
-            File destinationFile = new File(destinationDirectory, uniqueFileName);
-
-            BufferedImage imageToSave = ImageIO.read(imageFile);
-            ImageIO.write(imageToSave, fileExtension, destinationFile);
-
-            String newImageUrl = baseUrl + uniqueFileName;
-            DatabaseManager.saveSetting(settingName, newImageUrl);
-
-            JOptionPane.showMessageDialog(this, "Image saved and path updated successfully!\nNew URL: " + newImageUrl, "Success", JOptionPane.INFORMATION_MESSAGE);
             
             // Clear the selected file reference after successful save
             if (isProfile) {
@@ -3755,6 +10769,9 @@ class ImageChangePanel extends JPanel {
         } catch (IOException ex) {
             ex.printStackTrace();
             JOptionPane.showMessageDialog(this, "Error saving image to server: " + ex.getMessage(), "Save Error", JOptionPane.ERROR_MESSAGE);
+        } catch (SQLException ex) { // NEW: Nothing was saved, and the staged file is gone again
+            ex.printStackTrace();
+            JOptionPane.showMessageDialog(this, "Error updating the image path: " + ex.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
@@ -3771,6 +10788,8 @@ class ImageChangePanel extends JPanel {
             image = (BufferedImage) imageObject;
         } else if (imageObject instanceof String) {
             String imageUrl = (String) imageObject;
+            long decodeStart = System.nanoTime();
+            JfrEvents.ImageRead readEvent = JfrEvents.ImageRead.started();
             try {
                 if (imageUrl != null && !imageUrl.isEmpty() && !imageUrl.startsWith("./assets/")) { // Don't try to read local assets via URL
                      image = ImageIO.read(new java.net.URL(imageUrl));
@@ -3786,6 +10805,8 @@ class ImageChangePanel extends JPanel {
                         System.err.println("Could not find local resource: " + resourcePath);
                     }
                 }
+                MetricsRegistry.recordSince("image.preview.decode", decodeStart);
+                readEvent.finish(imageUrl, null, image, -1);
             } catch (IOException e) {
                 e.printStackTrace();
                 label.setIcon(null);
@@ -3803,8 +10824,12 @@ class ImageChangePanel extends JPanel {
         int labelWidth = label.getWidth() > 0 ? label.getWidth() : 200; // Use current size or default
         int labelHeight = label.getHeight() > 0 ? label.getHeight() : 200;
 
+        long start = System.nanoTime();
+        JfrEvents.ImageScale scaleEvent = JfrEvents.ImageScale.started();
         Image scaledImage = image.getScaledInstance(labelWidth, labelHeight, Image.SCALE_SMOOTH);
-        label.setIcon(new ImageIcon(scaledImage));
+        label.setIcon(new ImageIcon(scaledImage)); // ImageIcon waits for the scaling to finish
+        MetricsRegistry.recordSince("image.preview.scale", start);
+        scaleEvent.finish(image, labelWidth, labelHeight);
         label.setText(""); // Clear text when image is present
     }
 }
@@ -0,0 +1,125 @@
+package portfolioadminapp;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the data-access paths of the admin app against the embedded database.
+ * Run with {@code gradle :benchmarks:jmh -Pjmh.includes=DataAccessBenchmark}; the "thrpt" rows
+ * give ops/ms (x1000 for ops/sec) and the "sample" rows give the latency distribution in ms,
+ * including p0.99.
+ *
+ * Every call goes through {@link DatabaseManager#getConnection()} exactly like the panels do, so
+ * borrowing from the {@link ConnectionPool} is part of each lookup and load, and repeated
+ * prepared statements come from its cache. H2 connects in-process, which makes a fresh connection
+ * far cheaper than a MySQL TCP handshake: compare runs, not absolute numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DataAccessBenchmark {
+
+    /** Synthetic rows added to each table on top of the dump, for the full-table loads. */
+    @Param({"0", "1000"})
+    public int extraRows;
+
+    @Setup
+    public void setUp() throws SQLException {
+        EmbeddedDatabase.start();
+        EmbeddedDatabase.resetToSeed();
+        if (extraRows > 0) {
+            EmbeddedDatabase.addSyntheticRows(extraRows);
+        }
+    }
+
+    @Benchmark
+    public void connect() throws SQLException {
+        Connection conn = DatabaseManager.getConnection();
+        conn.close();
+    }
+
+    @Benchmark
+    public boolean authenticateUser() throws SQLException {
+        return DatabaseManager.authenticateUser("admin", "admin123");
+    }
+
+    @Benchmark
+    public String getSetting() {
+        return DatabaseManager.getSetting("profile_image_url");
+    }
+
+    /** The query and row mapping of the projects panel's load ({@link Repository#open}). */
+    @Benchmark
+    public List<Object[]> loadProjects() throws SQLException {
+        return load(Repository.PROJECTS);
+    }
+
+    /** The experience panel's load: every skill, which the panel groups into category tabs. */
+    @Benchmark
+    public List<Object[]> loadExperience() throws SQLException {
+        return load(Repository.SKILLS);
+    }
+
+    /** The contacts panel's load; the panel splits the rows into active and trash. */
+    @Benchmark
+    public List<Object[]> loadContacts() throws SQLException {
+        return load(Repository.CONTACTS);
+    }
+
+    @Benchmark
+    public List<Object[]> loadAboutDetails() throws SQLException {
+        return load(Repository.ABOUT_DETAILS);
+    }
+
+    /** Export path: every project mapped into entities on a connection of its own. */
+    @Benchmark
+    public List<Project> findAllProjects() throws SQLException {
+        return Repository.PROJECTS.findAll();
+    }
+
+    /**
+     * Insert, update and delete one project, each its own transaction as the panel's
+     * add/update/delete buttons submit them. The mutations go to {@link DatabaseManager#apply}
+     * directly so a journal left over from running the app cannot hold them back.
+     */
+    @Benchmark
+    public int projectCrudRoundTrip() throws SQLException {
+        Mutation insert = Repository.PROJECTS.insert("Benchmark insert",
+                "Benchmark project", "Inserted by DataAccessBenchmark", "uploads/benchmark.png", "https://example.com");
+        int id = apply(insert);
+        apply(Repository.PROJECTS.update("Benchmark update", id, null,
+                "Benchmark project (edited)", "Updated by DataAccessBenchmark", "uploads/benchmark.png", "https://example.com/edited"));
+        return apply(Repository.PROJECTS.delete("Benchmark delete", Collections.singletonList(id)));
+    }
+
+    /** saveSetting (upsert) followed by getSetting, as the image settings tab does. */
+    @Benchmark
+    public String settingRoundTrip() {
+        DatabaseManager.saveSetting("benchmark_setting", "value");
+        return DatabaseManager.getSetting("benchmark_setting");
+    }
+
+    /** Borrows a connection and runs the table's query, as {@link Repository#reload} does off the EDT. */
+    private static List<Object[]> load(Repository<?> repository) throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            return repository.query(conn);
+        }
+    }
+
+    /** @return The insert's generated id, or the rows the statement changed. */
+    private static int apply(Mutation mutation) throws SQLException {
+        return DatabaseManager.apply(new UnitOfWork().add(mutation), Collections.singletonList(mutation.ids))[0];
+    }
+}
@@ -0,0 +1,328 @@
+package portfolioadminapp;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.imageio.ImageIO;
+
+/**
+ * Fills the portfolio tables and the project image directory with synthetic data for scale tests.
+ * Every value is derived from the seed and the row number, so the same options always produce the
+ * same dataset. Rows go in as multi-row INSERTs (one statement per chunk, one transaction per
+ * chunk), and images are drawn on a worker pool while the inserts run.
+ *
+ * Usage (writes to the database configured with -Dportfolio.db.url etc., MySQL by default):
+ * <pre>
+ * gradle :benchmarks:generateDataset -Pargs="--projects=1000000 --skills=50000 --categories=40 --images=500"
+ * </pre>
+ * Options: --projects, --skills, --categories, --details, --contacts, --deleted-ratio,
+ * --images, --image-size (WxH), --image-dir, --image-url, --seed, --chunk, --clear, --embedded.
+ */
+public final class DatasetGenerator {
+    private static final String[] ADJECTIVES = {"Responsive", "Realtime", "Serverless", "Minimal", "Accessible",
+            "Offline-first", "Animated", "Modular", "Secure", "Scalable", "Interactive", "Lightweight"};
+    private static final String[] NOUNS = {"Portfolio", "Dashboard", "Chat App", "Weather Widget", "Blog Engine",
+            "Task Tracker", "Image Gallery", "Budget Planner", "Quiz Game", "Landing Page", "Music Player", "Store"};
+    private static final String[] STACKS = {"HTML, CSS and JavaScript", "PHP and MySQL", "Java Swing", "React",
+            "Python and Flask", "Node.js and Express", "C++", "Vue and Firebase"};
+    private static final String[] SKILL_NAMES = {"Java", "Python", "HTML", "CSS", "JavaScript", "C++", "PHP", "SQL",
+            "Git", "Docker", "Figma", "Linux", "React", "Node.js", "TypeScript", "Kotlin"};
+    private static final String[] CATEGORY_NAMES = {"Programming Languages", "Frontend Development",
+            "Backend Development", "Tools", "Design", "Databases", "DevOps", "Soft Skills"};
+    private static final String[] PLATFORMS = {"GitHub", "LinkedIn", "Facebook", "Email", "Phone", "Twitter",
+            "Instagram", "YouTube"};
+    private static final long DELETED_SPREAD_MILLIS = 90L * 24 * 60 * 60 * 1000; // deleted_at within the last 90 days
+
+    // Options, with the defaults used when a flag is not given
+    int projects = 1000;
+    int skills = 1000;
+    int categories = 8;
+    int details = 100;
+    int contacts = 1000;
+    double deletedRatio = 0.2;
+    int images = 0;
+    int imageWidth = 1200;
+    int imageHeight = 800;
+    String imageDir = PortfolioAdminApp.PROJECT_IMAGE_BASE_DIR;
+    String imageUrl = PortfolioAdminApp.PROJECT_IMAGE_BASE_URL;
+    long seed = 42;
+    int chunk = 1000; // Rows per multi-row INSERT and per transaction
+    boolean clear;
+
+    public static void main(String[] args) throws Exception {
+        DatasetGenerator generator = new DatasetGenerator();
+        boolean embedded = false;
+        for (String arg : args) {
+            if (arg.equals("--clear")) {
+                generator.clear = true;
+            } else if (arg.equals("--embedded")) {
+                embedded = true;
+            } else if (!generator.apply(arg)) {
+                System.err.println("Unknown option: " + arg);
+                System.exit(2);
+            }
+        }
+        if (embedded) {
+            EmbeddedDatabase.start();
+        }
+        generator.run();
+        System.exit(0);
+    }
+
+    /**
+     * Applies one "--name=value" option.
+     * @return false if the option is not recognized.
+     */
+    boolean apply(String arg) {
+        int eq = arg.indexOf('=');
+        if (!arg.startsWith("--") || eq < 0) {
+            return false;
+        }
+        String name = arg.substring(2, eq);
+        String value = arg.substring(eq + 1);
+        switch (name) {
+            case "projects": projects = Integer.parseInt(value); break;
+            case "skills": skills = Integer.parseInt(value); break;
+            case "categories": categories = Math.max(1, Integer.parseInt(value)); break;
+            case "details": details = Integer.parseInt(value); break;
+            case "contacts": contacts = Integer.parseInt(value); break;
+            case "deleted-ratio": deletedRatio = Double.parseDouble(value); break;
+            case "images": images = Integer.parseInt(value); break;
+            case "image-size": {
+                String[] parts = value.toLowerCase().split("x");
+                imageWidth = Integer.parseInt(parts[0]);
+                imageHeight = Integer.parseInt(parts[1]);
+                break;
+            }
+            case "image-dir": imageDir = value; break;
+            case "image-url": imageUrl = value; break;
+            case "seed": seed = Long.parseLong(value); break;
+            case "chunk": chunk = Math.max(1, Integer.parseInt(value)); break;
+            default: return false;
+        }
+        return true;
+    }
+
+    /**
+     * Generates everything: images in the background, table rows on the calling thread.
+     */
+    void run() throws SQLException, IOException, InterruptedException {
+        long started = System.currentTimeMillis();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        List<Future<?>> imageJobs = submitImages(pool);
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            if (clear) {
+                try (Statement stmt = conn.createStatement()) {
+                    for (String table : new String[]{"projects", "skills", "about_details", "contacts"}) {
+                        stmt.executeUpdate("DELETE FROM " + table);
+                    }
+                }
+                conn.commit();
+            }
+            insertProjects(conn);
+            insertSkills(conn);
+            insertDetails(conn);
+            insertContacts(conn);
+        }
+        for (Future<?> job : imageJobs) {
+            try {
+                job.get();
+            } catch (ExecutionException e) {
+                throw new IOException("Image synthesis failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+        pool.shutdown();
+        System.out.printf("Generated %,d projects, %,d skills in %d categories, %,d details, %,d contacts and %,d images in %.1f s%n",
+                projects, skills, categories, details, contacts, images, (System.currentTimeMillis() - started) / 1000.0);
+    }
+
+    private void insertProjects(Connection conn) throws SQLException {
+        insertRows(conn, "projects", new String[]{"title", "description", "image_url", "link"}, projects, (i, r) -> new Object[]{
+                pick(r, ADJECTIVES) + " " + pick(r, NOUNS) + " #" + (i + 1),
+                "A " + pick(r, ADJECTIVES).toLowerCase() + " " + pick(r, NOUNS).toLowerCase() + " built with "
+                        + pick(r, STACKS) + ". " + sentence(r, 8 + r.nextInt(24)),
+                images > 0 ? imageUrl + imageName(i % images) : null,
+                "https://github.com/example/project-" + (i + 1)
+        });
+    }
+
+    private void insertSkills(Connection conn) throws SQLException {
+        insertRows(conn, "skills", new String[]{"name", "category"}, skills, (i, r) -> new Object[]{
+                pick(r, SKILL_NAMES) + " " + (i + 1),
+                categoryName(i % categories)
+        });
+    }
+
+    private void insertDetails(Connection conn) throws SQLException {
+        insertRows(conn, "about_details", new String[]{"heading", "description"}, details, (i, r) -> new Object[]{
+                (1 + r.nextInt(10)) + "+ years " + pick(r, NOUNS),
+                pick(r, STACKS) + " experience"
+        });
+    }
+
+    private void insertContacts(Connection conn) throws SQLException {
+        long now = System.currentTimeMillis();
+        insertRows(conn, "contacts", new String[]{"platform", "link", "deleted", "deleted_at"}, contacts, (i, r) -> {
+            boolean deleted = r.nextDouble() < deletedRatio;
+            String platform = pick(r, PLATFORMS);
+            return new Object[]{
+                    platform,
+                    "https://" + platform.toLowerCase() + ".example.com/user" + (i + 1),
+                    deleted ? 1 : 0,
+                    deleted ? new Timestamp(now - (long) (r.nextDouble() * DELETED_SPREAD_MILLIS)) : null
+            };
+        });
+    }
+
+    /** Produces the column values for row {@code i} from a generator seeded for that row. */
+    private interface RowSource {
+        Object[] row(int i, Random random);
+    }
+
+    /**
+     * Inserts {@code count} rows as "INSERT ... VALUES (...), (...), ..." statements of up to
+     * {@link #chunk} rows, committing after each. The statement for a full chunk is prepared once.
+     */
+    private void insertRows(Connection conn, String table, String[] columns, int count, RowSource source) throws SQLException {
+        if (count <= 0) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        Map<Integer, PreparedStatement> statements = new HashMap<>(); // By rows per statement
+        try {
+            for (int from = 0; from < count; from += chunk) {
+                int rows = Math.min(chunk, count - from);
+                PreparedStatement pstmt = statements.get(rows);
+                if (pstmt == null) {
+                    pstmt = conn.prepareStatement(multiRowInsert(table, columns, rows));
+                    statements.put(rows, pstmt);
+                }
+                int param = 1;
+                for (int i = from; i < from + rows; i++) {
+                    // One generator per row keeps every row stable regardless of chunk size
+                    Random random = new Random(seed * 31 + table.hashCode() * 1_000_003L + i);
+                    for (Object value : source.row(i, random)) {
+                        pstmt.setObject(param++, value);
+                    }
+                }
+                pstmt.executeUpdate();
+                conn.commit();
+                if ((from / chunk) % 100 == 99) {
+                    System.out.printf("  %s: %,d / %,d%n", table, from + rows, count);
+                }
+            }
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            for (PreparedStatement pstmt : statements.values()) {
+                pstmt.close();
+            }
+        }
+        System.out.printf("%s: %,d rows in %.1f s%n", table, count, (System.currentTimeMillis() - started) / 1000.0);
+    }
+
+    static String multiRowInsert(String table, String[] columns, int rows) {
+        String group = "(" + String.join(", ", java.util.Collections.nCopies(columns.length, "?")) + ")";
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                .append(" (").append(String.join(", ", columns)).append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(group);
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Queues one job per image. Every fourth image is a PNG, the rest JPEGs, as in a typical upload mix.
+     */
+    private List<Future<?>> submitImages(ExecutorService pool) throws IOException {
+        List<Future<?>> jobs = new ArrayList<>();
+        if (images <= 0) {
+            return jobs;
+        }
+        File dir = new File(imageDir);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create image directory " + dir);
+        }
+        for (int i = 0; i < images; i++) {
+            final int index = i;
+            jobs.add(pool.submit(() -> {
+                File file = new File(dir, imageName(index));
+                ImageIO.write(drawImage(index), index % 4 == 0 ? "png" : "jpg", file);
+                return null;
+            }));
+        }
+        return jobs;
+    }
+
+    /** A "screenshot-like" picture: gradient background, a few panels and the image number. */
+    private BufferedImage drawImage(int index) {
+        Random random = new Random(seed * 7919 + index);
+        BufferedImage image = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setPaint(new GradientPaint(0, 0, randomColor(random), imageWidth, imageHeight, randomColor(random)));
+        g.fillRect(0, 0, imageWidth, imageHeight);
+        for (int i = 0; i < 6; i++) {
+            g.setColor(new Color(255, 255, 255, 60 + random.nextInt(120)));
+            int w = imageWidth / 6 + random.nextInt(imageWidth / 3);
+            int h = imageHeight / 8 + random.nextInt(imageHeight / 3);
+            g.fillRoundRect(random.nextInt(imageWidth - w), random.nextInt(imageHeight - h), w, h, 24, 24);
+        }
+        g.setColor(Color.WHITE);
+        g.setFont(new Font("SansSerif", Font.BOLD, Math.max(12, imageHeight / 8)));
+        g.drawString("#" + (index + 1), imageWidth / 12, imageHeight - imageHeight / 10);
+        g.dispose();
+        return image;
+    }
+
+    private static String imageName(int index) {
+        return String.format("generated-%06d.%s", index, index % 4 == 0 ? "png" : "jpg");
+    }
+
+    private static String categoryName(int index) {
+        String base = CATEGORY_NAMES[index % CATEGORY_NAMES.length];
+        return index < CATEGORY_NAMES.length ? base : base + " " + (index / CATEGORY_NAMES.length + 1);
+    }
+
+    private static Color randomColor(Random random) {
+        return new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256));
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            String word = (i % 2 == 0 ? pick(random, ADJECTIVES) : pick(random, NOUNS)).toLowerCase();
+            text.append(i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+            text.append(i == words - 1 ? "." : " ");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,222 @@
+package portfolioadminapp;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory H2 database in MySQL mode that stands in for the real portfolio_db during benchmarks.
+ * It is seeded from the phpMyAdmin dump in the repository root and then passed through
+ * {@link PortfolioAdminApp#ensureSchema()}, so it has the same tables the app creates at startup.
+ */
+final class EmbeddedDatabase {
+    static final String URL = "jdbc:h2:mem:portfolio_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1";
+    static final String USER = "sa";
+    static final String PASSWORD = "";
+
+    // "ALTER TABLE `x` MODIFY `id` int(11) NOT NULL AUTO_INCREMENT, AUTO_INCREMENT=18"
+    private static final Pattern MODIFY_AUTO_INCREMENT = Pattern.compile(
+            "ALTER TABLE `(\\w+)`\\s+MODIFY `(\\w+)` .*AUTO_INCREMENT,\\s*AUTO_INCREMENT=(\\d+)", Pattern.DOTALL);
+
+    // ",\n  ADD ..." between the clauses of a multi-clause ALTER TABLE
+    private static final Pattern ALTER_CLAUSE_SEPARATOR = Pattern.compile(",\\s*\\n\\s*(?=ADD )");
+    // MySQL index names are per table, H2 constraint names per schema: let H2 name them
+    private static final Pattern NAMED_UNIQUE_KEY = Pattern.compile("ADD UNIQUE KEY `\\w+`");
+
+    private static boolean started;
+
+    private EmbeddedDatabase() {
+    }
+
+    /**
+     * Points {@link DatabaseManager} at the embedded database and seeds it once per JVM.
+     * Must run before anything touches DatabaseManager, which reads its settings on class load.
+     */
+    static synchronized void start() {
+        if (started) {
+            return;
+        }
+        System.setProperty("portfolio.db.url", URL);
+        System.setProperty("portfolio.db.user", USER);
+        System.setProperty("portfolio.db.password", PASSWORD);
+        try {
+            // The fat benchmark jar merges both drivers' service files, so register H2 explicitly
+            Class.forName("org.h2.Driver");
+            // Keep one connection open so the in-memory database is never dropped between benchmarks
+            Connection keepAlive = DriverManager.getConnection(URL, USER, PASSWORD);
+            loadDump(keepAlive, dumpPath());
+            relaxLegacyColumns(keepAlive);
+            PortfolioAdminApp.ensureSchema();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    keepAlive.close();
+                } catch (SQLException ignored) {
+                }
+            }));
+        } catch (SQLException | IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Could not seed the embedded database: " + e.getMessage(), e);
+        }
+        started = true;
+    }
+
+    /**
+     * Removes everything added after seeding, so each dataset size starts from the dump's rows.
+     */
+    static void resetToSeed() throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM projects WHERE id > 1");
+            stmt.execute("DELETE FROM skills WHERE id > 10");
+            stmt.execute("DELETE FROM contacts WHERE id > 17");
+            stmt.execute("DELETE FROM about_details WHERE id > 3");
+        }
+    }
+
+    /**
+     * Adds {@code count} synthetic rows to each of the main tables so full-table loads have
+     * something to chew on beyond the handful of rows in the dump.
+     * @param count Rows to add per table.
+     */
+    static void addSyntheticRows(int count) throws SQLException {
+        // SYSTEM_RANGE yields one upper-case column "X" holding 1..count
+        String range = " FROM SYSTEM_RANGE(1, " + count + ")";
+        try (Connection conn = DatabaseManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO projects (title, description, image_url, link) SELECT CONCAT('Project ', \"X\"), "
+                    + "CONCAT('Synthetic project number ', \"X\"), CONCAT('uploads/p', \"X\", '.png'), CONCAT('https://example.com/', \"X\")" + range);
+            stmt.execute("INSERT INTO skills (name, category) SELECT CONCAT('Skill ', \"X\"), CONCAT('Category ', MOD(\"X\", 8))" + range);
+            stmt.execute("INSERT INTO contacts (platform, link, deleted) SELECT CONCAT('Platform ', \"X\"), "
+                    + "CONCAT('https://example.com/c/', \"X\"), CASE WHEN MOD(\"X\", 5) = 0 THEN 1 ELSE 0 END" + range);
+            stmt.execute("INSERT INTO about_details (heading, description) SELECT CONCAT('Heading ', \"X\"), CONCAT('Detail ', \"X\")" + range);
+        }
+    }
+
+    private static Path dumpPath() {
+        String configured = System.getProperty("portfolio.sqlDump");
+        if (configured != null) {
+            return Paths.get(configured);
+        }
+        // Running from the benchmarks directory or the repository root
+        Path local = Paths.get("portfolio_db (5).sql");
+        return Files.exists(local) ? local : Paths.get("..", "portfolio_db (5).sql");
+    }
+
+    /**
+     * Executes the dump statement by statement, skipping the MySQL session settings H2 does not
+     * understand and translating the ALTER TABLE forms it does not support.
+     */
+    private static void loadDump(Connection conn, Path dump) throws IOException, SQLException {
+        String sql = new String(Files.readAllBytes(dump), StandardCharsets.UTF_8);
+        try (Statement stmt = conn.createStatement()) {
+            for (String statement : splitStatements(sql)) {
+                String upper = statement.toUpperCase();
+                if (upper.startsWith("SET ") || upper.startsWith("START TRANSACTION")
+                        || upper.startsWith("COMMIT") || upper.startsWith("/*!")) {
+                    continue;
+                }
+                Matcher m = MODIFY_AUTO_INCREMENT.matcher(statement);
+                if (m.find()) {
+                    stmt.execute("ALTER TABLE " + m.group(1) + " ALTER COLUMN " + m.group(2) + " INT NOT NULL AUTO_INCREMENT");
+                    stmt.execute("ALTER TABLE " + m.group(1) + " ALTER COLUMN " + m.group(2) + " RESTART WITH " + m.group(3));
+                    continue;
+                }
+                if (upper.startsWith("ALTER TABLE")) {
+                    // H2 takes one clause per ALTER TABLE
+                    String[] clauses = ALTER_CLAUSE_SEPARATOR.split(statement);
+                    String prefix = clauses[0].substring(0, clauses[0].indexOf("ADD "));
+                    for (int c = 0; c < clauses.length; c++) {
+                        String clause = c == 0 ? clauses[0] : prefix + clauses[c];
+                        stmt.execute(NAMED_UNIQUE_KEY.matcher(clause).replaceFirst("ADD UNIQUE"));
+                    }
+                    continue;
+                }
+                stmt.execute(statement);
+            }
+        }
+    }
+
+    /**
+     * The dump was taken from a MariaDB server without strict mode, where NOT NULL text columns
+     * with no default (e.g. contacts.type, skills.level) silently become ''. The app no longer
+     * writes them, so give them that default here.
+     */
+    private static void relaxLegacyColumns(Connection conn) throws SQLException {
+        List<String> alters = new ArrayList<>();
+        String sql = "SELECT TABLE_NAME, COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_SCHEMA = 'public' AND IS_NULLABLE = 'NO' AND COLUMN_DEFAULT IS NULL "
+                + "AND IS_IDENTITY = 'NO' AND UPPER(DATA_TYPE) IN ('CHARACTER VARYING', 'CHARACTER LARGE OBJECT')";
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                alters.add("ALTER TABLE " + rs.getString(1) + " ALTER COLUMN " + rs.getString(2) + " SET DEFAULT ''");
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            for (String alter : alters) {
+                stmt.execute(alter);
+            }
+        }
+    }
+
+    /**
+     * Splits a SQL script on ';' outside of string literals, drops "--" comment lines and
+     * rewrites MySQL backslash escapes inside literals.
+     */
+    static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inString = false;
+        int i = 0;
+        while (i < script.length()) {
+            char c = script.charAt(i);
+            if (!inString && c == '-' && script.startsWith("--", i)) {
+                int end = script.indexOf('\n', i);
+                i = end < 0 ? script.length() : end + 1;
+                continue;
+            }
+            if (inString && c == '\\' && i + 1 < script.length()) {
+                // MySQL backslash escapes; H2 only knows the standard '' form
+                char escaped = script.charAt(i + 1);
+                switch (escaped) {
+                    case 'n': current.append('\n'); break;
+                    case 'r': current.append('\r'); break;
+                    case 't': current.append('\t'); break;
+                    case '0': current.append('\0'); break;
+                    case '\'': current.append("''"); break;
+                    default: current.append(escaped); break;
+                }
+                i += 2;
+                continue;
+            }
+            if (c == '\'') {
+                inString = !inString;
+            }
+            if (c == ';' && !inString) {
+                String statement = current.toString().trim();
+                if (!statement.isEmpty()) {
+                    statements.add(statement);
+                }
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+            i++;
+        }
+        String last = current.toString().trim();
+        if (!last.isEmpty()) {
+            statements.add(last);
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,199 @@
+package portfolioadminapp;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks each stage of the image pipeline: decode, preview scaling and encode.
+ * Run with {@code gradle :benchmarks:jmh -Pjmh.includes=ImagePipelineBenchmark}; the GC profiler
+ * adds gc.alloc.rate.norm (bytes allocated per operation) next to each time.
+ *
+ * "scaleSmooth" is what both displayImagePreview methods do today; the other scale* methods
+ * are candidate replacements producing the same preview size. Likewise "encodePng"/"encodeJpeg"
+ * are plain ImageIO.write and the "encode*Tuned" methods are the ImageOptimizer candidates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImagePipelineBenchmark {
+    // Fallback preview size used by the panels before the label has been laid out
+    private static final int PREVIEW_WIDTH = 200;
+    private static final int PREVIEW_HEIGHT = 120;
+    private static final String SYNTHETIC_12MP = "synthetic-12mp.jpg";
+
+    /** Bundled PNGs from the repository root, plus a generated 4000x3000 camera-like JPEG. */
+    @Param({"profile-pic.png", "UbCompEd.png", SYNTHETIC_12MP})
+    public String source;
+
+    private byte[] encoded;
+    private BufferedImage decoded;
+    private BufferedImage opaque; // JPEG writers reject alpha, so JPEG stages get an RGB copy
+    private File upload;
+    private File uploadTemplate;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        encoded = SYNTHETIC_12MP.equals(source) ? syntheticJpeg(4000, 3000) : Files.readAllBytes(repoFile(source));
+        decoded = ImageIO.read(new ByteArrayInputStream(encoded));
+        opaque = new BufferedImage(decoded.getWidth(), decoded.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = opaque.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, opaque.getWidth(), opaque.getHeight());
+        g.drawImage(decoded, 0, 0, null);
+        g.dispose();
+
+        String suffix = source.substring(source.lastIndexOf('.'));
+        uploadTemplate = File.createTempFile("bench-upload-template", suffix);
+        Files.write(uploadTemplate.toPath(), encoded);
+        upload = File.createTempFile("bench-upload", suffix);
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() {
+        uploadTemplate.delete();
+        upload.delete();
+    }
+
+    @Benchmark
+    public BufferedImage decode() throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(encoded));
+    }
+
+    /** Current preview path: getScaledInstance(SCALE_SMOOTH) wrapped in an ImageIcon, which waits for the filter to run. */
+    @Benchmark
+    public ImageIcon scaleSmooth() {
+        Image scaled = decoded.getScaledInstance(PREVIEW_WIDTH, PREVIEW_HEIGHT, Image.SCALE_SMOOTH);
+        return new ImageIcon(scaled);
+    }
+
+    /** One drawImage with bilinear interpolation; fast but aliases on large reductions. */
+    @Benchmark
+    public ImageIcon scaleBilinear() {
+        return new ImageIcon(drawScaled(decoded, PREVIEW_WIDTH, PREVIEW_HEIGHT, RenderingHints.VALUE_INTERPOLATION_BILINEAR));
+    }
+
+    /** One drawImage with bicubic interpolation. */
+    @Benchmark
+    public ImageIcon scaleBicubic() {
+        return new ImageIcon(drawScaled(decoded, PREVIEW_WIDTH, PREVIEW_HEIGHT, RenderingHints.VALUE_INTERPOLATION_BICUBIC));
+    }
+
+    /** Repeated halving with bilinear steps, close to SCALE_SMOOTH quality on large reductions. */
+    @Benchmark
+    public ImageIcon scaleProgressiveBilinear() {
+        BufferedImage current = decoded;
+        int w = current.getWidth();
+        int h = current.getHeight();
+        while (w / 2 >= PREVIEW_WIDTH && h / 2 >= PREVIEW_HEIGHT) {
+            w /= 2;
+            h /= 2;
+            current = drawScaled(current, w, h, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        }
+        return new ImageIcon(drawScaled(current, PREVIEW_WIDTH, PREVIEW_HEIGHT, RenderingHints.VALUE_INTERPOLATION_BILINEAR));
+    }
+
+    @Benchmark
+    public byte[] encodePng() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(decoded, "png", out);
+        return out.toByteArray();
+    }
+
+    /** Deflate level 9 after lossless palette/RGB reduction, as ImageOptimizer tries it. */
+    @Benchmark
+    public byte[] encodePngTuned() throws IOException {
+        return ImageOptimizer.encode(ImageOptimizer.reduceLosslessly(decoded), "png", 0f, false);
+    }
+
+    @Benchmark
+    public byte[] encodeJpeg() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(opaque, "jpg", out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encodeJpegTuned() throws IOException {
+        return ImageOptimizer.encode(opaque, "jpeg", 0.85f, true);
+    }
+
+    /** Whole background pass the save paths schedule: decode, try every candidate, keep the smallest. */
+    @Benchmark
+    public ImageOptimizer.Report optimizeUpload() throws IOException {
+        Files.copy(uploadTemplate.toPath(), upload.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return ImageOptimizer.optimize(upload);
+    }
+
+    private static BufferedImage drawScaled(BufferedImage image, int width, int height, Object interpolation) {
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+        g.drawImage(image, 0, 0, width, height, null);
+        g.dispose();
+        return scaled;
+    }
+
+    /**
+     * Camera-sized JPEG with smooth gradients and sensor-like noise, so the encoder and decoder
+     * see realistic entropy rather than flat color.
+     */
+    private static byte[] syntheticJpeg(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, new Color(40, 90, 160), width, height, new Color(230, 180, 90)));
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+        Random random = new Random(42); // Fixed seed so every run encodes the same picture
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            for (int x = 0; x < width; x++) {
+                int noise = random.nextInt(17) - 8;
+                int r = clamp(((row[x] >> 16) & 0xff) + noise);
+                int gr = clamp(((row[x] >> 8) & 0xff) + noise);
+                int b = clamp((row[x] & 0xff) + noise);
+                row[x] = (r << 16) | (gr << 8) | b;
+            }
+            image.setRGB(0, y, width, 1, row, 0, width);
+        }
+        return ImageOptimizer.encode(image, "jpeg", 0.92f, false);
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+
+    private static Path repoFile(String name) {
+        // Running from the benchmarks directory or the repository root
+        Path local = Paths.get(System.getProperty("portfolio.repoDir", "."), name);
+        return Files.exists(local) ? local : Paths.get("..", name);
+    }
+}
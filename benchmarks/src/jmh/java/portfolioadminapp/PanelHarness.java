@@ -0,0 +1,288 @@
+package portfolioadminapp;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import javax.swing.JPanel;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+
+/**
+ * Builds the table-heavy panels against synthetic datasets and reports what users feel:
+ * how long until the tables are filled, the longest EDT stall meanwhile, what one repaint of the
+ * visible rows costs through the custom cell renderers, and how much heap the panel keeps alive.
+ *
+ * Runs under -Djava.awt.headless=true (or Xvfb): the panels are laid out and painted into an
+ * offscreen image without ever being shown. Start it with {@code gradle :benchmarks:panelHarness},
+ * optionally with -Prows=1000,10000 to choose the dataset sizes.
+ */
+public final class PanelHarness {
+    private static final int WIDTH = 1280; // Same size the main frame opens with
+    private static final int HEIGHT = 800;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int PAINT_FRAMES = 20;
+    private static final long PROBE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private PanelHarness() {
+    }
+
+    /** One panel type under test. */
+    private static final class Subject {
+        final String name;
+        final Supplier<JPanel> factory;
+
+        Subject(String name, Supplier<JPanel> factory) {
+            this.name = name;
+            this.factory = factory;
+        }
+    }
+
+    /** Timings for one panel at one dataset size. */
+    private static final class Result {
+        double populateMillis;
+        double maxEdtStallMillis;
+        double panelPaintMillis;
+        double rowsPaintMillis;
+        int tableRows;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = args.length > 0
+                ? Arrays.stream(args[0].split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray()
+                : new int[]{1000, 10000, 100000};
+
+        EmbeddedDatabase.start();
+        List<Subject> subjects = new ArrayList<>();
+        // The panels only use their parent frame for navigation, so null is fine here
+        subjects.add(new Subject("ProjectManagementPanel", () -> new ProjectManagementPanel(null)));
+        subjects.add(new Subject("ExperienceManagementPanel", () -> new ExperienceManagementPanel(null)));
+        subjects.add(new Subject("ContactManagementPanel", () -> new ContactManagementPanel(null)));
+
+        // Heap first, so no painted panels from the timing rounds are still waiting to be collected
+        long[][] retained = new long[sizes.length][subjects.size()];
+        for (int s = 0; s < sizes.length; s++) {
+            seed(sizes[s]);
+            for (int p = 0; p < subjects.size(); p++) {
+                retained[s][p] = measureRetainedHeap(subjects.get(p));
+            }
+        }
+
+        System.out.printf("%-26s %8s %8s %12s %12s %12s %12s %12s%n", "Panel", "Rows", "Tables",
+                "populate ms", "EDT stall ms", "paint ms", "rows ms", "retained MB");
+        for (int s = 0; s < sizes.length; s++) {
+            seed(sizes[s]);
+            for (int p = 0; p < subjects.size(); p++) {
+                Result r = measureTimings(subjects.get(p));
+                System.out.printf("%-26s %8d %8d %12.1f %12.1f %12.2f %12.2f %12.1f%n", subjects.get(p).name, sizes[s],
+                        r.tableRows, r.populateMillis, r.maxEdtStallMillis, r.panelPaintMillis, r.rowsPaintMillis,
+                        retained[s][p] / (1024.0 * 1024.0));
+            }
+        }
+        System.exit(0); // The contacts panel leaves a Swing timer behind
+    }
+
+    private static void seed(int rows) throws SQLException {
+        EmbeddedDatabase.resetToSeed();
+        EmbeddedDatabase.addSyntheticRows(rows);
+    }
+
+    /**
+     * Heap a built panel keeps alive, measured around building and around releasing it;
+     * median of several rounds.
+     */
+    private static long measureRetainedHeap(Subject subject) throws Exception {
+        build(subject, new Result()); // Warm-up: loads classes and fills one-time caches
+        double[] retained = new double[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long heapBefore = usedHeapAfterGc();
+            JPanel panel = build(subject, new Result());
+            long heapWithPanel = usedHeapAfterGc();
+            Reference.reachabilityFence(panel);
+            panel = null;
+            long heapAfter = usedHeapAfterGc();
+            // A panel from an earlier round is sometimes collected late, shrinking one of the two
+            // differences; it can never grow them, so the larger one is the reading to trust
+            retained[i] = Math.max(heapWithPanel - heapBefore, heapWithPanel - heapAfter);
+        }
+        return (long) median(retained);
+    }
+
+    /**
+     * Warms up, then takes the median of several rounds of build and paint.
+     */
+    private static Result measureTimings(Subject subject) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            paint(build(subject, new Result()), new Result());
+        }
+        double[] populate = new double[MEASURED_ROUNDS];
+        double[] stall = new double[MEASURED_ROUNDS];
+        double[] panelPaint = new double[MEASURED_ROUNDS];
+        double[] rowsPaint = new double[MEASURED_ROUNDS];
+        Result result = new Result();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            Result round = new Result();
+            paint(build(subject, round), round);
+            populate[i] = round.populateMillis;
+            stall[i] = round.maxEdtStallMillis;
+            panelPaint[i] = round.panelPaintMillis;
+            rowsPaint[i] = round.rowsPaintMillis;
+            result.tableRows = round.tableRows;
+        }
+        result.populateMillis = median(populate);
+        result.maxEdtStallMillis = median(stall);
+        result.panelPaintMillis = median(panelPaint);
+        result.rowsPaintMillis = median(rowsPaint);
+        return result;
+    }
+
+    /**
+     * Constructs the panel on the EDT, the way the dashboard buttons do, and waits until its
+     * queries have returned and every event it queued (e.g. SwingWorker results) has been handled.
+     * An EDT probe runs alongside.
+     */
+    private static JPanel build(Subject subject, Result result) throws Exception {
+        EdtProbe probe = new EdtProbe();
+        probe.start();
+        JPanel[] holder = new JPanel[1];
+        long start = System.nanoTime();
+        SwingUtilities.invokeAndWait(() -> holder[0] = subject.factory.get());
+        while (Repository.getPendingLoads() > 0) { // The panels load off the EDT
+            LockSupport.parkNanos(PROBE_INTERVAL_NANOS);
+        }
+        SwingUtilities.invokeAndWait(() -> { }); // Drain follow-up events
+        result.populateMillis = (System.nanoTime() - start) / 1e6;
+        result.maxEdtStallMillis = probe.finish() / 1e6;
+
+        JPanel panel = holder[0];
+        SwingUtilities.invokeAndWait(() -> {
+            panel.setSize(WIDTH, HEIGHT);
+            layoutTree(panel);
+            int rows = 0;
+            for (JTable table : findTables(panel)) {
+                rows += table.getRowCount();
+            }
+            result.tableRows = rows;
+        });
+        return panel;
+    }
+
+    /**
+     * Paints the whole panel, then only the visible rows of each table, into an offscreen image.
+     * The second number isolates the custom cell renderers from the rest of the form.
+     */
+    private static void paint(JPanel panel, Result result) throws InvocationTargetException, InterruptedException {
+        SwingUtilities.invokeAndWait(() -> {
+            BufferedImage canvas = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = canvas.createGraphics();
+            long start = System.nanoTime();
+            for (int i = 0; i < PAINT_FRAMES; i++) {
+                panel.paint(g);
+            }
+            result.panelPaintMillis = (System.nanoTime() - start) / 1e6 / PAINT_FRAMES;
+
+            List<JTable> tables = findTables(panel);
+            start = System.nanoTime();
+            for (int i = 0; i < PAINT_FRAMES; i++) {
+                for (JTable table : tables) {
+                    Rectangle visible = table.getVisibleRect();
+                    if (visible.isEmpty()) {
+                        continue; // e.g. a table on a hidden tab
+                    }
+                    Graphics2D tg = (Graphics2D) g.create();
+                    tg.setClip(visible);
+                    table.paint(tg);
+                    tg.dispose();
+                }
+            }
+            result.rowsPaintMillis = (System.nanoTime() - start) / 1e6 / PAINT_FRAMES;
+            g.dispose();
+        });
+    }
+
+    private static void layoutTree(Component component) {
+        if (component instanceof Container) {
+            Container container = (Container) component;
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                layoutTree(child);
+            }
+        }
+    }
+
+    private static List<JTable> findTables(Component component) {
+        List<JTable> tables = new ArrayList<>();
+        if (component instanceof JTable) {
+            tables.add((JTable) component);
+        } else if (component instanceof Container) {
+            for (Component child : ((Container) component).getComponents()) {
+                tables.addAll(findTables(child));
+            }
+        }
+        return tables;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException, InvocationTargetException {
+        // Pending repaint/revalidate work on the EDT still references the components it was queued
+        // for, and running it can queue one more round
+        SwingUtilities.invokeAndWait(() -> { });
+        SwingUtilities.invokeAndWait(() -> { });
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * Posts a no-op to the EDT every couple of milliseconds and records the longest time one
+     * waited to run, i.e. how long the UI would have been frozen.
+     */
+    private static final class EdtProbe extends Thread {
+        private final AtomicLong maxLatency = new AtomicLong();
+        private volatile boolean running = true;
+
+        EdtProbe() {
+            super("edt-probe");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                long posted = System.nanoTime();
+                SwingUtilities.invokeLater(() -> maxLatency.accumulateAndGet(System.nanoTime() - posted, Math::max));
+                LockSupport.parkNanos(PROBE_INTERVAL_NANOS);
+            }
+        }
+
+        /** Stops probing and returns the longest observed EDT latency in nanoseconds. */
+        long finish() throws InterruptedException, InvocationTargetException {
+            running = false;
+            join();
+            SwingUtilities.invokeAndWait(() -> { }); // Let the last pings report
+            return maxLatency.get();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package portfolioadminapp;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares ways of turning the projects query into rows: column lookups by name (what the
+ * panels used to do), positional Object[] rows ({@link LocalSnapshot#readRows}, what the table
+ * models get) and positional mapping straight into {@link Project} entities
+ * ({@link Repository#queryEntities}).
+ * Run with {@code gradle :benchmarks:jmh -Pjmh.includes=RowMappingBenchmark}; all three run the
+ * same query on one open connection, so the differences are the mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RowMappingBenchmark {
+
+    /** Synthetic projects added on top of the dump. */
+    @Param({"1000", "100000"})
+    public int extraRows;
+
+    private Connection conn;
+    private String sql;
+
+    @Setup
+    public void setUp() throws SQLException {
+        EmbeddedDatabase.start();
+        EmbeddedDatabase.resetToSeed();
+        EmbeddedDatabase.addSyntheticRows(extraRows);
+        conn = DatabaseManager.getConnection();
+        sql = Repository.PROJECTS.selectSql();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Benchmark
+    public List<Object[]> byName() throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                rows.add(new Object[]{rs.getInt("id"), rs.getString("title"), rs.getString("description"),
+                        rs.getString("image_url"), rs.getString("link"), rs.getInt("version")});
+            }
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public List<Object[]> byIndex() throws SQLException {
+        return Repository.PROJECTS.query(conn);
+    }
+
+    @Benchmark
+    public List<Project> entities() throws SQLException {
+        return Repository.PROJECTS.queryEntities(conn);
+    }
+}
@@ -29,7 +29,8 @@ $conn->query("CREATE TABLE IF NOT EXISTS contacts (
     id INT AUTO_INCREMENT PRIMARY KEY,
     platform VARCHAR(100) DEFAULT NULL,
     link VARCHAR(255) DEFAULT NULL,
-    deleted TINYINT(1) NOT NULL DEFAULT 0
+    deleted TINYINT(1) NOT NULL DEFAULT 0,
+    deleted_at TIMESTAMP NULL DEFAULT NULL
 )");
 
 // NEW: Automatically create 'site_settings' table if it doesn't exist